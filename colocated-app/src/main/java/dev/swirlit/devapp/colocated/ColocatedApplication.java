@@ -0,0 +1,97 @@
+package dev.swirlit.devapp.colocated;
+
+import java.time.Duration;
+import java.util.Map;
+
+import dev.swirlit.devapp.common.messaging.InProcessEventBus;
+import dev.swirlit.devapp.order.OrderAppApplication;
+import dev.swirlit.devapp.user.UserAppApplication;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.Banner;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.MapPropertySource;
+
+/**
+ * Runs user-app and order-app in one JVM for small environments and edge sites. Each application
+ * keeps its own child context, configuration, datasource and web server; the parent context only
+ * holds the {@link InProcessEventBus} that replaces the Kafka topics between them. Redis is
+ * replaced by in-memory caches. Profiles and other arguments are passed to both applications.
+ */
+@SpringBootConfiguration
+public class ColocatedApplication {
+
+    /** Overrides that take precedence over the configuration of both applications. */
+    private static final Map<String, Object> COLOCATED = Map.of(
+            "app.messaging.enabled", "true",
+            "app.messaging.transport", "in-process",
+            "spring.kafka.listener.auto-startup", "false",
+            "spring.kafka.admin.auto-create", "false",
+            "spring.cache.type", "simple",
+            "management.health.redis.enabled", "false",
+            "app.user-validation.base-url", "http://localhost:${colocated.user-port}");
+
+    public static void main(String[] args) {
+        start(args);
+    }
+
+    public static Deployment start(String... args) {
+        ConfigurableApplicationContext parent = new SpringApplicationBuilder(ColocatedApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.config.name=colocated")
+                .run(args);
+        try {
+            ConfigurableApplicationContext users = child(parent, UserAppApplication.class, "user-app", "${colocated.user-port}", args);
+            ConfigurableApplicationContext orders = child(parent, OrderAppApplication.class, "order-app", "${colocated.order-port}", args);
+            return new Deployment(parent, users, orders);
+        } catch (RuntimeException exception) {
+            parent.close();
+            throw exception;
+        }
+    }
+
+    private static ConfigurableApplicationContext child(
+            ConfigurableApplicationContext parent, Class<?> application, String name, String port, String... args) {
+        String location = "classpath:colocated/" + name + "/";
+        Map<String, Object> own = Map.of(
+                "server.port", port,
+                "spring.sql.init.schema-locations", location + "db/schema.sql",
+                "spring.sql.init.data-locations", location + "db/data.sql",
+                "app.sharding.schema", location + "db/schema.sql");
+        return new SpringApplicationBuilder(application)
+                .parent(parent)
+                .bannerMode(Banner.Mode.OFF)
+                .properties("spring.config.location=" + location)
+                .initializers(context -> {
+                    context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("colocated", COLOCATED));
+                    context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("colocated-" + name, own));
+                })
+                .run(args);
+    }
+
+    @Bean
+    InProcessEventBus inProcessEventBus(
+            @Value("${app.messaging.in-process.partitions}") int partitions,
+            @Value("${app.messaging.in-process.capacity}") int capacity,
+            @Value("${app.messaging.in-process.publish-timeout}") Duration publishTimeout) {
+        return new InProcessEventBus(partitions, capacity, publishTimeout);
+    }
+
+    /** The running applications; closing it stops them before the shared event bus. */
+    public record Deployment(
+            ConfigurableApplicationContext parent,
+            ConfigurableApplicationContext users,
+            ConfigurableApplicationContext orders) implements AutoCloseable {
+
+        @Override
+        public void close() {
+            orders.close();
+            users.close();
+            parent.close();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package dev.swirlit.devapp.colocated;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.server.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.web.client.RestClient;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ColocatedApplicationTest {
+
+    private static final ParameterizedTypeReference<Map<String, Object>> JSON = new ParameterizedTypeReference<>() {
+    };
+
+    private static final ParameterizedTypeReference<List<Map<String, Object>>> JSON_LIST = new ParameterizedTypeReference<>() {
+    };
+
+    private static ColocatedApplication.Deployment deployment;
+    private static RestClient orders;
+
+    @BeforeAll
+    static void start() {
+        deployment = ColocatedApplication.start("--colocated.order-port=0", "--colocated.user-port=0");
+        orders = RestClient.create("http://localhost:" + port(deployment.orders()));
+    }
+
+    @AfterAll
+    static void stop() {
+        deployment.close();
+    }
+
+    @Test
+    void ordersAreDecidedOverTheInProcessEventBus() throws InterruptedException {
+        Number approved = create(1L);
+        Number rejected = create(404L);
+
+        assertEquals("APPROVED", awaitDecision(1L, approved));
+        assertEquals("REJECTED", awaitDecision(404L, rejected));
+        MeterRegistry meterRegistry = deployment.orders().getBean(MeterRegistry.class);
+        assertTrue(meterRegistry.get("devapp.eventbus.delivery").tag("topic", "order_result_topic").functionTimer().count() >= 2);
+    }
+
+    @Test
+    void eachApplicationServesItsOwnApi() {
+        RestClient users = RestClient.create("http://localhost:" + port(deployment.users()));
+
+        assertEquals("ada", users.get().uri("/api/users/1").retrieve().body(JSON).get("username"));
+        assertEquals(200, orders.get().uri("/api/orders/1").retrieve().toBodilessEntity().getStatusCode().value());
+    }
+
+    private static Number create(long userId) {
+        Map<String, Object> order = orders.post().uri("/api/orders")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Map.of("userId", userId, "productId", 1001))
+                .retrieve()
+                .body(JSON);
+        assertEquals("PENDING", order.get("status"));
+        return (Number) order.get("id");
+    }
+
+    private static String awaitDecision(long userId, Number id) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        String status;
+        do {
+            Thread.sleep(20);
+            status = orders.get().uri("/api/orders?userId={userId}", userId).retrieve().body(JSON_LIST).stream()
+                    .filter(order -> id.equals(order.get("id")))
+                    .map(order -> (String) order.get("status"))
+                    .findFirst()
+                    .orElseThrow();
+        } while ("PENDING".equals(status) && System.nanoTime() < deadline);
+        return status;
+    }
+
+    private static int port(ConfigurableApplicationContext context) {
+        return ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+}
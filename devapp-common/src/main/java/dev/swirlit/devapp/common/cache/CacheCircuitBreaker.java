@@ -0,0 +1,210 @@
+package dev.swirlit.devapp.common.cache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.health.contributor.Health;
+import org.springframework.boot.health.contributor.HealthIndicator;
+
+/**
+ * Circuit breaker in front of a remote cache. A run of failed calls, where a call slower than
+ * the slow-call threshold counts as failed, opens the breaker and callers skip the cache for the
+ * open duration. The first call after that is let through as a probe: its success closes the
+ * breaker and notifies the {@link #onClose close listeners}, its failure opens it again. The
+ * breaker reports UP on the health endpoint since the application keeps serving without the cache.
+ */
+public class CacheCircuitBreaker implements HealthIndicator {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheCircuitBreaker.class);
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String name;
+    private final int failureThreshold;
+    private final long slowCallNanos;
+    private final Duration openDuration;
+    private final Clock clock;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final List<Runnable> closeListeners = new CopyOnWriteArrayList<>();
+    private final Counter succeeded;
+    private final Counter failed;
+    private final Counter slow;
+    private final Counter shortCircuited;
+    private final MeterRegistry meterRegistry;
+    private volatile State state = State.CLOSED;
+    private volatile Instant openedAt;
+    private boolean probing;
+
+    public CacheCircuitBreaker(String name, int failureThreshold, Duration slowCallThreshold, Duration openDuration,
+                               Clock clock, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.slowCallNanos = slowCallThreshold.toNanos();
+        this.openDuration = openDuration;
+        this.clock = clock;
+        this.meterRegistry = meterRegistry;
+        this.succeeded = calls("success");
+        this.failed = calls("failure");
+        this.slow = calls("slow");
+        this.shortCircuited = calls("short_circuited");
+        // A gauge stays bound to the first object registered under its id, so a breaker that
+        // replaces an earlier one of the same name takes the state gauges over explicitly.
+        meterRegistry.find("devapp.cache.breaker.state").tag("breaker", name).gauges().forEach(meterRegistry::remove);
+        for (State candidate : State.values()) {
+            Gauge.builder("devapp.cache.breaker.state", this, breaker -> breaker.state == candidate ? 1 : 0)
+                    .description("1 for the current state of the cache circuit breaker")
+                    .tags("breaker", name, "state", tag(candidate))
+                    .register(meterRegistry);
+        }
+    }
+
+    public State state() {
+        return state;
+    }
+
+    /** Runs when a probe closes the breaker, outside of its lock and on the probing thread. */
+    public void onClose(Runnable listener) {
+        closeListeners.add(listener);
+    }
+
+    /**
+     * Whether a call may go to the cache. Every admitted call must be reported through
+     * {@link #onSuccess} or {@link #onFailure}, which {@link #call} does.
+     */
+    public boolean tryAcquire() {
+        if (state == State.CLOSED) {
+            return true;
+        }
+        lock.lock();
+        try {
+            if (state == State.OPEN && !clock.instant().isBefore(openedAt.plus(openDuration))) {
+                transition(State.HALF_OPEN);
+            }
+            if (state == State.CLOSED || (state == State.HALF_OPEN && !probing)) {
+                probing = state == State.HALF_OPEN;
+                return true;
+            }
+        } finally {
+            lock.unlock();
+        }
+        shortCircuited.increment();
+        return false;
+    }
+
+    /** Runs an admitted call and reports its outcome and duration. */
+    public <T> T call(Supplier<T> operation) {
+        long start = System.nanoTime();
+        boolean completed = false;
+        try {
+            T result = operation.get();
+            completed = true;
+            return result;
+        } finally {
+            if (completed) {
+                onSuccess(System.nanoTime() - start);
+            } else {
+                onFailure();
+            }
+        }
+    }
+
+    public void onSuccess(long elapsedNanos) {
+        if (elapsedNanos > slowCallNanos) {
+            slow.increment();
+            recordFailure();
+            return;
+        }
+        succeeded.increment();
+        consecutiveFailures.set(0);
+        if (state == State.CLOSED) {
+            return;
+        }
+        boolean closed = false;
+        lock.lock();
+        try {
+            if (state == State.HALF_OPEN) {
+                probing = false;
+                transition(State.CLOSED);
+                closed = true;
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (closed) {
+            closeListeners.forEach(Runnable::run);
+        }
+    }
+
+    public void onFailure() {
+        failed.increment();
+        recordFailure();
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder health = Health.up()
+                .withDetail("state", state)
+                .withDetail("consecutiveFailures", consecutiveFailures.get());
+        Instant lastOpenedAt = openedAt;
+        if (lastOpenedAt != null) {
+            health.withDetail("lastOpenedAt", lastOpenedAt);
+        }
+        return health.build();
+    }
+
+    private void recordFailure() {
+        int failures = consecutiveFailures.incrementAndGet();
+        if (state == State.CLOSED && failures < failureThreshold) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures.get() >= failureThreshold)) {
+                probing = false;
+                openedAt = clock.instant();
+                transition(State.OPEN);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void transition(State next) {
+        log.info("Cache circuit breaker {} went from {} to {}", name, state, next);
+        state = next;
+        meterRegistry.counter("devapp.cache.breaker.transitions", "breaker", name, "state", tag(next)).increment();
+    }
+
+    private Counter calls(String outcome) {
+        return Counter.builder("devapp.cache.breaker.calls")
+                .description("Calls to the cache seen by its circuit breaker")
+                .tags("breaker", name, "outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    Clock clock() {
+        return clock;
+    }
+
+    MeterRegistry meterRegistry() {
+        return meterRegistry;
+    }
+
+    private static String tag(State state) {
+        return state.name().toLowerCase(Locale.ROOT);
+    }
+}
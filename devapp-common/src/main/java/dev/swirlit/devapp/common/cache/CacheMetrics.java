@@ -0,0 +1,50 @@
+package dev.swirlit.devapp.common.cache;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per-cache hit, miss, write, eviction, load-time and value-size statistics, exported to
+ * Micrometer under {@code devapp.cache.*} and summarized by the {@code cachestats} actuator
+ * endpoint. Cache managers opt in through {@link #instrument}, Redis value serializers through
+ * {@link #measuring}.
+ */
+@Component
+@Endpoint(id = "cachestats")
+public class CacheMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, CacheStatistics> statistics = new ConcurrentHashMap<>();
+
+    public CacheMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public CacheManager instrument(CacheManager cacheManager) {
+        return new InstrumentedCacheManager(cacheManager, this);
+    }
+
+    public <T> RedisSerializer<T> measuring(String cacheName, RedisSerializer<T> serializer) {
+        return new SizeRecordingRedisSerializer<>(serializer, statistics(cacheName));
+    }
+
+    @ReadOperation
+    public Map<String, CacheSummary> summary() {
+        Map<String, CacheSummary> summaries = new TreeMap<>();
+        statistics.forEach((name, cacheStatistics) -> summaries.put(name, cacheStatistics.summary()));
+        return summaries;
+    }
+
+    CacheStatistics statistics(String cacheName) {
+        return statistics.computeIfAbsent(cacheName, name -> new CacheStatistics(name, meterRegistry));
+    }
+}
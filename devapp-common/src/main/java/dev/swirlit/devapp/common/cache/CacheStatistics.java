@@ -0,0 +1,100 @@
+package dev.swirlit.devapp.common.cache;
+
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Micrometer meters of one named cache, tagged with {@code cache}.
+ */
+public final class CacheStatistics {
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter puts;
+    private final Counter evictions;
+    private final Counter clears;
+    private final Timer loads;
+    private final DistributionSummary valueSizes;
+
+    CacheStatistics(String cacheName, MeterRegistry meterRegistry) {
+        this.hits = Counter.builder("devapp.cache.gets")
+                .description("Cache lookups")
+                .tags("cache", cacheName, "result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("devapp.cache.gets")
+                .description("Cache lookups")
+                .tags("cache", cacheName, "result", "miss")
+                .register(meterRegistry);
+        this.puts = Counter.builder("devapp.cache.puts")
+                .description("Entries written to the cache")
+                .tag("cache", cacheName)
+                .register(meterRegistry);
+        this.evictions = Counter.builder("devapp.cache.evictions")
+                .description("Cache evictions, per entry or of all entries")
+                .tags("cache", cacheName, "scope", "key")
+                .register(meterRegistry);
+        this.clears = Counter.builder("devapp.cache.evictions")
+                .description("Cache evictions, per entry or of all entries")
+                .tags("cache", cacheName, "scope", "all")
+                .register(meterRegistry);
+        this.loads = Timer.builder("devapp.cache.load")
+                .description("Time to compute a value after a cache miss")
+                .tag("cache", cacheName)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.valueSizes = DistributionSummary.builder("devapp.cache.value.size")
+                .description("Serialized size of cached values")
+                .baseUnit("bytes")
+                .tag("cache", cacheName)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    void hit() {
+        hits.increment();
+    }
+
+    void miss() {
+        misses.increment();
+    }
+
+    void put() {
+        puts.increment();
+    }
+
+    void evict() {
+        evictions.increment();
+    }
+
+    void clear() {
+        clears.increment();
+    }
+
+    void recordLoad(long nanos) {
+        loads.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    void recordValueSize(int bytes) {
+        valueSizes.record(bytes);
+    }
+
+    CacheSummary summary() {
+        long hitCount = (long) hits.count();
+        long lookups = hitCount + (long) misses.count();
+        return new CacheSummary(
+                hitCount,
+                (long) misses.count(),
+                lookups == 0 ? 0 : (double) hitCount / lookups,
+                (long) puts.count(),
+                (long) evictions.count(),
+                (long) clears.count(),
+                loads.mean(TimeUnit.MILLISECONDS),
+                loads.max(TimeUnit.MILLISECONDS),
+                valueSizes.mean(),
+                valueSizes.max());
+    }
+}
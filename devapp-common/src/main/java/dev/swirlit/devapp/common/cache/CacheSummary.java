@@ -0,0 +1,14 @@
+package dev.swirlit.devapp.common.cache;
+
+public record CacheSummary(
+        long hits,
+        long misses,
+        double hitRatio,
+        long puts,
+        long evictions,
+        long clears,
+        double meanLoadMillis,
+        double maxLoadMillis,
+        double meanValueBytes,
+        double maxValueBytes) {
+}
@@ -0,0 +1,260 @@
+package dev.swirlit.devapp.common.cache;
+
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+
+/**
+ * Sends calls to a remote cache while its {@link CacheCircuitBreaker} admits them and to a
+ * {@link LocalFallbackCache} while it is open. Failed remote calls are rethrown for the cache
+ * error handler. Keys written or evicted while the remote cache could not be reached are
+ * remembered, up to a bound past which the whole cache is, and evicted from the remote cache
+ * once the breaker closes so it does not serve values that changed during the outage. Until
+ * then, or until the key is written again, remote reads of those keys are misses.
+ */
+final class CircuitBreakingCache implements Cache {
+
+    private static final Logger log = LoggerFactory.getLogger(CircuitBreakingCache.class);
+
+    private final Cache delegate;
+    private final CacheCircuitBreaker breaker;
+    private final LocalFallbackCache fallback;
+    private final int maximumStaleKeys;
+    private final Set<Object> staleKeys = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean stale = new AtomicBoolean();
+
+    CircuitBreakingCache(Cache delegate, CacheCircuitBreaker breaker, LocalFallbackCache fallback, int maximumStaleKeys) {
+        this.delegate = delegate;
+        this.breaker = breaker;
+        this.fallback = fallback;
+        this.maximumStaleKeys = maximumStaleKeys;
+        breaker.onClose(this::reconcile);
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        if (!breaker.tryAcquire()) {
+            return fallback.get(key);
+        }
+        boolean knownStale = knownStale(key);
+        ValueWrapper value = breaker.call(() -> delegate.get(key));
+        return knownStale ? null : value;
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        if (!breaker.tryAcquire()) {
+            return fallback.get(key, type);
+        }
+        boolean knownStale = knownStale(key);
+        T value = breaker.call(() -> delegate.get(key, type));
+        return knownStale ? null : value;
+    }
+
+    /**
+     * Looks the key up and writes the loaded value as two remote calls, so that the time spent in
+     * the value loader is not taken for a slow cache.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        if (!breaker.tryAcquire()) {
+            return fallback.get(key, valueLoader);
+        }
+        boolean knownStale = knownStale(key);
+        ValueWrapper cached = breaker.call(() -> delegate.get(key));
+        if (cached != null && !knownStale) {
+            return (T) cached.get();
+        }
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception exception) {
+            throw new ValueRetrievalException(key, valueLoader, exception);
+        }
+        try {
+            put(key, value);
+        } catch (RuntimeException exception) {
+            log.debug("Could not cache the loaded value of {} in {}", key, getName(), exception);
+        }
+        return value;
+    }
+
+    /** Reports a miss while the breaker is open; the local fallback only serves synchronous calls. */
+    @Override
+    public CompletableFuture<?> retrieve(Object key) {
+        return breaker.tryAcquire() ? timed(() -> delegate.retrieve(key)) : null;
+    }
+
+    @Override
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        return breaker.tryAcquire() ? timed(() -> delegate.retrieve(key, valueLoader)) : valueLoader.get();
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (breaker.tryAcquire()) {
+            remoteUpdate(key, () -> delegate.put(key, value));
+        } else {
+            fallback.put(key, value);
+            markStale(key);
+        }
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        if (breaker.tryAcquire()) {
+            return remoteWrite(key, () -> delegate.putIfAbsent(key, value));
+        }
+        markStale(key);
+        return fallback.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        if (breaker.tryAcquire()) {
+            remoteUpdate(key, () -> delegate.evict(key));
+        } else {
+            fallback.evict(key);
+            markStale(key);
+        }
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        if (breaker.tryAcquire()) {
+            return remoteWrite(key, () -> delegate.evictIfPresent(key));
+        }
+        markStale(key);
+        return fallback.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        if (breaker.tryAcquire()) {
+            remoteUpdate(null, delegate::clear);
+        } else {
+            fallback.clear();
+            markStale(null);
+        }
+    }
+
+    @Override
+    public boolean invalidate() {
+        if (breaker.tryAcquire()) {
+            return remoteWrite(null, delegate::invalidate);
+        }
+        markStale(null);
+        return fallback.invalidate();
+    }
+
+    int fallbackSize() {
+        return fallback.size();
+    }
+
+    /** Runs a remote put or evict of the key, or a clear for a {@code null} key, which replaces any stale value. */
+    private void remoteUpdate(Object key, Runnable update) {
+        remoteWrite(key, () -> {
+            update.run();
+            return null;
+        });
+        if (key != null) {
+            staleKeys.remove(key);
+        } else {
+            staleKeys.clear();
+            stale.set(false);
+        }
+    }
+
+    private <T> T remoteWrite(Object key, Supplier<T> write) {
+        try {
+            return breaker.call(write);
+        } catch (RuntimeException exception) {
+            markStale(key);
+            throw exception;
+        }
+    }
+
+    /** Whether the remote value of the key may be stale because the recovery has not evicted it yet. */
+    private boolean knownStale(Object key) {
+        return stale.get() || staleKeys.contains(key);
+    }
+
+    /** Remembers a key whose remote value may be stale, or the whole cache for a {@code null} key. */
+    private void markStale(Object key) {
+        if (stale.get()) {
+            return;
+        }
+        if (key == null || staleKeys.size() >= maximumStaleKeys) {
+            stale.set(true);
+            staleKeys.clear();
+        } else {
+            staleKeys.add(key);
+        }
+    }
+
+    private void reconcile() {
+        fallback.clear();
+        try {
+            if (stale.getAndSet(false)) {
+                staleKeys.clear();
+                breaker.call(() -> {
+                    delegate.clear();
+                    return null;
+                });
+                return;
+            }
+            for (Object key : staleKeys) {
+                breaker.call(() -> {
+                    delegate.evict(key);
+                    return null;
+                });
+                staleKeys.remove(key);
+            }
+        } catch (RuntimeException exception) {
+            if (staleKeys.isEmpty()) {
+                stale.set(true);
+            }
+            log.warn("Could not evict stale entries of {} after the cache recovered", getName(), exception);
+        }
+    }
+
+    private <T> CompletableFuture<T> timed(Supplier<CompletableFuture<T>> retrieval) {
+        long start = System.nanoTime();
+        CompletableFuture<T> future;
+        try {
+            future = retrieval.get();
+        } catch (RuntimeException exception) {
+            breaker.onFailure();
+            throw exception;
+        }
+        if (future == null) {
+            breaker.onSuccess(System.nanoTime() - start);
+            return null;
+        }
+        return future.whenComplete((result, error) -> {
+            if (error == null) {
+                breaker.onSuccess(System.nanoTime() - start);
+            } else {
+                breaker.onFailure();
+            }
+        });
+    }
+}
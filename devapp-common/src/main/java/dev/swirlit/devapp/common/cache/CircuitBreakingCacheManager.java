@@ -0,0 +1,71 @@
+package dev.swirlit.devapp.common.cache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.micrometer.core.instrument.Gauge;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+/**
+ * Puts every cache of a remote cache manager behind one {@link CacheCircuitBreaker}, with a
+ * {@link LocalFallbackCache} of the given size and time to live per cache for while the breaker
+ * is open. The delegate is initialized through this manager, so it does not need to be a bean of
+ * its own.
+ */
+public final class CircuitBreakingCacheManager implements CacheManager, InitializingBean {
+
+    private final CacheManager delegate;
+    private final CacheCircuitBreaker breaker;
+    private final int fallbackSize;
+    private final Duration fallbackTimeToLive;
+    private final Map<String, CircuitBreakingCache> caches = new ConcurrentHashMap<>();
+
+    public CircuitBreakingCacheManager(CacheManager delegate, CacheCircuitBreaker breaker, int fallbackSize, Duration fallbackTimeToLive) {
+        this.delegate = delegate;
+        this.breaker = breaker;
+        this.fallbackSize = fallbackSize;
+        this.fallbackTimeToLive = fallbackTimeToLive;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        if (delegate instanceof InitializingBean initializingBean) {
+            initializingBean.afterPropertiesSet();
+        }
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache target = delegate.getCache(name);
+        return target == null ? null : caches.computeIfAbsent(name, key -> protect(target));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+
+    @Override
+    public void resetCaches() {
+        delegate.resetCaches();
+    }
+
+    private CircuitBreakingCache protect(Cache target) {
+        CircuitBreakingCache cache = new CircuitBreakingCache(target, breaker,
+                new LocalFallbackCache(target.getName(), fallbackSize, fallbackTimeToLive, breaker.clock()), fallbackSize);
+        Gauge.builder("devapp.cache.fallback.size", cache, CircuitBreakingCache::fallbackSize)
+                .description("Entries in the local fallback of a cache while its circuit breaker is open")
+                .tag("cache", target.getName())
+                .register(breaker.meterRegistry());
+        return cache;
+    }
+}
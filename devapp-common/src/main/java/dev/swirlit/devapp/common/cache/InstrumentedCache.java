@@ -0,0 +1,172 @@
+package dev.swirlit.devapp.common.cache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.cache.Cache;
+
+/**
+ * Counts lookups, writes and evictions of a delegate cache. The load time of a
+ * {@code @Cacheable} method is measured from the miss to the put of the same key on the same
+ * thread, which is how the caching interceptor drives a cache; synchronized lookups time their
+ * value loader directly. A miss whose method throws or returns an uncached value never sees its
+ * put, so the pending miss is dropped by the next lookup or eviction on the thread, and a put
+ * more than {@link #MAX_LOAD_NANOS} after its miss is not recorded.
+ */
+final class InstrumentedCache implements Cache {
+
+    static final long MAX_LOAD_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final Cache delegate;
+    private final CacheStatistics statistics;
+    private final ThreadLocal<PendingLoad> pendingLoad = new ThreadLocal<>();
+
+    InstrumentedCache(Cache delegate, CacheStatistics statistics) {
+        this.delegate = delegate;
+        this.statistics = statistics;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper value = delegate.get(key);
+        if (value != null) {
+            pendingLoad.remove();
+            statistics.hit();
+        } else {
+            statistics.miss();
+            pendingLoad.set(new PendingLoad(key, System.nanoTime()));
+        }
+        return value;
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        pendingLoad.remove();
+        T value = delegate.get(key, type);
+        if (value != null) {
+            statistics.hit();
+        } else {
+            statistics.miss();
+        }
+        return value;
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        boolean[] loaded = new boolean[1];
+        T value = delegate.get(key, () -> {
+            loaded[0] = true;
+            long start = System.nanoTime();
+            try {
+                return valueLoader.call();
+            } finally {
+                statistics.recordLoad(System.nanoTime() - start);
+            }
+        });
+        if (loaded[0]) {
+            statistics.miss();
+        } else {
+            statistics.hit();
+        }
+        return value;
+    }
+
+    @Override
+    public CompletableFuture<?> retrieve(Object key) {
+        CompletableFuture<?> value = delegate.retrieve(key);
+        return value == null ? null : value.whenComplete((result, error) -> {
+            if (result != null) {
+                statistics.hit();
+            } else if (error == null) {
+                statistics.miss();
+            }
+        });
+    }
+
+    @Override
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        boolean[] loaded = new boolean[1];
+        CompletableFuture<T> value = delegate.retrieve(key, () -> {
+            loaded[0] = true;
+            long start = System.nanoTime();
+            return valueLoader.get().whenComplete((result, error) -> statistics.recordLoad(System.nanoTime() - start));
+        });
+        return value.whenComplete((result, error) -> {
+            if (loaded[0]) {
+                statistics.miss();
+            } else {
+                statistics.hit();
+            }
+        });
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        PendingLoad load = pendingLoad.get();
+        if (load != null) {
+            pendingLoad.remove();
+            long nanos = System.nanoTime() - load.startNanos();
+            if (load.key().equals(key) && nanos <= MAX_LOAD_NANOS) {
+                statistics.recordLoad(nanos);
+            }
+        }
+        delegate.put(key, value);
+        statistics.put();
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = delegate.putIfAbsent(key, value);
+        if (existing == null) {
+            statistics.put();
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        pendingLoad.remove();
+        delegate.evict(key);
+        statistics.evict();
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        pendingLoad.remove();
+        boolean evicted = delegate.evictIfPresent(key);
+        if (evicted) {
+            statistics.evict();
+        }
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        pendingLoad.remove();
+        delegate.clear();
+        statistics.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        pendingLoad.remove();
+        boolean invalidated = delegate.invalidate();
+        statistics.clear();
+        return invalidated;
+    }
+
+    private record PendingLoad(Object key, long startNanos) {
+    }
+}
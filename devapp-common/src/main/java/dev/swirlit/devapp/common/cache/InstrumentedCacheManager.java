@@ -0,0 +1,55 @@
+package dev.swirlit.devapp.common.cache;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+/**
+ * Hands out {@link InstrumentedCache instrumented} views of the caches of a delegate manager,
+ * reporting into {@link CacheMetrics}. The delegate is initialized through this manager, so it
+ * does not need to be a bean of its own.
+ */
+final class InstrumentedCacheManager implements CacheManager, InitializingBean {
+
+    private final CacheManager delegate;
+    private final CacheMetrics cacheMetrics;
+    private final Map<String, Cache> caches = new ConcurrentHashMap<>();
+
+    InstrumentedCacheManager(CacheManager delegate, CacheMetrics cacheMetrics) {
+        this.delegate = delegate;
+        this.cacheMetrics = cacheMetrics;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        if (delegate instanceof InitializingBean initializingBean) {
+            initializingBean.afterPropertiesSet();
+        }
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache target = delegate.getCache(name);
+        return target == null ? null
+                : caches.computeIfAbsent(name, key -> new InstrumentedCache(target, cacheMetrics.statistics(name)));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+
+    @Override
+    public void resetCaches() {
+        delegate.resetCaches();
+        caches.clear();
+    }
+}
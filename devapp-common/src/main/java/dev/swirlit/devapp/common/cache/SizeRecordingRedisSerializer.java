@@ -0,0 +1,36 @@
+package dev.swirlit.devapp.common.cache;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+/**
+ * Value serializer that records the size of everything it writes for one cache.
+ */
+final class SizeRecordingRedisSerializer<T> implements RedisSerializer<T> {
+
+    private final RedisSerializer<T> delegate;
+    private final CacheStatistics statistics;
+
+    SizeRecordingRedisSerializer(RedisSerializer<T> delegate, CacheStatistics statistics) {
+        this.delegate = delegate;
+        this.statistics = statistics;
+    }
+
+    @Override
+    public byte[] serialize(T value) {
+        byte[] bytes = delegate.serialize(value);
+        if (bytes != null) {
+            statistics.recordValueSize(bytes.length);
+        }
+        return bytes;
+    }
+
+    @Override
+    public T deserialize(byte[] bytes) {
+        return delegate.deserialize(bytes);
+    }
+
+    @Override
+    public Class<?> getTargetType() {
+        return delegate.getTargetType();
+    }
+}
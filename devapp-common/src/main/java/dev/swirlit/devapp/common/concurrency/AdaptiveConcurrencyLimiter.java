@@ -0,0 +1,128 @@
+package dev.swirlit.devapp.common.concurrency;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Gradient concurrency limiter. A slow moving average of request latency approximates the
+ * no-load latency and a fast one tracks current latency; when current latency rises above the
+ * baseline (times the tolerance) the limit shrinks proportionally, otherwise it grows by a queue
+ * allowance of {@code sqrt(limit)}. The limit is only adjusted while at least half of it is in
+ * use, so an idle service does not inflate it.
+ */
+public class AdaptiveConcurrencyLimiter implements MeterBinder {
+
+    private static final double TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final double BASELINE_WEIGHT = 0.005;
+    private static final double RECENT_WEIGHT = 0.1;
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final LongSupplier nanoClock;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile double limit;
+    private double baselineRttNanos;
+    private double recentRttNanos;
+
+    public AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit) {
+        this(name, initialLimit, minLimit, maxLimit, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit, LongSupplier nanoClock) {
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.nanoClock = nanoClock;
+        this.limit = Math.clamp(initialLimit, minLimit, maxLimit);
+    }
+
+    public Optional<Permit> tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                rejected.increment();
+                return Optional.empty();
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return Optional.of(new Permit(nanoClock.getAsLong(), current + 1));
+            }
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("devapp.concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .tag("limiter", name)
+                .register(registry);
+        Gauge.builder("devapp.concurrency.in.flight", this, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Requests currently holding a concurrency permit")
+                .tag("limiter", name)
+                .register(registry);
+        FunctionCounter.builder("devapp.concurrency.rejected", rejected, LongAdder::doubleValue)
+                .description("Requests shed because the concurrency limit was reached")
+                .tag("limiter", name)
+                .register(registry);
+    }
+
+    private void onSample(long rttNanos, int inFlightAtStart, boolean dropped) {
+        lock.lock();
+        try {
+            double current = limit;
+            if (dropped) {
+                limit = Math.max(minLimit, current * 0.9);
+                return;
+            }
+            baselineRttNanos = average(baselineRttNanos, rttNanos, BASELINE_WEIGHT);
+            recentRttNanos = average(recentRttNanos, rttNanos, RECENT_WEIGHT);
+            if (inFlightAtStart < current / 2) {
+                return;
+            }
+            double gradient = Math.clamp(TOLERANCE * baselineRttNanos / Math.max(recentRttNanos, 1), 0.5, 1.0);
+            double target = current * gradient + Math.sqrt(current);
+            limit = Math.clamp(current * (1 - SMOOTHING) + target * SMOOTHING, minLimit, maxLimit);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static double average(double average, long sample, double weight) {
+        return average == 0 ? sample : average * (1 - weight) + sample * weight;
+    }
+
+    public final class Permit {
+
+        private final long startNanos;
+        private final int inFlightAtStart;
+
+        private Permit(long startNanos, int inFlightAtStart) {
+            this.startNanos = startNanos;
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        public void release(boolean dropped) {
+            inFlight.decrementAndGet();
+            onSample(nanoClock.getAsLong() - startNanos, inFlightAtStart, dropped);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package dev.swirlit.devapp.common.concurrency;
+
+import java.time.Duration;
+import java.util.Set;
+
+import dev.swirlit.devapp.common.exception.ConcurrencyLimitExceededException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Sheds write requests once the adaptive limit is reached, before the request body is read.
+ * Safe methods pass straight through.
+ */
+public class ConcurrencyLimitInterceptor implements HandlerInterceptor {
+
+    private static final String PERMIT = ConcurrencyLimitInterceptor.class.getName() + ".permit";
+    private static final Set<String> UNLIMITED_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final Duration retryAfter;
+
+    public ConcurrencyLimitInterceptor(AdaptiveConcurrencyLimiter limiter, Duration retryAfter) {
+        this.limiter = limiter;
+        this.retryAfter = retryAfter;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (UNLIMITED_METHODS.contains(request.getMethod())) {
+            return true;
+        }
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire()
+                .orElseThrow(() -> new ConcurrencyLimitExceededException(retryAfter));
+        request.setAttribute(PERMIT, permit);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(
+            HttpServletRequest request, HttpServletResponse response, Object handler, Exception exception) {
+        if (request.getAttribute(PERMIT) instanceof AdaptiveConcurrencyLimiter.Permit permit) {
+            request.removeAttribute(PERMIT);
+            permit.release(exception != null || response.getStatus() >= 500);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package dev.swirlit.devapp.common.config;
+
+import java.time.Clock;
+import java.time.Duration;
+
+import dev.swirlit.devapp.common.cache.CacheCircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.annotation.CachingConfigurer;
+import org.springframework.cache.interceptor.CacheErrorHandler;
+import org.springframework.cache.interceptor.LoggingCacheErrorHandler;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Keeps the Redis cache off the request path when it degrades: the circuit breaker, also shown on
+ * the health endpoint, skips Redis after a few failed or slow calls, and cache errors are logged
+ * instead of failing the request, which then reads from the database.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "spring.cache.type", havingValue = "redis")
+public class CacheResilienceConfig {
+
+    @Bean
+    public CacheCircuitBreaker redisCircuitBreaker(
+            @Value("${app.cache.breaker.failure-threshold:3}") int failureThreshold,
+            @Value("${app.cache.breaker.slow-call-threshold:PT0.1S}") Duration slowCallThreshold,
+            @Value("${app.cache.breaker.open-duration:PT10S}") Duration openDuration,
+            Clock clock,
+            MeterRegistry meterRegistry) {
+        return new CacheCircuitBreaker("redis", failureThreshold, slowCallThreshold, openDuration, clock, meterRegistry);
+    }
+
+    @Bean
+    CachingConfigurer failOpenCachingConfigurer() {
+        return new CachingConfigurer() {
+            @Override
+            public CacheErrorHandler errorHandler() {
+                return new LoggingCacheErrorHandler();
+            }
+        };
+    }
+}
@@ -0,0 +1,41 @@
+package dev.swirlit.devapp.common.config;
+
+import java.time.Duration;
+
+import dev.swirlit.devapp.common.concurrency.AdaptiveConcurrencyLimiter;
+import dev.swirlit.devapp.common.concurrency.ConcurrencyLimitInterceptor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "app.concurrency-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitConfig implements WebMvcConfigurer {
+
+    private final AdaptiveConcurrencyLimiter writeConcurrencyLimiter;
+    private final Duration retryAfter;
+
+    public ConcurrencyLimitConfig(
+            @Value("${app.concurrency-limit.initial:20}") int initialLimit,
+            @Value("${app.concurrency-limit.min:2}") int minLimit,
+            @Value("${app.concurrency-limit.max:200}") int maxLimit,
+            @Value("${app.concurrency-limit.retry-after:1s}") Duration retryAfter) {
+        this.writeConcurrencyLimiter = new AdaptiveConcurrencyLimiter("write", initialLimit, minLimit, maxLimit);
+        this.retryAfter = retryAfter;
+    }
+
+    @Bean
+    AdaptiveConcurrencyLimiter writeConcurrencyLimiter() {
+        return writeConcurrencyLimiter;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ConcurrencyLimitInterceptor(writeConcurrencyLimiter, retryAfter))
+                .addPathPatterns("/api/**");
+    }
+}
@@ -0,0 +1,40 @@
+package dev.swirlit.devapp.common.config;
+
+import java.time.Clock;
+
+import dev.swirlit.devapp.common.id.SnowflakeIdGenerator;
+import dev.swirlit.devapp.common.id.SnowflakeIdentifierGenerator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Entity ids drawn in the application, see {@link SnowflakeIdGenerator}. Every replica writing to
+ * the same tables needs its own {@code app.ids.node}. The default layout keeps ids below 2^53 so
+ * they survive JSON number parsing in browsers.
+ */
+@Configuration(proxyBeanMethods = false)
+public class IdGeneratorConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(IdGeneratorConfig.class);
+
+    @Bean
+    public SnowflakeIdGenerator snowflakeIdGenerator(
+            Clock clock,
+            @Value("${app.ids.node:0}") long node,
+            @Value("${app.ids.bits:53}") int bits,
+            @Value("${app.ids.node-bits:6}") int nodeBits,
+            @Value("${app.ids.sequence-bits:8}") int sequenceBits) {
+        log.info("Drawing {} bit ids as node {} of {}", bits, node, 1L << nodeBits);
+        return new SnowflakeIdGenerator(bits, nodeBits, sequenceBits, node, clock);
+    }
+
+    @Bean
+    HibernatePropertiesCustomizer snowflakeIdHibernateProperties(SnowflakeIdGenerator snowflakeIdGenerator) {
+        return properties -> properties.put(SnowflakeIdentifierGenerator.GENERATOR_SETTING, snowflakeIdGenerator);
+    }
+}
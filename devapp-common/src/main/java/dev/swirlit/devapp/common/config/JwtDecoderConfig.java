@@ -0,0 +1,86 @@
+package dev.swirlit.devapp.common.config;
+
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+
+import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.jwk.source.JWKSourceBuilder;
+import com.nimbusds.jose.proc.SecurityContext;
+import dev.swirlit.devapp.common.security.CachingJwtDecoder;
+import dev.swirlit.devapp.common.warmup.WarmupTask;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+/**
+ * Replaces the resource server's default decoder with a {@link CachingJwtDecoder} over a JWK set
+ * that is refreshed in the background ahead of its expiry, so neither token verification nor key
+ * rotation puts the identity provider on the request path. The first key set is fetched by the
+ * warm-up, before the service reports ready.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "app.security.enabled", havingValue = "true")
+public class JwtDecoderConfig {
+
+    @Bean
+    JWKSource<SecurityContext> jwkSource(
+            @Value("${spring.security.oauth2.resourceserver.jwt.jwk-set-uri}") String jwkSetUri,
+            @Value("${app.security.jwk-set.time-to-live:PT15M}") Duration timeToLive,
+            @Value("${app.security.jwk-set.refresh-timeout:PT15S}") Duration refreshTimeout,
+            @Value("${app.security.jwk-set.refresh-ahead:PT1M}") Duration refreshAhead) throws MalformedURLException {
+        return JWKSourceBuilder.<SecurityContext>create(URI.create(jwkSetUri).toURL())
+                .cache(timeToLive.toMillis(), refreshTimeout.toMillis())
+                .refreshAheadCache(refreshAhead.toMillis(), true)
+                .build();
+    }
+
+    @Bean
+    JwtDecoder jwtDecoder(
+            JWKSource<SecurityContext> jwkSource,
+            @Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri}") String issuerUri,
+            @Value("${app.security.jwt-cache.maximum-size:10000}") int maximumSize,
+            Clock clock,
+            MeterRegistry meterRegistry) {
+        NimbusJwtDecoder nimbusJwtDecoder = NimbusJwtDecoder.withJwkSource(jwkSource).build();
+        nimbusJwtDecoder.setJwtValidator(JwtValidators.createDefaultWithIssuer(issuerUri));
+        return new CachingJwtDecoder(nimbusJwtDecoder, maximumSize, clock, meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.warmup.enabled", havingValue = "true")
+    WarmupTask jwkSetWarmupTask(JWKSource<SecurityContext> jwkSource) {
+        return new WarmupTask() {
+            @Override
+            public String name() {
+                return "jwk-set";
+            }
+
+            @Override
+            public int prime() {
+                try {
+                    List<?> keys = jwkSource.get(new JWKSelector(new JWKMatcher.Builder().build()), null);
+                    return keys.size();
+                } catch (KeySourceException exception) {
+                    throw new IllegalStateException("Could not load the JWK set", exception);
+                }
+            }
+
+            /** Nothing to exercise without a token; verification is warmed by real traffic. */
+            @Override
+            public void exercise() {
+            }
+        };
+    }
+}
@@ -0,0 +1,35 @@
+package dev.swirlit.devapp.common.config;
+
+import java.util.Iterator;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import dev.swirlit.devapp.common.logging.AsyncConsoleAppender;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/** Exports the metrics of the {@link AsyncConsoleAppender asynchronous appenders} configured in logback. */
+@Configuration(proxyBeanMethods = false)
+public class LoggingMetricsConfig {
+
+    @Bean
+    MeterBinder asyncLoggingMetrics() {
+        return registry -> {
+            if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext loggerContext)) {
+                return;
+            }
+            for (Logger logger : loggerContext.getLoggerList()) {
+                for (Iterator<Appender<ILoggingEvent>> appenders = logger.iteratorForAppenders(); appenders.hasNext(); ) {
+                    if (appenders.next() instanceof AsyncConsoleAppender appender) {
+                        appender.bindTo(registry);
+                    }
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,46 @@
+package dev.swirlit.devapp.common.config;
+
+import java.time.Duration;
+
+import dev.swirlit.devapp.common.messaging.EventPublisher;
+import dev.swirlit.devapp.common.messaging.InProcessEventBus;
+import dev.swirlit.devapp.common.messaging.KafkaEventPublisher;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.KafkaTemplate;
+
+/**
+ * Selects the transport behind {@link EventPublisher} with {@code app.messaging.transport}:
+ * {@code kafka} (the default) or {@code in-process}. An event bus found in a parent context,
+ * as in the colocated deployment, is shared instead of creating one per application.
+ */
+@Configuration(proxyBeanMethods = false)
+public class MessagingConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.messaging.transport", havingValue = "kafka", matchIfMissing = true)
+    EventPublisher kafkaEventPublisher(KafkaTemplate<Object, Object> kafkaTemplate) {
+        return new KafkaEventPublisher(kafkaTemplate);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.messaging.transport", havingValue = "in-process")
+    @ConditionalOnMissingBean
+    InProcessEventBus inProcessEventBus(
+            @Value("${app.messaging.in-process.partitions:4}") int partitions,
+            @Value("${app.messaging.in-process.capacity:1024}") int capacity,
+            @Value("${app.messaging.in-process.publish-timeout:PT1S}") Duration publishTimeout) {
+        return new InProcessEventBus(partitions, capacity, publishTimeout);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.messaging.transport", havingValue = "in-process")
+    MeterBinder inProcessEventBusMetrics(InProcessEventBus inProcessEventBus) {
+        return inProcessEventBus::bindTo;
+    }
+}
@@ -0,0 +1,65 @@
+package dev.swirlit.devapp.common.config;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import dev.swirlit.devapp.common.sql.RepositoryTelemetryPostProcessor;
+import dev.swirlit.devapp.common.sql.SqlTelemetry;
+import dev.swirlit.devapp.common.sql.SqlTelemetryDataSource;
+import dev.swirlit.devapp.common.sql.SqlTelemetryInterceptor;
+import dev.swirlit.devapp.common.sql.SqlTelemetryRecordInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.handler.MappedInterceptor;
+
+/**
+ * Wires {@link SqlTelemetry} in: the primary {@code dataSource} bean is wrapped so statements
+ * are measured, repositories are tagged, and HTTP requests and Kafka records open units of work.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "app.sql-telemetry.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlTelemetryConfig {
+
+    @Bean
+    SqlTelemetry sqlTelemetry(
+            MeterRegistry meterRegistry,
+            @Value("${app.sql-telemetry.statement-budget:20}") int statementBudget,
+            @Value("${app.sql-telemetry.slow-threshold:PT0.2S}") Duration slowThreshold) {
+        return new SqlTelemetry(meterRegistry, statementBudget, slowThreshold);
+    }
+
+    @Bean
+    MappedInterceptor sqlTelemetryInterceptor(SqlTelemetry sqlTelemetry) {
+        return new MappedInterceptor(new String[] {"/api/**"}, new SqlTelemetryInterceptor(sqlTelemetry));
+    }
+
+    @Bean
+    SqlTelemetryRecordInterceptor sqlTelemetryRecordInterceptor(SqlTelemetry sqlTelemetry) {
+        return new SqlTelemetryRecordInterceptor(sqlTelemetry);
+    }
+
+    @Bean
+    static RepositoryTelemetryPostProcessor repositoryTelemetryPostProcessor() {
+        return new RepositoryTelemetryPostProcessor();
+    }
+
+    @Bean
+    static BeanPostProcessor sqlTelemetryDataSourcePostProcessor(ObjectProvider<SqlTelemetry> sqlTelemetry) {
+        return new BeanPostProcessor() {
+
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return "dataSource".equals(beanName) && bean instanceof DataSource dataSource
+                        ? new SqlTelemetryDataSource(dataSource, sqlTelemetry.getObject())
+                        : bean;
+            }
+        };
+    }
+}
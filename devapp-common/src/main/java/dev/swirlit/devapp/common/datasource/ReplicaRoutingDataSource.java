@@ -0,0 +1,138 @@
+package dev.swirlit.devapp.common.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+/**
+ * Hands out read-only connections from a set of replica pools in round-robin order.
+ * A replica that fails to produce a connection is skipped for a quarantine period;
+ * when no replica is available the primary pool serves the read instead.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final Duration quarantine;
+    private final Clock clock;
+    private final Counter primaryFallbacks;
+    private final AtomicInteger cursor = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(
+            DataSource primary,
+            Map<String, DataSource> replicas,
+            Duration quarantine,
+            MeterRegistry meterRegistry,
+            Clock clock) {
+        if (replicas.isEmpty()) {
+            throw new IllegalArgumentException("At least one replica data source is required");
+        }
+        this.primary = primary;
+        this.quarantine = quarantine;
+        this.clock = clock;
+        this.replicas = new ArrayList<>(replicas.size());
+        replicas.forEach((name, dataSource) -> this.replicas.add(new Replica(name, dataSource, meterRegistry)));
+        this.primaryFallbacks = Counter.builder("devapp.datasource.routed")
+                .description("Read-only connections handed out per pool")
+                .tag("pool", "primary")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(null, null);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(username, password);
+    }
+
+    public List<String> availableReplicas() {
+        long now = clock.millis();
+        return replicas.stream().filter(replica -> replica.isAvailable(now)).map(Replica::name).toList();
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private Connection route(String username, String password) throws SQLException {
+        int size = replicas.size();
+        int start = Math.floorMod(cursor.getAndIncrement(), size);
+        for (int offset = 0; offset < size; offset++) {
+            Replica replica = replicas.get((start + offset) % size);
+            long now = clock.millis();
+            if (!replica.isAvailable(now)) {
+                continue;
+            }
+            try {
+                Connection connection = replica.connect(username, password);
+                replica.routed.increment();
+                return connection;
+            } catch (SQLException exception) {
+                replica.failures.increment();
+                replica.quarantinedUntil = now + quarantine.toMillis();
+                log.warn("Quarantining replica {} for {} after connection failure: {}",
+                        replica.name, quarantine, exception.getMessage());
+            }
+        }
+        primaryFallbacks.increment();
+        return username == null ? primary.getConnection() : primary.getConnection(username, password);
+    }
+
+    private static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private final Counter routed;
+        private final Counter failures;
+        private volatile long quarantinedUntil;
+
+        private Replica(String name, DataSource dataSource, MeterRegistry meterRegistry) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.routed = Counter.builder("devapp.datasource.routed")
+                    .description("Read-only connections handed out per pool")
+                    .tag("pool", name)
+                    .register(meterRegistry);
+            this.failures = Counter.builder("devapp.datasource.replica.failures")
+                    .description("Replica connection failures that triggered a quarantine")
+                    .tag("pool", name)
+                    .register(meterRegistry);
+        }
+
+        private String name() {
+            return name;
+        }
+
+        private boolean isAvailable(long now) {
+            return now >= quarantinedUntil;
+        }
+
+        private Connection connect(String username, String password) throws SQLException {
+            return username == null ? dataSource.getConnection() : dataSource.getConnection(username, password);
+        }
+    }
+}
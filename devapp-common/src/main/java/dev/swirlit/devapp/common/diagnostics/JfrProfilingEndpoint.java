@@ -0,0 +1,153 @@
+package dev.swirlit.devapp.common.diagnostics;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.concurrent.locks.ReentrantLock;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+/**
+ * Time-bounded JFR recordings of the running JVM. {@code POST /actuator/profile/jfr} streams the
+ * {@code .jfr} file back, {@code POST /actuator/profile} returns a {@link ProfileSummary} computed
+ * on the server. Both block the calling request for the duration of the recording. Only one
+ * recording runs at a time and its duration is capped.
+ */
+@Component
+@WebEndpoint(id = "profile")
+@ConditionalOnProperty(name = "app.diagnostics.profiling.enabled", havingValue = "true")
+public class JfrProfilingEndpoint {
+
+    private final ReentrantLock recordingLock = new ReentrantLock();
+    private final Duration defaultDuration;
+    private final Duration maxDuration;
+    private final String defaultSettings;
+    private final int topN;
+
+    public JfrProfilingEndpoint(
+            @Value("${app.diagnostics.profiling.default-duration:PT30S}") Duration defaultDuration,
+            @Value("${app.diagnostics.profiling.max-duration:PT2M}") Duration maxDuration,
+            @Value("${app.diagnostics.profiling.settings:profile}") String defaultSettings,
+            @Value("${app.diagnostics.profiling.top:20}") int topN) {
+        this.defaultDuration = defaultDuration;
+        this.maxDuration = maxDuration;
+        this.defaultSettings = defaultSettings;
+        this.topN = topN;
+    }
+
+    @WriteOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> recording(@Selector String format, @Nullable Duration duration, @Nullable String settings) {
+        if (!"jfr".equals(format)) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        return record(duration, settings, TemporaryRecordingResource::new);
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<ProfileSummary> summary(@Nullable Duration duration, @Nullable String settings) {
+        return record(duration, settings, file -> ProfileSummary.of(file, topN));
+    }
+
+    private <T> WebEndpointResponse<T> record(
+            @Nullable Duration duration, @Nullable String settings, RecordingHandler<T> handler) {
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settings == null ? defaultSettings : settings);
+        } catch (IOException | ParseException exception) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+        Duration length = duration == null ? defaultDuration : duration;
+        if (length.isNegative() || length.isZero() || length.compareTo(maxDuration) > 0) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+        if (!recordingLock.tryLock()) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_TOO_MANY_REQUESTS);
+        }
+        Path file = null;
+        boolean streamed = false;
+        try {
+            file = Files.createTempFile("profile-", ".jfr");
+            try (Recording recording = new Recording(configuration)) {
+                recording.setName("actuator-profile");
+                recording.setToDisk(true);
+                recording.start();
+                Thread.sleep(length);
+                recording.stop();
+                recording.dump(file);
+            }
+            T body = handler.handle(file);
+            // A streamed recording removes its file once the response has been written.
+            streamed = body instanceof TemporaryRecordingResource;
+            return new WebEndpointResponse<>(body, WebEndpointResponse.STATUS_OK);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_SERVICE_UNAVAILABLE);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        } finally {
+            if (file != null && !streamed) {
+                delete(file);
+            }
+            recordingLock.unlock();
+        }
+    }
+
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException exception) {
+            file.toFile().deleteOnExit();
+        }
+    }
+
+    @FunctionalInterface
+    private interface RecordingHandler<T> {
+
+        T handle(Path file) throws IOException;
+    }
+
+    private static final class TemporaryRecordingResource extends FileSystemResource {
+
+        private TemporaryRecordingResource(Path file) {
+            super(file);
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return new FilterInputStream(super.getInputStream()) {
+
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        Files.deleteIfExists(getFile().toPath());
+                    }
+                }
+            };
+        }
+
+        @Override
+        public boolean isFile() {
+            // Forces the converter through getInputStream so the file is removed after streaming.
+            return false;
+        }
+    }
+}
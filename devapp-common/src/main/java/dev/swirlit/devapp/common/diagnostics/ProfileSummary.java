@@ -0,0 +1,139 @@
+package dev.swirlit.devapp.common.diagnostics;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import jdk.jfr.consumer.RecordedClass;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Server-side digest of a JFR recording: the most sampled methods, sampled allocation weight by
+ * class, monitor and park contention by class and GC pauses by collector.
+ */
+public record ProfileSummary(
+        Instant start,
+        Instant end,
+        long executionSamples,
+        List<HotMethod> topMethods,
+        List<AllocationHotSpot> allocations,
+        List<Contention> contention,
+        List<GcPauses> gcPauses) {
+
+    private static final String UNKNOWN = "unknown";
+
+    public record HotMethod(String method, long samples, double percent) {
+    }
+
+    public record AllocationHotSpot(String type, long bytes) {
+    }
+
+    public record Contention(String type, String kind, long events, Duration total, Duration longest) {
+    }
+
+    public record GcPauses(String collector, long collections, Duration total, Duration longest) {
+    }
+
+    static ProfileSummary of(Path recording, int topN) throws IOException {
+        Map<String, Long> methods = new HashMap<>();
+        Map<String, Long> allocations = new HashMap<>();
+        Map<String, DurationTally> contention = new HashMap<>();
+        Map<String, DurationTally> gcPauses = new HashMap<>();
+        Instant start = null;
+        Instant end = null;
+        long samples = 0;
+
+        try (RecordingFile file = new RecordingFile(recording)) {
+            while (file.hasMoreEvents()) {
+                RecordedEvent event = file.readEvent();
+                start = start == null || event.getStartTime().isBefore(start) ? event.getStartTime() : start;
+                end = end == null || event.getEndTime().isAfter(end) ? event.getEndTime() : end;
+                switch (event.getEventType().getName()) {
+                    case "jdk.ExecutionSample" -> {
+                        samples++;
+                        methods.merge(topFrame(event), 1L, Long::sum);
+                    }
+                    case "jdk.ObjectAllocationSample" ->
+                            allocations.merge(className(event.getClass("objectClass")), event.getLong("weight"), Long::sum);
+                    case "jdk.JavaMonitorEnter" ->
+                            tally(contention, "monitor|" + className(event.getClass("monitorClass")), event.getDuration());
+                    case "jdk.ThreadPark" ->
+                            tally(contention, "park|" + className(event.getClass("parkedClass")), event.getDuration());
+                    case "jdk.GarbageCollection" -> {
+                        DurationTally tally = gcPauses.computeIfAbsent(event.getString("name"), name -> new DurationTally());
+                        tally.add(event.getDuration("sumOfPauses"), event.getDuration("longestPause"));
+                    }
+                    default -> {
+                    }
+                }
+            }
+        }
+
+        long totalSamples = samples;
+        return new ProfileSummary(
+                start,
+                end,
+                totalSamples,
+                top(methods, topN).stream()
+                        .map(entry -> new HotMethod(entry.getKey(), entry.getValue(), 100.0 * entry.getValue() / totalSamples))
+                        .toList(),
+                top(allocations, topN).stream()
+                        .map(entry -> new AllocationHotSpot(entry.getKey(), entry.getValue()))
+                        .toList(),
+                contention.entrySet().stream()
+                        .sorted(Comparator.comparing((Map.Entry<String, DurationTally> entry) -> entry.getValue().total).reversed())
+                        .limit(topN)
+                        .map(entry -> {
+                            String[] key = entry.getKey().split("\\|", 2);
+                            DurationTally tally = entry.getValue();
+                            return new Contention(key[1], key[0], tally.events, tally.total, tally.longest);
+                        })
+                        .toList(),
+                gcPauses.entrySet().stream()
+                        .map(entry -> new GcPauses(entry.getKey(), entry.getValue().events, entry.getValue().total, entry.getValue().longest))
+                        .toList());
+    }
+
+    private static List<Map.Entry<String, Long>> top(Map<String, Long> counts, int topN) {
+        return counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(topN)
+                .toList();
+    }
+
+    private static String topFrame(RecordedEvent event) {
+        if (event.getStackTrace() == null || event.getStackTrace().getFrames().isEmpty()) {
+            return UNKNOWN;
+        }
+        RecordedFrame frame = event.getStackTrace().getFrames().getFirst();
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName();
+    }
+
+    private static String className(RecordedClass type) {
+        return type == null ? UNKNOWN : type.getName();
+    }
+
+    private static void tally(Map<String, DurationTally> tallies, String key, Duration duration) {
+        tallies.computeIfAbsent(key, ignored -> new DurationTally()).add(duration, duration);
+    }
+
+    private static final class DurationTally {
+
+        private long events;
+        private Duration total = Duration.ZERO;
+        private Duration longest = Duration.ZERO;
+
+        private void add(Duration duration, Duration candidateLongest) {
+            events++;
+            total = total.plus(duration);
+            longest = candidateLongest.compareTo(longest) > 0 ? candidateLongest : longest;
+        }
+    }
+}
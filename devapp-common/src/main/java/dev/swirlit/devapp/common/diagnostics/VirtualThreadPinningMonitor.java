@@ -0,0 +1,177 @@
+package dev.swirlit.devapp.common.diagnostics;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * Streams virtual-thread JFR events from the running JVM into Micrometer. Pinning durations are
+ * recorded per first application stack frame, and the most recent pinning stack traces are kept
+ * in a fixed-size ring that backs the {@code pinning} actuator endpoint.
+ */
+@Component
+@Endpoint(id = "pinning")
+@ConditionalOnProperty(name = "app.diagnostics.pinning.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    static final String SUBMIT_FAILED_EVENT = "jdk.VirtualThreadSubmitFailed";
+    static final String OTHER_FRAME = "other";
+
+    private static final int MAX_FRAME_TAGS = 64;
+    private static final List<String> JDK_PACKAGES = List.of("java.", "javax.", "jdk.", "sun.", "com.sun.");
+    private static final String SCHEDULER_MBEAN = "jdk.management:type=VirtualThreadScheduler";
+
+    private final MeterRegistry meterRegistry;
+    private final Duration threshold;
+    private final int stackDepth;
+    private final AtomicReferenceArray<PinnedSample> recent;
+    private final AtomicLong sequence = new AtomicLong();
+    private final Set<String> frameTags = ConcurrentHashMap.newKeySet();
+    private final Counter submitFailures;
+    private volatile RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(
+            MeterRegistry meterRegistry,
+            @Value("${app.diagnostics.pinning.threshold:20ms}") Duration threshold,
+            @Value("${app.diagnostics.pinning.stack-depth:12}") int stackDepth,
+            @Value("${app.diagnostics.pinning.recent:50}") int recentCapacity) {
+        this.meterRegistry = meterRegistry;
+        this.threshold = threshold;
+        this.stackDepth = stackDepth;
+        this.recent = new AtomicReferenceArray<>(recentCapacity);
+        this.submitFailures = Counter.builder("devapp.virtual.threads.submit.failed")
+                .description("Virtual thread submissions rejected by the carrier scheduler")
+                .register(meterRegistry);
+        bindSchedulerGauges();
+    }
+
+    @Override
+    public void start() {
+        RecordingStream recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recordingStream.enable(SUBMIT_FAILED_EVENT).withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, event -> record(sample(event)));
+        recordingStream.onEvent(SUBMIT_FAILED_EVENT, event -> submitFailures.increment());
+        recordingStream.startAsync();
+        stream = recordingStream;
+    }
+
+    @Override
+    public void stop() {
+        RecordingStream recordingStream = stream;
+        stream = null;
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    @ReadOperation
+    public List<PinnedSample> recent() {
+        long last = sequence.get();
+        int capacity = recent.length();
+        List<PinnedSample> samples = new ArrayList<>(capacity);
+        for (long index = last - 1; index >= Math.max(0, last - capacity); index--) {
+            PinnedSample sample = recent.get((int) (index % capacity));
+            if (sample != null) {
+                samples.add(sample);
+            }
+        }
+        return samples;
+    }
+
+    void record(PinnedSample sample) {
+        Timer.builder("devapp.virtual.threads.pinned")
+                .description("Time virtual threads spent pinned to their carrier")
+                .tag("frame", frameTag(sample.frames()))
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(sample.duration());
+        long index = sequence.getAndIncrement();
+        recent.set((int) (index % recent.length()), sample);
+    }
+
+    String frameTag(List<String> frames) {
+        String frame = frames.stream()
+                .filter(candidate -> JDK_PACKAGES.stream().noneMatch(candidate::startsWith))
+                .findFirst()
+                .orElse(frames.isEmpty() ? OTHER_FRAME : frames.getFirst());
+        String method = frame.contains(":") ? frame.substring(0, frame.lastIndexOf(':')) : frame;
+        if (frameTags.contains(method) || (frameTags.size() < MAX_FRAME_TAGS && frameTags.add(method))) {
+            return method;
+        }
+        return OTHER_FRAME;
+    }
+
+    private PinnedSample sample(RecordedEvent event) {
+        List<String> frames = event.getStackTrace() == null
+                ? List.of()
+                : event.getStackTrace().getFrames().stream().limit(stackDepth).map(VirtualThreadPinningMonitor::frame).toList();
+        String thread = event.getThread() == null ? null : event.getThread().getJavaName();
+        return new PinnedSample(event.getStartTime(), event.getDuration(), thread, frames);
+    }
+
+    private static String frame(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+
+    private void bindSchedulerGauges() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName scheduler;
+        try {
+            scheduler = new ObjectName(SCHEDULER_MBEAN);
+        } catch (JMException exception) {
+            return;
+        }
+        if (!server.isRegistered(scheduler)) {
+            return;
+        }
+        for (String attribute : List.of("Parallelism", "PoolSize", "MountedVirtualThreadCount", "QueuedVirtualThreadCount")) {
+            Gauge.builder("devapp.virtual.threads.scheduler", server, mbeans -> attribute(mbeans, scheduler, attribute))
+                    .description("Virtual thread scheduler state reported by the JDK")
+                    .tag("attribute", attribute)
+                    .register(meterRegistry);
+        }
+    }
+
+    private static double attribute(MBeanServer server, ObjectName name, String attribute) {
+        try {
+            return ((Number) server.getAttribute(name, attribute)).doubleValue();
+        } catch (JMException exception) {
+            return Double.NaN;
+        }
+    }
+
+    public record PinnedSample(Instant startTime, Duration duration, String thread, List<String> frames) {
+    }
+}
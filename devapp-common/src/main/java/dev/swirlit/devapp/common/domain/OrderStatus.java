@@ -1,8 +1,22 @@
 package dev.swirlit.devapp.common.domain;
 
+import java.util.Set;
+
 public enum OrderStatus {
     PENDING,
     APPROVED,
     REJECTED,
-    COMPLETED
+    COMPLETED,
+    EXPIRED;
+
+    /**
+     * Statuses an order may be in for a transition to this status to be legal.
+     */
+    public Set<OrderStatus> allowedPredecessors() {
+        return switch (this) {
+            case PENDING -> Set.of();
+            case APPROVED, REJECTED, EXPIRED -> Set.of(PENDING);
+            case COMPLETED -> Set.of(APPROVED);
+        };
+    }
 }
@@ -0,0 +1,17 @@
+package dev.swirlit.devapp.common.exception;
+
+import java.time.Duration;
+
+public class ConcurrencyLimitExceededException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public ConcurrencyLimitExceededException(Duration retryAfter) {
+        super("The service is at its concurrency limit");
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
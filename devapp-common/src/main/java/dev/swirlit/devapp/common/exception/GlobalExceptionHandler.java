@@ -9,12 +9,15 @@ import jakarta.persistence.EntityNotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
@@ -27,7 +30,7 @@ public class GlobalExceptionHandler {
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
-    ProblemDetail handleValidation(MethodArgumentNotValidException exception) {
+    public ProblemDetail handleValidation(MethodArgumentNotValidException exception) {
         Map<String, String> violations = new LinkedHashMap<>();
         for (var error : exception.getBindingResult().getAllErrors()) {
             String field = error instanceof FieldError fieldError ? fieldError.getField() : error.getObjectName();
@@ -39,12 +42,32 @@ public class GlobalExceptionHandler {
         return detail;
     }
 
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    ProblemDetail handleParameterValidation(HandlerMethodValidationException exception) {
+        Map<String, String> violations = new LinkedHashMap<>();
+        for (var result : exception.getParameterValidationResults()) {
+            String parameter = result.getMethodParameter().getParameterName();
+            result.getResolvableErrors().forEach(error -> violations.putIfAbsent(parameter, error.getDefaultMessage()));
+        }
+
+        ProblemDetail detail = problem(HttpStatus.BAD_REQUEST, "Validation failed", "The request is invalid");
+        detail.setProperty("violations", violations);
+        return detail;
+    }
+
     @ExceptionHandler(DataIntegrityViolationException.class)
     ProblemDetail handleConflict(DataIntegrityViolationException exception) {
         log.warn("Database constraint violation", exception);
         return problem(HttpStatus.CONFLICT, "Data conflict", "A record with the same unique value already exists");
     }
 
+    @ExceptionHandler(ConcurrencyLimitExceededException.class)
+    ResponseEntity<ProblemDetail> handleOverload(ConcurrencyLimitExceededException exception) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, exception.getRetryAfter().toSeconds())))
+                .body(problem(HttpStatus.SERVICE_UNAVAILABLE, "Service overloaded", exception.getMessage()));
+    }
+
     @ExceptionHandler(Exception.class)
     ProblemDetail handleUnexpected(Exception exception) {
         log.error("Unhandled request failure", exception);
@@ -0,0 +1,15 @@
+package dev.swirlit.devapp.common.id;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+/** Assigns the id of a new entity from the application's {@link SnowflakeIdGenerator}. */
+@IdGeneratorType(SnowflakeIdentifierGenerator.class)
+@Target({ElementType.FIELD, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SnowflakeId {
+}
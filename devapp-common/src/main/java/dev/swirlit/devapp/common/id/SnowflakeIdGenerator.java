@@ -0,0 +1,110 @@
+package dev.swirlit.devapp.common.id;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Time-ordered ids drawn without coordination. An id packs, from its high bits down, the number
+ * of 10 ms ticks since {@link #EPOCH}, the node id of the process and a sequence number within the
+ * tick, in the low {@code bits} bits of a long. Ids of one node strictly increase and ids of
+ * different nodes sort by the tick they were drawn in. A tick that runs out of sequence numbers
+ * borrows the next one, up to one second ahead of the clock, which also bridges short backward
+ * steps of the clock; a longer backward step fails instead of risking duplicates.
+ *
+ * <p>The sequence bits cap the sustained rate of a node at {@code 2^sequenceBits} ids per tick,
+ * 100 ticks a second: 25,600 ids/s with the default 8 bits. Beyond that a node borrows ticks until
+ * it is one second ahead and then parks callers until the clock catches up. The timestamp bits
+ * bound the lifetime of a layout, about 21 years with the minimum of 36.
+ */
+public class SnowflakeIdGenerator {
+
+    public static final Instant EPOCH = Instant.parse("2026-01-01T00:00:00Z");
+
+    private static final long TICK_MILLIS = 10;
+    private static final long MAX_AHEAD_TICKS = 100;
+    private static final int MIN_TIMESTAMP_BITS = 36;
+
+    private final int bits;
+    private final int nodeBits;
+    private final int sequenceBits;
+    private final long maxTick;
+    private final long sequenceMask;
+    private final long node;
+    private final Clock clock;
+    /** Tick and sequence number of the last id, packed as {@code tick << sequenceBits | sequence}. */
+    private final AtomicLong last = new AtomicLong();
+
+    public SnowflakeIdGenerator(int bits, int nodeBits, int sequenceBits, long node, Clock clock) {
+        int timestampBits = bits - nodeBits - sequenceBits;
+        if (bits > 63 || nodeBits < 0 || sequenceBits < 1 || timestampBits < MIN_TIMESTAMP_BITS) {
+            throw new IllegalArgumentException("Invalid id layout: %d bits with %d node and %d sequence bits"
+                    .formatted(bits, nodeBits, sequenceBits));
+        }
+        if (node < 0 || node >= 1L << nodeBits) {
+            throw new IllegalArgumentException("Node id %d does not fit in %d bits".formatted(node, nodeBits));
+        }
+        this.bits = bits;
+        this.nodeBits = nodeBits;
+        this.sequenceBits = sequenceBits;
+        this.maxTick = (1L << timestampBits) - 1;
+        this.sequenceMask = (1L << sequenceBits) - 1;
+        this.node = node;
+        this.clock = clock;
+    }
+
+    public int bits() {
+        return bits;
+    }
+
+    public long node() {
+        return node;
+    }
+
+    public long nextId() {
+        while (true) {
+            long previous = last.get();
+            long tick = previous >>> sequenceBits;
+            long now = currentTick();
+            long ahead = tick - now;
+            long next;
+            if (ahead < 0) {
+                next = now << sequenceBits;
+            } else if ((previous & sequenceMask) < sequenceMask) {
+                next = previous + 1;
+            } else if (ahead < MAX_AHEAD_TICKS) {
+                next = (tick + 1) << sequenceBits;
+            } else if (ahead == MAX_AHEAD_TICKS) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(TICK_MILLIS));
+                continue;
+            } else {
+                throw new IllegalStateException("Clock is %d ms behind the last id, refusing to draw ids until it catches up"
+                        .formatted(ahead * TICK_MILLIS));
+            }
+            if ((next >>> sequenceBits) > maxTick) {
+                throw new IllegalStateException("Ids of this layout ran out of timestamp bits");
+            }
+            if (last.compareAndSet(previous, next)) {
+                return (next >>> sequenceBits) << (nodeBits + sequenceBits) | node << sequenceBits | (next & sequenceMask);
+            }
+        }
+    }
+
+    /** Draws the next id with {@code prefix} in the bits above the id. */
+    public long nextId(long prefix) {
+        if (prefix < 0 || prefix >= 1L << (63 - bits)) {
+            throw new IllegalArgumentException("Prefix %d does not fit above %d bit ids".formatted(prefix, bits));
+        }
+        return prefix << bits | nextId();
+    }
+
+    private long currentTick() {
+        long tick = (clock.millis() - EPOCH.toEpochMilli()) / TICK_MILLIS;
+        if (tick < 0) {
+            throw new IllegalStateException("Clock is before the id epoch " + EPOCH);
+        }
+        return tick;
+    }
+}
@@ -0,0 +1,49 @@
+package dev.swirlit.devapp.common.id;
+
+import java.lang.reflect.Member;
+import java.util.EnumSet;
+
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+import org.hibernate.generator.GeneratorCreationContext;
+
+/**
+ * Hibernate generator behind {@link SnowflakeId}. Ids come from the {@link SnowflakeIdGenerator}
+ * the application hands to Hibernate as the {@value #GENERATOR_SETTING} setting, so they are known
+ * before the insert and Hibernate can batch inserts, and the application draws ids outside of
+ * Hibernate from the same sequence.
+ */
+public class SnowflakeIdentifierGenerator implements BeforeExecutionGenerator {
+
+    public static final String GENERATOR_SETTING = "devapp.ids.generator";
+
+    private final transient SnowflakeIdGenerator ids;
+
+    public SnowflakeIdentifierGenerator(SnowflakeId config, Member member, GeneratorCreationContext context) {
+        this.ids = idGenerator(context);
+    }
+
+    /** The application's id generator, or a failure naming the missing setting. */
+    public static SnowflakeIdGenerator idGenerator(GeneratorCreationContext context) {
+        Object generator = context.getServiceRegistry().requireService(ConfigurationService.class)
+                .getSettings()
+                .get(GENERATOR_SETTING);
+        if (generator instanceof SnowflakeIdGenerator ids) {
+            return ids;
+        }
+        throw new IllegalStateException("No SnowflakeIdGenerator in the Hibernate setting " + GENERATOR_SETTING);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue, EventType eventType) {
+        return ids.nextId();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
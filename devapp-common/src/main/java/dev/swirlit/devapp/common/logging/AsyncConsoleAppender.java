@@ -0,0 +1,211 @@
+package dev.swirlit.devapp.common.logging;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.encoder.Encoder;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.logstash.logback.encoder.StreamingEncoder;
+
+/**
+ * Console appender that keeps stdout off the calling thread. Events go into a bounded
+ * {@link RingBuffer} and one writer thread encodes them in batches into a reused buffer, which is
+ * written and flushed once per batch. Streaming encoders such as the logstash JSON encoders write
+ * straight into that buffer. When the ring is full, events at or below {@code dropLevel} (INFO by
+ * default) are dropped, while more severe events wait up to {@code maxBlockMillis} for room
+ * before they are dropped too. Events still queued at shutdown are written for up to
+ * {@code maxFlushTime} milliseconds.
+ */
+public class AsyncConsoleAppender extends UnsynchronizedAppenderBase<ILoggingEvent> {
+
+    private static final long IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long BLOCKED_RETRY_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private Encoder<ILoggingEvent> encoder;
+    private StreamingEncoder<ILoggingEvent> streamingEncoder;
+    private int capacity = 8192;
+    private int batchSize = 256;
+    private Level dropLevel = Level.INFO;
+    private int maxBlockMillis = 100;
+    private int maxFlushTime = 1000;
+    private RingBuffer<ILoggingEvent> buffer;
+    private Thread writer;
+    private volatile boolean writerIdle;
+    private final LongAdder written = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+
+    public void setEncoder(Encoder<ILoggingEvent> encoder) {
+        this.encoder = encoder;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public void setDropLevel(String dropLevel) {
+        this.dropLevel = Level.toLevel(dropLevel, Level.INFO);
+    }
+
+    public void setMaxBlockMillis(int maxBlockMillis) {
+        this.maxBlockMillis = maxBlockMillis;
+    }
+
+    public void setMaxFlushTime(int maxFlushTime) {
+        this.maxFlushTime = maxFlushTime;
+    }
+
+    @Override
+    public void start() {
+        if (isStarted()) {
+            return;
+        }
+        if (encoder == null) {
+            addError("No encoder set for the appender named [" + name + "].");
+            return;
+        }
+        streamingEncoder = streaming(encoder);
+        buffer = new RingBuffer<>(capacity);
+        super.start();
+        writer = Thread.ofPlatform().name("logback-" + name).daemon().start(this::drain);
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        super.stop();
+        LockSupport.unpark(writer);
+        try {
+            if (!writer.join(Duration.ofMillis(maxFlushTime))) {
+                addWarn("Gave up writing " + buffer.size() + " queued events after " + maxFlushTime + " ms.");
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Registers queue depth, written and dropped events, and batch writes, tagged with the appender name. */
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("devapp.logging.queue.depth", this, AsyncConsoleAppender::depth)
+                .description("Log events waiting to be written")
+                .tag("appender", name)
+                .register(registry);
+        counter(registry, "written", written);
+        counter(registry, "dropped", dropped);
+        FunctionCounter.builder("devapp.logging.batches", batches, LongAdder::doubleValue)
+                .description("Batched writes of log events to the console")
+                .tag("appender", name)
+                .register(registry);
+    }
+
+    public int depth() {
+        RingBuffer<ILoggingEvent> current = buffer;
+        return current == null ? 0 : current.size();
+    }
+
+    public long dropped() {
+        return dropped.sum();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        event.prepareForDeferredProcessing();
+        if (enqueue(event)) {
+            return;
+        }
+        if (event.getLevel().toInt() <= dropLevel.toInt()) {
+            dropped.increment();
+            return;
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxBlockMillis);
+        while (System.nanoTime() < deadline && isStarted()) {
+            LockSupport.parkNanos(BLOCKED_RETRY_NANOS);
+            if (enqueue(event)) {
+                return;
+            }
+        }
+        dropped.increment();
+    }
+
+    private boolean enqueue(ILoggingEvent event) {
+        if (!buffer.offer(event)) {
+            return false;
+        }
+        if (writerIdle) {
+            LockSupport.unpark(writer);
+        }
+        return true;
+    }
+
+    private void drain() {
+        ILoggingEvent[] batch = new ILoggingEvent[batchSize];
+        ByteArrayOutputStream output = new ByteArrayOutputStream(batchSize * 256);
+        while (true) {
+            int count = buffer.drainTo(batch);
+            if (count > 0) {
+                write(batch, count, output);
+            } else if (!isStarted()) {
+                return;
+            } else {
+                writerIdle = true;
+                if (buffer.isEmpty() && isStarted()) {
+                    LockSupport.parkNanos(this, IDLE_NANOS);
+                }
+                writerIdle = false;
+            }
+        }
+    }
+
+    private void write(ILoggingEvent[] batch, int count, ByteArrayOutputStream output) {
+        output.reset();
+        for (int index = 0; index < count; index++) {
+            try {
+                if (streamingEncoder != null) {
+                    streamingEncoder.encode(batch[index], output);
+                } else {
+                    output.write(encoder.encode(batch[index]));
+                }
+            } catch (IOException | RuntimeException exception) {
+                addError("Could not encode a log event.", exception);
+            }
+            batch[index] = null;
+        }
+        try {
+            PrintStream console = System.out;
+            output.writeTo(console);
+            console.flush();
+            written.add(count);
+            batches.increment();
+        } catch (IOException exception) {
+            addError("Could not write log events to the console.", exception);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static StreamingEncoder<ILoggingEvent> streaming(Encoder<ILoggingEvent> encoder) {
+        return encoder instanceof StreamingEncoder<?> streaming ? (StreamingEncoder<ILoggingEvent>) streaming : null;
+    }
+
+    private void counter(MeterRegistry registry, String outcome, LongAdder adder) {
+        FunctionCounter.builder("devapp.logging.events", adder, LongAdder::doubleValue)
+                .description("Log events handled by the asynchronous console appender")
+                .tags("appender", name, "outcome", outcome)
+                .register(registry);
+    }
+}
@@ -0,0 +1,81 @@
+package dev.swirlit.devapp.common.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free queue over a preallocated ring of slots for many producers and a single
+ * consumer. Each slot carries a sequence number that tells producers whether it is free and the
+ * consumer whether it has been published, so neither side allocates or takes a lock.
+ */
+final class RingBuffer<E> {
+
+    private final int mask;
+    private final AtomicReferenceArray<E> slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    RingBuffer(int capacity) {
+        int size = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = size - 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int index = 0; index < size; index++) {
+            sequences.set(index, index);
+        }
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+
+    /** Adds the element unless the ring is full. */
+    boolean offer(E element) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long lag = sequences.get(index) - position;
+            if (lag == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots.set(index, element);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (lag < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /** Moves up to {@code batch.length} published elements into the batch; consumer thread only. */
+    int drainTo(E[] batch) {
+        long position = head.get();
+        int count = 0;
+        while (count < batch.length) {
+            int index = (int) (position & mask);
+            if (sequences.get(index) != position + 1) {
+                break;
+            }
+            batch[count++] = slots.get(index);
+            slots.set(index, null);
+            sequences.set(index, position + capacity());
+            position++;
+        }
+        head.set(position);
+        return count;
+    }
+
+    boolean isEmpty() {
+        long position = head.get();
+        return sequences.get((int) (position & mask)) != position + 1;
+    }
+
+    int size() {
+        return (int) Math.clamp(tail.get() - head.get(), 0, capacity());
+    }
+}
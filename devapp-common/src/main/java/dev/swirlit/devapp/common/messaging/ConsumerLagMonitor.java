@@ -0,0 +1,224 @@
+package dev.swirlit.devapp.common.messaging;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collectors;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.ConsumerGroupDescription;
+import org.apache.kafka.clients.admin.ListOffsetsResult.ListOffsetsResultInfo;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically compares the committed offsets of the configured consumer groups with the log end
+ * offsets of their partitions. Consumption and production rates come from the offset movement
+ * between two refreshes, and the time to drain is the total lag divided by the net consumption
+ * rate ({@code null} in the report and {@code +Inf} in the gauge while the backlog is growing).
+ * Partitions assigned to a member of the group that have no committed offset yet, such as those
+ * of a new group or a new partition, are counted from where the consumer will start reading: the
+ * log start offset, or the log end offset when {@code auto-offset-reset} is {@code latest}.
+ */
+@Component
+@Endpoint(id = "consumerlag")
+@ConditionalOnExpression("${app.messaging.enabled:false} and '${app.messaging.transport:kafka}' == 'kafka'")
+public class ConsumerLagMonitor implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ConsumerLagMonitor.class);
+
+    private final Admin admin;
+    private final List<String> groups;
+    private final Duration timeout;
+    private final OffsetSpec uncommittedPosition;
+    private final Clock clock;
+    private final MeterRegistry meterRegistry;
+    private final MultiGauge partitionLag;
+    private final Map<String, GroupLag> reports = new ConcurrentHashMap<>();
+
+    public ConsumerLagMonitor(
+            KafkaAdmin kafkaAdmin,
+            MeterRegistry meterRegistry,
+            Clock clock,
+            @Value("${app.messaging.lag.groups:${spring.kafka.consumer.group-id}}") List<String> groups,
+            @Value("${app.messaging.lag.timeout:5s}") Duration timeout,
+            @Value("${spring.kafka.consumer.auto-offset-reset:latest}") String autoOffsetReset) {
+        this.admin = Admin.create(kafkaAdmin.getConfigurationProperties());
+        this.groups = groups;
+        this.timeout = timeout;
+        this.uncommittedPosition = "latest".equalsIgnoreCase(autoOffsetReset) ? OffsetSpec.latest() : OffsetSpec.earliest();
+        this.clock = clock;
+        this.meterRegistry = meterRegistry;
+        this.partitionLag = MultiGauge.builder("devapp.kafka.consumer.lag")
+                .description("Messages between the committed offset and the log end offset")
+                .register(meterRegistry);
+        groups.forEach(this::bindGroupGauges);
+    }
+
+    @Scheduled(fixedDelayString = "${app.messaging.lag.interval:PT15S}", initialDelayString = "${app.messaging.lag.initial-delay:PT5S}")
+    public void refresh() {
+        for (String group : groups) {
+            try {
+                reports.put(group, measure(group, reports.get(group)));
+            } catch (ExecutionException | TimeoutException exception) {
+                log.warn("Could not compute consumer lag for group {}: {}", group, exception.getMessage());
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        partitionLag.register(reports.values().stream()
+                .flatMap(report -> report.partitions().stream().map(partition -> MultiGauge.Row.of(
+                        Tags.of("group", report.group(), "topic", partition.topic(), "partition", String.valueOf(partition.partition())),
+                        partition.lag())))
+                .toList(), true);
+    }
+
+    @ReadOperation
+    public List<GroupLag> lag() {
+        return groups.stream().map(reports::get).filter(report -> report != null).toList();
+    }
+
+    @ReadOperation
+    public @Nullable GroupLag groupLag(@Selector String group) {
+        return reports.get(group);
+    }
+
+    @Override
+    public void close() {
+        admin.close(timeout);
+    }
+
+    private GroupLag measure(String group, @Nullable GroupLag previous)
+            throws ExecutionException, TimeoutException, InterruptedException {
+        Map<TopicPartition, OffsetAndMetadata> committed = admin.listConsumerGroupOffsets(group)
+                .partitionsToOffsetAndMetadata()
+                .get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        ConsumerGroupDescription description = admin.describeConsumerGroups(List.of(group))
+                .describedGroups()
+                .get(group)
+                .get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        Set<TopicPartition> uncommitted = new HashSet<>();
+        description.members().forEach(member -> uncommitted.addAll(member.assignment().topicPartitions()));
+        Map<TopicPartition, OffsetSpec> latest = new HashMap<>();
+        committed.forEach((partition, offset) -> {
+            if (offset != null) {
+                uncommitted.remove(partition);
+                latest.put(partition, OffsetSpec.latest());
+            }
+        });
+        uncommitted.forEach(partition -> latest.put(partition, OffsetSpec.latest()));
+        Map<TopicPartition, ListOffsetsResultInfo> endOffsets = listOffsets(latest);
+        Map<TopicPartition, ListOffsetsResultInfo> startPositions = listOffsets(uncommitted.stream()
+                .collect(Collectors.toMap(partition -> partition, partition -> uncommittedPosition)));
+
+        List<PartitionLag> partitions = new ArrayList<>();
+        for (Map.Entry<TopicPartition, ListOffsetsResultInfo> entry : endOffsets.entrySet()) {
+            TopicPartition partition = entry.getKey();
+            long committedOffset = uncommitted.contains(partition)
+                    ? startPositions.get(partition).offset()
+                    : committed.get(partition).offset();
+            long endOffset = entry.getValue().offset();
+            partitions.add(new PartitionLag(
+                    partition.topic(), partition.partition(), committedOffset, endOffset, Math.max(0, endOffset - committedOffset)));
+        }
+        partitions.sort(Comparator.comparing(PartitionLag::topic).thenComparingInt(PartitionLag::partition));
+        return GroupLag.of(group, clock.instant(), partitions, previous);
+    }
+
+    private Map<TopicPartition, ListOffsetsResultInfo> listOffsets(Map<TopicPartition, OffsetSpec> specs)
+            throws ExecutionException, TimeoutException, InterruptedException {
+        return specs.isEmpty() ? Map.of() : admin.listOffsets(specs).all().get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void bindGroupGauges(String group) {
+        gauge(group, "devapp.kafka.consumer.lag.total", "Total lag of the consumer group", GroupLag::totalLag);
+        gauge(group, "devapp.kafka.consumer.consume.rate", "Committed messages per second", GroupLag::consumeRate);
+        gauge(group, "devapp.kafka.consumer.produce.rate", "Produced messages per second on the consumed partitions", GroupLag::produceRate);
+        gauge(group, "devapp.kafka.consumer.drain.seconds", "Estimated seconds until the consumer group catches up",
+                report -> report.timeToDrainSeconds() == null ? Double.POSITIVE_INFINITY : report.timeToDrainSeconds());
+    }
+
+    private void gauge(String group, String name, String description, ToDoubleFunction<GroupLag> value) {
+        Gauge.builder(name, reports, current -> {
+                    GroupLag report = current.get(group);
+                    return report == null ? Double.NaN : value.applyAsDouble(report);
+                })
+                .description(description)
+                .tag("group", group)
+                .register(meterRegistry);
+    }
+
+    public record PartitionLag(String topic, int partition, long committedOffset, long endOffset, long lag) {
+    }
+
+    public record GroupLag(
+            String group,
+            Instant measuredAt,
+            long totalLag,
+            double consumeRate,
+            double produceRate,
+            @Nullable Double timeToDrainSeconds,
+            List<PartitionLag> partitions) {
+
+        static GroupLag of(String group, Instant measuredAt, List<PartitionLag> partitions, @Nullable GroupLag previous) {
+            long totalLag = partitions.stream().mapToLong(PartitionLag::lag).sum();
+            double consumeRate = 0;
+            double produceRate = 0;
+            if (previous != null && measuredAt.isAfter(previous.measuredAt())) {
+                double seconds = Duration.between(previous.measuredAt(), measuredAt).toNanos() / 1e9;
+                Map<String, PartitionLag> before = new HashMap<>();
+                previous.partitions().forEach(partition -> before.put(partition.topic() + "-" + partition.partition(), partition));
+                long consumed = 0;
+                long produced = 0;
+                for (PartitionLag partition : partitions) {
+                    PartitionLag earlier = before.get(partition.topic() + "-" + partition.partition());
+                    if (earlier != null) {
+                        consumed += Math.max(0, partition.committedOffset() - earlier.committedOffset());
+                        produced += Math.max(0, partition.endOffset() - earlier.endOffset());
+                    }
+                }
+                consumeRate = consumed / seconds;
+                produceRate = produced / seconds;
+            }
+            Double timeToDrain;
+            if (totalLag == 0) {
+                timeToDrain = 0.0;
+            } else if (consumeRate > produceRate) {
+                timeToDrain = totalLag / (consumeRate - produceRate);
+            } else {
+                timeToDrain = null;
+            }
+            return new GroupLag(group, measuredAt, totalLag, consumeRate, produceRate, timeToDrain, List.copyOf(partitions));
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package dev.swirlit.devapp.common.messaging;
+
+import dev.swirlit.devapp.common.messaging.InProcessEventBus.Handler;
+
+import org.springframework.context.SmartLifecycle;
+
+/**
+ * Binds a listener method to a topic of the {@link InProcessEventBus} for the lifetime of the
+ * application context, the way a Kafka listener container does. Delivery starts with the other
+ * listeners once the context has been refreshed and stops before the beans are destroyed.
+ */
+public class EventBusListener<T> implements SmartLifecycle {
+
+    private final InProcessEventBus eventBus;
+    private final String topic;
+    private final Class<T> type;
+    private final RetryPolicy retryPolicy;
+    private final Handler<T> handler;
+    private final Handler<T> deadLetterHandler;
+    private volatile AutoCloseable subscription;
+
+    public EventBusListener(
+            InProcessEventBus eventBus,
+            String topic,
+            Class<T> type,
+            RetryPolicy retryPolicy,
+            Handler<T> handler,
+            Handler<T> deadLetterHandler) {
+        this.eventBus = eventBus;
+        this.topic = topic;
+        this.type = type;
+        this.retryPolicy = retryPolicy;
+        this.handler = handler;
+        this.deadLetterHandler = deadLetterHandler;
+    }
+
+    @Override
+    public void start() {
+        if (subscription == null) {
+            subscription = eventBus.subscribe(topic, type, retryPolicy, handler, deadLetterHandler);
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (subscription != null) {
+            try {
+                subscription.close();
+            } catch (Exception exception) {
+                throw new IllegalStateException("Could not stop the listener of topic " + topic, exception);
+            } finally {
+                subscription = null;
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return subscription != null;
+    }
+}
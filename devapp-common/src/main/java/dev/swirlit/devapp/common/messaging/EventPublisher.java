@@ -0,0 +1,12 @@
+package dev.swirlit.devapp.common.messaging;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Publishes events to a topic. The returned future completes once the transport has accepted
+ * the event, not once a listener has handled it.
+ */
+public interface EventPublisher {
+
+    CompletableFuture<Void> publish(String topic, String key, Object event);
+}
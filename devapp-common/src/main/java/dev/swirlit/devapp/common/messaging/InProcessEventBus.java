@@ -0,0 +1,286 @@
+package dev.swirlit.devapp.common.messaging;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+/**
+ * Bounded in-memory replacement for the Kafka topics when every listener lives in the same JVM.
+ * Events are handed over by reference, so they must be immutable. Each topic is split into
+ * partitions by key, and each partition has a bounded queue drained by one thread, which keeps
+ * the per-key ordering and the parallelism of a partitioned topic. Failed deliveries are retried
+ * on the listener's {@link RetryPolicy} under the same {@code -retry-N} and {@code -dlt} topic
+ * names as the non-blocking Kafka retries. Publishing blocks for up to the publish timeout while
+ * a partition is full and then fails. Nothing is durable: events still queued at shutdown are lost.
+ */
+public class InProcessEventBus implements EventPublisher, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(InProcessEventBus.class);
+    private static final long POLL_MILLIS = 100;
+
+    private final int partitions;
+    private final int capacity;
+    private final long publishTimeoutNanos;
+    private final ConcurrentMap<String, Topic> topics = new ConcurrentHashMap<>();
+    private final List<MeterRegistry> registries = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService redeliveries = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("eventbus-retry").daemon().factory());
+    private volatile boolean closed;
+
+    public InProcessEventBus(int partitions, int capacity, Duration publishTimeout) {
+        this.partitions = partitions;
+        this.capacity = capacity;
+        this.publishTimeoutNanos = publishTimeout.toNanos();
+    }
+
+    @Override
+    public CompletableFuture<Void> publish(String topic, String key, Object event) {
+        Topic target = topic(topic);
+        try {
+            if (!closed && target.partitionOf(key).offer(new Delivery(event, key, System.nanoTime(), 1), publishTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                target.published.increment();
+                return CompletableFuture.completedFuture(null);
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+        target.rejected.increment();
+        return CompletableFuture.failedFuture(new RejectedExecutionException("Topic %s did not accept the event".formatted(topic)));
+    }
+
+    /**
+     * Starts delivering the events of the topic, including those published before, to the
+     * handler. A topic has at most one listener. Closing the returned subscription stops the
+     * delivery threads once their current event has been handled.
+     */
+    public <T> AutoCloseable subscribe(
+            String topic, Class<T> type, RetryPolicy retryPolicy, Handler<T> handler, Handler<T> deadLetterHandler) {
+        Topic target = topic(topic);
+        Subscriber<T> subscriber = new Subscriber<>(target, type, retryPolicy, handler, deadLetterHandler);
+        if (!target.subscriber.compareAndSet(null, subscriber)) {
+            throw new IllegalStateException("Topic %s already has a listener".formatted(topic));
+        }
+        subscriber.start();
+        return () -> {
+            subscriber.stop();
+            target.subscriber.compareAndSet(subscriber, null);
+        };
+    }
+
+    /** Registers queue depth, outcome counters and publish-to-handled latency per topic. */
+    public void bindTo(MeterRegistry registry) {
+        registries.add(registry);
+        topics.values().forEach(topic -> topic.register(registry));
+    }
+
+    public long depth(String topic) {
+        Topic target = topics.get(topic);
+        return target == null ? 0 : target.depth();
+    }
+
+    @Override
+    public void destroy() {
+        closed = true;
+        redeliveries.shutdownNow();
+        for (Topic topic : topics.values()) {
+            Subscriber<?> subscriber = topic.subscriber.get();
+            if (subscriber != null) {
+                subscriber.stop();
+            }
+            long undelivered = topic.depth();
+            if (undelivered > 0) {
+                log.warn("Dropping {} undelivered events of topic {}", undelivered, topic.name);
+            }
+        }
+    }
+
+    private Topic topic(String name) {
+        return topics.computeIfAbsent(name, key -> {
+            Topic topic = new Topic(key);
+            registries.forEach(topic::register);
+            return topic;
+        });
+    }
+
+    @FunctionalInterface
+    public interface Handler<T> {
+
+        void handle(T event, String topic) throws Exception;
+    }
+
+    private record Delivery(Object event, String key, long publishedNanos, int attempt) {
+
+        private Delivery next() {
+            return new Delivery(event, key, publishedNanos, attempt + 1);
+        }
+    }
+
+    private final class Topic {
+
+        private final String name;
+        private final List<BlockingQueue<Delivery>> queues = new ArrayList<>(partitions);
+        private final AtomicReference<Subscriber<?>> subscriber = new AtomicReference<>();
+        private final LongAdder published = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder delivered = new LongAdder();
+        private final LongAdder retried = new LongAdder();
+        private final LongAdder deadLettered = new LongAdder();
+        private final LongAdder latencyNanos = new LongAdder();
+
+        private Topic(String name) {
+            this.name = name;
+            for (int partition = 0; partition < partitions; partition++) {
+                queues.add(new ArrayBlockingQueue<>(capacity));
+            }
+        }
+
+        private BlockingQueue<Delivery> partitionOf(String key) {
+            return queues.get(key == null ? 0 : Math.floorMod(key.hashCode(), partitions));
+        }
+
+        private long depth() {
+            long depth = 0;
+            for (BlockingQueue<Delivery> queue : queues) {
+                depth += queue.size();
+            }
+            return depth;
+        }
+
+        private void register(MeterRegistry registry) {
+            Gauge.builder("devapp.eventbus.queue.depth", this, Topic::depth)
+                    .description("Events waiting in the in-process topic")
+                    .tag("topic", name)
+                    .register(registry);
+            counter(registry, "published", published);
+            counter(registry, "rejected", rejected);
+            counter(registry, "delivered", delivered);
+            counter(registry, "retried", retried);
+            counter(registry, "dead_lettered", deadLettered);
+            FunctionTimer.builder("devapp.eventbus.delivery", this,
+                            topic -> topic.delivered.sum(), topic -> topic.latencyNanos.sum(), TimeUnit.NANOSECONDS)
+                    .description("Time from publishing an event to its listener returning")
+                    .tag("topic", name)
+                    .register(registry);
+        }
+
+        private void counter(MeterRegistry registry, String outcome, LongAdder adder) {
+            FunctionCounter.builder("devapp.eventbus.events", adder, LongAdder::doubleValue)
+                    .description("Events handled by the in-process event bus")
+                    .tags("topic", name, "outcome", outcome)
+                    .register(registry);
+        }
+    }
+
+    private final class Subscriber<T> {
+
+        private final Topic topic;
+        private final Class<T> type;
+        private final RetryPolicy retryPolicy;
+        private final Handler<T> handler;
+        private final Handler<T> deadLetterHandler;
+        private final List<Thread> workers = new ArrayList<>();
+        private volatile boolean running = true;
+
+        private Subscriber(Topic topic, Class<T> type, RetryPolicy retryPolicy, Handler<T> handler, Handler<T> deadLetterHandler) {
+            this.topic = topic;
+            this.type = type;
+            this.retryPolicy = retryPolicy;
+            this.handler = handler;
+            this.deadLetterHandler = deadLetterHandler;
+        }
+
+        private void start() {
+            for (int partition = 0; partition < partitions; partition++) {
+                BlockingQueue<Delivery> queue = topic.queues.get(partition);
+                workers.add(Thread.ofVirtual().name("eventbus-" + topic.name + "-" + partition).start(() -> drain(queue)));
+            }
+        }
+
+        private void stop() {
+            running = false;
+            for (Thread worker : workers) {
+                try {
+                    worker.join(Duration.ofSeconds(5));
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+
+        private void drain(BlockingQueue<Delivery> queue) {
+            while (running) {
+                try {
+                    Delivery delivery = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                    if (delivery != null) {
+                        deliver(queue, delivery);
+                    }
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+
+        private void deliver(BlockingQueue<Delivery> queue, Delivery delivery) {
+            String receivedTopic = delivery.attempt() == 1 ? topic.name : topic.name + "-retry-" + (delivery.attempt() - 2);
+            try {
+                handler.handle(type.cast(delivery.event()), receivedTopic);
+                topic.delivered.increment();
+                topic.latencyNanos.add(System.nanoTime() - delivery.publishedNanos());
+            } catch (Exception exception) {
+                if (delivery.attempt() < retryPolicy.attempts()) {
+                    topic.retried.increment();
+                    redeliver(queue, delivery.next(), retryPolicy.delayAfter(delivery.attempt()));
+                } else {
+                    deadLetter(delivery, exception);
+                }
+            }
+        }
+
+        private void redeliver(BlockingQueue<Delivery> queue, Delivery delivery, Duration delay) {
+            if (closed) {
+                return;
+            }
+            redeliveries.schedule(() -> {
+                if (!queue.offer(delivery)) {
+                    redeliver(queue, delivery, Duration.ofMillis(POLL_MILLIS));
+                }
+            }, delay.toNanos(), TimeUnit.NANOSECONDS);
+        }
+
+        private void deadLetter(Delivery delivery, Exception failure) {
+            topic.deadLettered.increment();
+            if (deadLetterHandler == null) {
+                log.error("Dropping event {} of topic {} after {} attempts", delivery.key(), topic.name, delivery.attempt(), failure);
+                return;
+            }
+            try {
+                deadLetterHandler.handle(type.cast(delivery.event()), topic.name + "-dlt");
+            } catch (Exception exception) {
+                log.error("Dead-letter handler of topic {} failed for event {}", topic.name, delivery.key(), exception);
+            }
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package dev.swirlit.devapp.common.messaging;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.kafka.core.KafkaTemplate;
+
+public class KafkaEventPublisher implements EventPublisher {
+
+    private final KafkaTemplate<Object, Object> kafkaTemplate;
+
+    public KafkaEventPublisher(KafkaTemplate<Object, Object> kafkaTemplate) {
+        this.kafkaTemplate = kafkaTemplate;
+    }
+
+    @Override
+    public CompletableFuture<Void> publish(String topic, String key, Object event) {
+        return kafkaTemplate.send(topic, key, event).thenApply(result -> null);
+    }
+}
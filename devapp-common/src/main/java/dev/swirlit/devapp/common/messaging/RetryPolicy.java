@@ -0,0 +1,17 @@
+package dev.swirlit.devapp.common.messaging;
+
+import java.time.Duration;
+
+/**
+ * Redelivery schedule of a listener: {@code attempts} counts the first delivery, and the delay
+ * before each retry grows by {@code multiplier} up to {@code maxDelay}.
+ */
+public record RetryPolicy(int attempts, Duration delay, double multiplier, Duration maxDelay) {
+
+    public static final RetryPolicy NONE = new RetryPolicy(1, Duration.ZERO, 1, Duration.ZERO);
+
+    public Duration delayAfter(int attempt) {
+        double millis = delay.toMillis() * Math.pow(multiplier, attempt - 1);
+        return Duration.ofMillis((long) Math.min(millis, maxDelay.toMillis()));
+    }
+}
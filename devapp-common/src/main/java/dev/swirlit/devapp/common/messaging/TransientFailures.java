@@ -0,0 +1,43 @@
+package dev.swirlit.devapp.common.messaging;
+
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+/**
+ * Classifies failures that are worth retrying later: timeouts, lost connections and failovers of
+ * the database or cache. Anything else is considered permanent for the record being processed.
+ */
+public final class TransientFailures {
+
+    private static final List<Class<? extends Throwable>> TRANSIENT = List.of(
+            TransientDataAccessException.class,
+            RecoverableDataAccessException.class,
+            DataAccessResourceFailureException.class,
+            CannotCreateTransactionException.class,
+            TimeoutException.class,
+            SocketTimeoutException.class,
+            ConnectException.class);
+
+    private TransientFailures() {
+    }
+
+    public static boolean isTransient(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            Throwable current = cause;
+            if (TRANSIENT.stream().anyMatch(type -> type.isInstance(current))) {
+                return true;
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,107 @@
+package dev.swirlit.devapp.common.rpc;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binary framing of the internal user lookup call between order-app and user-app. A request is
+ * a count followed by that many user ids; a response is a count followed by the id and name of
+ * every requested user that exists. Ids of missing users are simply absent from the response.
+ */
+public final class UserLookupCodec {
+
+    public static final String MEDIA_TYPE = "application/vnd.devapp.user-lookup";
+    public static final String PATH = "/internal/users/lookup";
+    public static final int MAX_BATCH = 1000;
+
+    private UserLookupCodec() {
+    }
+
+    public static byte[] encodeRequest(Collection<Long> userIds) {
+        return write(output -> {
+            output.writeInt(userIds.size());
+            for (long userId : userIds) {
+                output.writeLong(userId);
+            }
+        });
+    }
+
+    public static List<Long> decodeRequest(byte[] body) {
+        return read(body, input -> {
+            int count = count(input);
+            List<Long> userIds = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                userIds.add(input.readLong());
+            }
+            return userIds;
+        });
+    }
+
+    public static byte[] encodeResponse(Map<Long, String> names) {
+        return write(output -> {
+            output.writeInt(names.size());
+            for (Map.Entry<Long, String> user : names.entrySet()) {
+                output.writeLong(user.getKey());
+                output.writeUTF(user.getValue());
+            }
+        });
+    }
+
+    public static Map<Long, String> decodeResponse(byte[] body) {
+        return read(body, input -> {
+            int count = count(input);
+            Map<Long, String> names = HashMap.newHashMap(count);
+            for (int i = 0; i < count; i++) {
+                names.put(input.readLong(), input.readUTF());
+            }
+            return names;
+        });
+    }
+
+    private static int count(DataInputStream input) throws IOException {
+        int count = input.readInt();
+        if (count < 0 || count > MAX_BATCH) {
+            throw new IllegalArgumentException("User lookup batch size %d is outside 0..%d".formatted(count, MAX_BATCH));
+        }
+        return count;
+    }
+
+    private static byte[] write(Writer writer) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            writer.write(output);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static <T> T read(byte[] body, Reader<T> reader) {
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(body))) {
+            return reader.read(input);
+        } catch (IOException exception) {
+            throw new IllegalArgumentException("Malformed user lookup payload", exception);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Writer {
+
+        void write(DataOutputStream output) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface Reader<T> {
+
+        T read(DataInputStream input) throws IOException;
+    }
+}
@@ -0,0 +1,122 @@
+package dev.swirlit.devapp.common.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+/**
+ * Remembers the tokens a delegate decoder has verified, keyed by the SHA-256 of the token, until
+ * their {@code exp}, so a client sending the same bearer token on every request pays for parsing
+ * and signature verification once. Rejected tokens and tokens without an expiry are never
+ * cached. Once the cache holds its maximum number of tokens, expired ones are purged and new
+ * tokens are verified without being cached until there is room again.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+    private final JwtDecoder delegate;
+    private final int maximumSize;
+    private final Clock clock;
+    private final ConcurrentMap<String, Jwt> verified = new ConcurrentHashMap<>();
+    private final ReentrantLock purgeLock = new ReentrantLock();
+    private final Counter hits;
+    private final Counter misses;
+    private final Timer accepted;
+    private final Timer rejected;
+
+    public CachingJwtDecoder(JwtDecoder delegate, int maximumSize, Clock clock, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.maximumSize = maximumSize;
+        this.clock = clock;
+        this.hits = lookups(meterRegistry, "hit");
+        this.misses = lookups(meterRegistry, "miss");
+        this.accepted = verifications(meterRegistry, "valid");
+        this.rejected = verifications(meterRegistry, "invalid");
+        Gauge.builder("devapp.jwt.cache.size", verified, ConcurrentMap::size)
+                .description("Verified tokens held until they expire")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        String key = hash(token);
+        Instant now = clock.instant();
+        Jwt cached = verified.get(key);
+        if (cached != null) {
+            if (now.isBefore(cached.getExpiresAt())) {
+                hits.increment();
+                return cached;
+            }
+            verified.remove(key, cached);
+        }
+        misses.increment();
+        long start = System.nanoTime();
+        Jwt jwt;
+        try {
+            jwt = delegate.decode(token);
+        } catch (JwtException exception) {
+            rejected.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw exception;
+        }
+        accepted.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (jwt.getExpiresAt() != null && now.isBefore(jwt.getExpiresAt())) {
+            store(key, jwt, now);
+        }
+        return jwt;
+    }
+
+    int size() {
+        return verified.size();
+    }
+
+    private void store(String key, Jwt jwt, Instant now) {
+        if (verified.size() >= maximumSize && purgeLock.tryLock()) {
+            try {
+                verified.values().removeIf(entry -> !now.isBefore(entry.getExpiresAt()));
+            } finally {
+                purgeLock.unlock();
+            }
+        }
+        if (verified.size() < maximumSize) {
+            verified.put(key, jwt);
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 is not available", exception);
+        }
+    }
+
+    private static Counter lookups(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("devapp.jwt.cache")
+                .description("Lookups of bearer tokens in the verified-token cache")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static Timer verifications(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("devapp.jwt.verification")
+                .description("Time to parse and verify a bearer token that was not cached")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,82 @@
+package dev.swirlit.devapp.common.sql;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.ClassFilter;
+import org.springframework.aop.MethodMatcher;
+import org.springframework.aop.Pointcut;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.aop.framework.autoproxy.AbstractBeanFactoryAwareAdvisingPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcher;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Marks the repository method on the call stack so {@link SqlTelemetry} can tag statements with
+ * it. Applies to Spring Data repositories, named after their interface, and to
+ * {@code @Repository} classes, named after their class.
+ */
+public class RepositoryTelemetryPostProcessor extends AbstractBeanFactoryAwareAdvisingPostProcessor {
+
+    private static final String SPRING_PACKAGE = "org.springframework.";
+
+    public RepositoryTelemetryPostProcessor() {
+        ClassFilter repositories = type -> org.springframework.data.repository.Repository.class.isAssignableFrom(type)
+                || AnnotatedElementUtils.hasAnnotation(type, Repository.class);
+        MethodMatcher declaredMethods = new StaticMethodMatcher() {
+
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                return method.getDeclaringClass() != Object.class;
+            }
+        };
+        Pointcut pointcut = new Pointcut() {
+
+            @Override
+            public ClassFilter getClassFilter() {
+                return repositories;
+            }
+
+            @Override
+            public MethodMatcher getMethodMatcher() {
+                return declaredMethods;
+            }
+        };
+        this.advisor = new DefaultPointcutAdvisor(pointcut, new RepositoryMethodInterceptor());
+        setBeforeExistingAdvisors(true);
+    }
+
+    private static final class RepositoryMethodInterceptor implements MethodInterceptor {
+
+        private final Map<Class<?>, String> names = new ConcurrentHashMap<>();
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            Object proxy = invocation instanceof ProxyMethodInvocation proxied ? proxied.getProxy() : invocation.getThis();
+            SqlTelemetry.Operation previous = SqlTelemetry.enter(
+                    names.computeIfAbsent(proxy.getClass(), RepositoryMethodInterceptor::repositoryName),
+                    invocation.getMethod().getName());
+            try {
+                return invocation.proceed();
+            } finally {
+                SqlTelemetry.exit(previous);
+            }
+        }
+
+        private static String repositoryName(Class<?> type) {
+            for (Class<?> candidate : ClassUtils.getAllInterfacesForClassAsSet(type)) {
+                if (org.springframework.data.repository.Repository.class.isAssignableFrom(candidate)
+                        && !candidate.getName().startsWith(SPRING_PACKAGE)) {
+                    return candidate.getSimpleName();
+                }
+            }
+            return ClassUtils.getUserClass(type).getSimpleName();
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package dev.swirlit.devapp.common.sql;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Records every JDBC statement against the repository method that issued it and against the
+ * unit of work it ran in, an HTTP request or a Kafka record. When a unit closes, its statement
+ * count, SQL time and rows are published, and a unit that ran more statements than the budget
+ * is reported together with its most repeated statement, which is usually the N+1 culprit.
+ * Statements slower than the threshold are logged without their bind values.
+ *
+ * <p>The open unit is inherited by threads started inside it, so fan-out across shards is
+ * counted towards the request that caused it.
+ */
+public class SqlTelemetry {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlTelemetry.class);
+    private static final InheritableThreadLocal<Scope> CURRENT_SCOPE = new InheritableThreadLocal<>();
+    private static final ThreadLocal<Operation> CURRENT_OPERATION = new ThreadLocal<>();
+    private static final Operation NO_OPERATION = new Operation("none", "none");
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.$])-?\\d+(?:\\.\\d+)?(?![\\w.])");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final int MAX_TRACKED_STATEMENTS = 64;
+
+    private final MeterRegistry meterRegistry;
+    private final int statementBudget;
+    private final long slowThresholdNanos;
+    private final Map<Operation, OperationMeters> operationMeters = new ConcurrentHashMap<>();
+    private final Map<String, UnitMeters> unitMeters = new ConcurrentHashMap<>();
+
+    public SqlTelemetry(MeterRegistry meterRegistry, int statementBudget, Duration slowThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.statementBudget = statementBudget;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
+
+    /** Opens a unit of work on the current thread; closing it restores the enclosing one. */
+    public Scope open(String kind, String name) {
+        Scope scope = new Scope(kind, name, CURRENT_SCOPE.get());
+        CURRENT_SCOPE.set(scope);
+        return scope;
+    }
+
+    static Operation enter(String repository, String method) {
+        Operation previous = CURRENT_OPERATION.get();
+        CURRENT_OPERATION.set(new Operation(repository, method));
+        return previous;
+    }
+
+    static void exit(Operation previous) {
+        if (previous == null) {
+            CURRENT_OPERATION.remove();
+        } else {
+            CURRENT_OPERATION.set(previous);
+        }
+    }
+
+    void recordStatement(String sql, long nanos, long rows) {
+        Operation operation = CURRENT_OPERATION.get();
+        if (operation == null) {
+            operation = NO_OPERATION;
+        }
+        OperationMeters meters = operationMeters.computeIfAbsent(operation, this::operationMeters);
+        meters.statements.record(nanos, TimeUnit.NANOSECONDS);
+        if (nanos >= slowThresholdNanos) {
+            meters.slow.increment();
+            log.warn("Slow SQL ({} ms) in {}.{}: {}",
+                    TimeUnit.NANOSECONDS.toMillis(nanos), operation.repository(), operation.method(), normalize(sql));
+        }
+        Scope scope = CURRENT_SCOPE.get();
+        if (scope != null && !scope.closed) {
+            scope.statements.increment();
+            scope.nanos.add(nanos);
+            scope.rows.add(rows);
+            if (sql != null && (scope.repeats.size() < MAX_TRACKED_STATEMENTS || scope.repeats.containsKey(sql))) {
+                scope.repeats.computeIfAbsent(sql, key -> new LongAdder()).increment();
+            }
+        }
+    }
+
+    void recordRows(long rows) {
+        Scope scope = CURRENT_SCOPE.get();
+        if (scope != null && !scope.closed) {
+            scope.rows.add(rows);
+        }
+    }
+
+    private void report(Scope scope) {
+        UnitMeters meters = unitMeters.computeIfAbsent(scope.kind + ' ' + scope.name, key -> unitMeters(scope));
+        long statements = scope.statements();
+        meters.statements.record(statements);
+        meters.time.record(scope.nanos.sum(), TimeUnit.NANOSECONDS);
+        meters.rows.record(scope.rows());
+        if (statements > statementBudget) {
+            meters.overBudget.increment();
+            scope.repeats.entrySet().stream()
+                    .max(Comparator.comparingLong(entry -> entry.getValue().sum()))
+                    .ifPresent(repeated -> log.warn("{} {} ran {} statements (budget {}); most repeated {}x: {}",
+                            scope.kind, scope.name, statements, statementBudget, repeated.getValue().sum(), normalize(repeated.getKey())));
+        }
+    }
+
+    private OperationMeters operationMeters(Operation operation) {
+        return new OperationMeters(
+                Timer.builder("devapp.sql.statements")
+                        .description("JDBC statement execution time by repository method")
+                        .tags("repository", operation.repository(), "method", operation.method())
+                        .publishPercentileHistogram()
+                        .register(meterRegistry),
+                Counter.builder("devapp.sql.slow")
+                        .description("JDBC statements slower than the slow-query threshold")
+                        .tags("repository", operation.repository(), "method", operation.method())
+                        .register(meterRegistry));
+    }
+
+    private UnitMeters unitMeters(Scope scope) {
+        return new UnitMeters(
+                DistributionSummary.builder("devapp.sql.unit.statements")
+                        .description("JDBC statements per request or record")
+                        .tags("kind", scope.kind, "name", scope.name)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry),
+                Timer.builder("devapp.sql.unit.time")
+                        .description("Total JDBC execution time per request or record")
+                        .tags("kind", scope.kind, "name", scope.name)
+                        .register(meterRegistry),
+                DistributionSummary.builder("devapp.sql.unit.rows")
+                        .description("Rows read or written per request or record")
+                        .tags("kind", scope.kind, "name", scope.name)
+                        .register(meterRegistry),
+                Counter.builder("devapp.sql.budget.exceeded")
+                        .description("Requests or records that ran more statements than the budget")
+                        .tags("kind", scope.kind, "name", scope.name)
+                        .register(meterRegistry));
+    }
+
+    /** Collapses whitespace and replaces literals with {@code ?}, so no values reach the log. */
+    static String normalize(String sql) {
+        if (sql == null) {
+            return "<batch>";
+        }
+        String text = STRING_LITERAL.matcher(sql).replaceAll("?");
+        text = NUMBER_LITERAL.matcher(text).replaceAll("?");
+        return WHITESPACE.matcher(text).replaceAll(" ").trim();
+    }
+
+    record Operation(String repository, String method) {
+    }
+
+    private record OperationMeters(Timer statements, Counter slow) {
+    }
+
+    private record UnitMeters(DistributionSummary statements, Timer time, DistributionSummary rows, Counter overBudget) {
+    }
+
+    /** A unit of work whose statements are counted together. */
+    public final class Scope implements AutoCloseable {
+
+        private final String kind;
+        private final String name;
+        private final Scope enclosing;
+        private final LongAdder statements = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final Map<String, LongAdder> repeats = new ConcurrentHashMap<>();
+        private volatile boolean closed;
+
+        private Scope(String kind, String name, Scope enclosing) {
+            this.kind = kind;
+            this.name = name;
+            this.enclosing = enclosing;
+        }
+
+        public long statements() {
+            return statements.sum();
+        }
+
+        public long rows() {
+            return rows.sum();
+        }
+
+        public Duration sqlTime() {
+            return Duration.ofNanos(nanos.sum());
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (enclosing == null) {
+                CURRENT_SCOPE.remove();
+            } else {
+                CURRENT_SCOPE.set(enclosing);
+            }
+            report(this);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package dev.swirlit.devapp.common.sql;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Hands out connections whose statements report their SQL, execution time and affected or
+ * fetched rows to {@link SqlTelemetry}. Only statement execution is timed; rows of a query are
+ * counted as the caller reads them.
+ */
+public class SqlTelemetryDataSource extends DelegatingDataSource {
+
+    private static final Set<String> EXECUTE_METHODS = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private final SqlTelemetry sqlTelemetry;
+
+    public SqlTelemetryDataSource(DataSource targetDataSource, SqlTelemetry sqlTelemetry) {
+        super(targetDataSource);
+        this.sqlTelemetry = sqlTelemetry;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connection(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connection(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private Connection connection(Connection target) {
+        return proxy(Connection.class, target, (proxy, method, args) -> {
+            Object result = invoke(target, method, args);
+            return switch (method.getName()) {
+                case "createStatement" -> statement(Statement.class, (Statement) result, null);
+                case "prepareStatement" -> statement(PreparedStatement.class, (PreparedStatement) result, (String) args[0]);
+                case "prepareCall" -> statement(CallableStatement.class, (CallableStatement) result, (String) args[0]);
+                default -> result;
+            };
+        });
+    }
+
+    private <S extends Statement> S statement(Class<S> type, S target, String preparedSql) {
+        return proxy(type, target, (proxy, method, args) -> {
+            String name = method.getName();
+            if (!EXECUTE_METHODS.contains(name)) {
+                Object result = invoke(target, method, args);
+                return "getResultSet".equals(name) && result != null ? resultSet((ResultSet) result) : result;
+            }
+            String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+            long start = System.nanoTime();
+            Object result = invoke(target, method, args);
+            long elapsed = System.nanoTime() - start;
+            sqlTelemetry.recordStatement(sql, elapsed, affectedRows(result));
+            return result instanceof ResultSet resultSet ? resultSet(resultSet) : result;
+        });
+    }
+
+    private ResultSet resultSet(ResultSet target) {
+        return proxy(ResultSet.class, target, (proxy, method, args) -> {
+            Object result = invoke(target, method, args);
+            if ("next".equals(method.getName()) && Boolean.TRUE.equals(result)) {
+                sqlTelemetry.recordRows(1);
+            }
+            return result;
+        });
+    }
+
+    private static long affectedRows(Object result) {
+        return switch (result) {
+            case Integer count -> Math.max(count, 0);
+            case Long count -> Math.max(count, 0);
+            case int[] counts -> {
+                long sum = 0;
+                for (int count : counts) {
+                    sum += Math.max(count, 0);
+                }
+                yield sum;
+            }
+            case long[] counts -> {
+                long sum = 0;
+                for (long count : counts) {
+                    sum += Math.max(count, 0);
+                }
+                yield sum;
+            }
+            case null, default -> 0;
+        };
+    }
+
+    private static <T> T proxy(Class<T> type, T target, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(SqlTelemetryDataSource.class.getClassLoader(), new Class<?>[] {type},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> handler.invoke(proxy, method, args);
+                }));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException exception) {
+            throw exception.getCause();
+        }
+    }
+}
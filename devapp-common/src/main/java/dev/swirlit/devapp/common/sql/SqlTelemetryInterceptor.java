@@ -0,0 +1,38 @@
+package dev.swirlit.devapp.common.sql;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Counts the statements of each HTTP request under its method and route pattern.
+ */
+public class SqlTelemetryInterceptor implements HandlerInterceptor {
+
+    private static final String SCOPE = SqlTelemetryInterceptor.class.getName() + ".scope";
+
+    private final SqlTelemetry sqlTelemetry;
+
+    public SqlTelemetryInterceptor(SqlTelemetry sqlTelemetry) {
+        this.sqlTelemetry = sqlTelemetry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String route = pattern != null ? pattern.toString() : "unmapped";
+        request.setAttribute(SCOPE, sqlTelemetry.open("http", request.getMethod() + ' ' + route));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(
+            HttpServletRequest request, HttpServletResponse response, Object handler, Exception exception) {
+        if (request.getAttribute(SCOPE) instanceof SqlTelemetry.Scope scope) {
+            request.removeAttribute(SCOPE);
+            scope.close();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package dev.swirlit.devapp.common.sql;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.listener.RecordInterceptor;
+
+/**
+ * Counts the statements of each consumed Kafka record under its topic.
+ */
+public class SqlTelemetryRecordInterceptor implements RecordInterceptor<Object, Object> {
+
+    private final SqlTelemetry sqlTelemetry;
+    private final ThreadLocal<SqlTelemetry.Scope> scope = new ThreadLocal<>();
+
+    public SqlTelemetryRecordInterceptor(SqlTelemetry sqlTelemetry) {
+        this.sqlTelemetry = sqlTelemetry;
+    }
+
+    @Override
+    public ConsumerRecord<Object, Object> intercept(ConsumerRecord<Object, Object> record, Consumer<Object, Object> consumer) {
+        scope.set(sqlTelemetry.open("kafka", record.topic()));
+        return record;
+    }
+
+    @Override
+    public void afterRecord(ConsumerRecord<Object, Object> record, Consumer<Object, Object> consumer) {
+        SqlTelemetry.Scope current = scope.get();
+        if (current != null) {
+            scope.remove();
+            current.close();
+        }
+    }
+}
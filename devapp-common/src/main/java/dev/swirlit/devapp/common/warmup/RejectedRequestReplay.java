@@ -0,0 +1,47 @@
+package dev.swirlit.devapp.common.warmup;
+
+import dev.swirlit.devapp.common.exception.GlobalExceptionHandler;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Conventions;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ProblemDetail;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Validator;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+/**
+ * Replays the rejection of an invalid request body the way Spring MVC does it: the body is
+ * validated by the MVC validator into a binding result, wrapped in a {@link MethodArgumentNotValidException} for the
+ * controller parameter and handed to {@link GlobalExceptionHandler}, so warm-up exercises the
+ * same error path as a real {@code 400}.
+ */
+@Component
+@ConditionalOnProperty(name = "app.warmup.enabled", havingValue = "true")
+public class RejectedRequestReplay {
+
+    private final GlobalExceptionHandler exceptionHandler;
+    private final Validator validator;
+
+    public RejectedRequestReplay(GlobalExceptionHandler exceptionHandler, @Qualifier("mvcValidator") Validator validator) {
+        this.exceptionHandler = exceptionHandler;
+        this.validator = validator;
+    }
+
+    /** The request body parameter of a controller method taking only that body. */
+    public static MethodParameter requestBody(Class<?> controller, String method, Class<?> bodyType) {
+        try {
+            return new MethodParameter(controller.getMethod(method, bodyType), 0);
+        } catch (NoSuchMethodException exception) {
+            throw new IllegalArgumentException("No %s.%s(%s)".formatted(controller.getSimpleName(), method, bodyType.getSimpleName()), exception);
+        }
+    }
+
+    public ProblemDetail reject(MethodParameter parameter, Object body) {
+        BeanPropertyBindingResult errors = new BeanPropertyBindingResult(body, Conventions.getVariableNameForParameter(parameter));
+        validator.validate(body, errors);
+        return exceptionHandler.handleValidation(new MethodArgumentNotValidException(parameter, errors));
+    }
+}
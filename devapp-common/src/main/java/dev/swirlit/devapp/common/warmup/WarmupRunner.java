@@ -0,0 +1,145 @@
+package dev.swirlit.devapp.common.warmup;
+
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs the registered {@link WarmupTask}s before the application reports readiness. Spring Boot
+ * only publishes {@code ACCEPTING_TRAFFIC} once every runner has returned, so the readiness
+ * probe stays red while caches are primed and the synthetic requests drive JIT compilation.
+ * Rounds of exercises repeat until the JIT compiled for less than the settle threshold in
+ * {@code settle-rounds} consecutive rounds, the iteration cap is reached or the phase runs out
+ * of time. Task failures are counted, logged once per task and never block start-up.
+ */
+@Component
+@ConditionalOnProperty(name = "app.warmup.enabled", havingValue = "true")
+public class WarmupRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(WarmupRunner.class);
+
+    private final List<WarmupTask> tasks;
+    private final MeterRegistry meterRegistry;
+    private final Duration maxDuration;
+    private final int roundSize;
+    private final int maxRounds;
+    private final int settleRounds;
+    private final Duration settleThreshold;
+    private final CompilationMXBean compilation = ManagementFactory.getCompilationMXBean();
+    private final AtomicLong iterations = new AtomicLong();
+    private final AtomicLong primed = new AtomicLong();
+    private final Set<String> failedTasks = ConcurrentHashMap.newKeySet();
+
+    public WarmupRunner(
+            List<WarmupTask> tasks,
+            MeterRegistry meterRegistry,
+            @Value("${app.warmup.max-duration:PT30S}") Duration maxDuration,
+            @Value("${app.warmup.round-size:200}") int roundSize,
+            @Value("${app.warmup.max-rounds:100}") int maxRounds,
+            @Value("${app.warmup.settle-rounds:3}") int settleRounds,
+            @Value("${app.warmup.settle-threshold:PT0.01S}") Duration settleThreshold) {
+        this.tasks = tasks;
+        this.meterRegistry = meterRegistry;
+        this.maxDuration = maxDuration;
+        this.roundSize = roundSize;
+        this.maxRounds = maxRounds;
+        this.settleRounds = settleRounds;
+        this.settleThreshold = settleThreshold;
+        Gauge.builder("devapp.warmup.iterations", iterations, AtomicLong::get)
+                .description("Synthetic requests executed during the start-up warm-up")
+                .register(meterRegistry);
+        Gauge.builder("devapp.warmup.primed", primed, AtomicLong::get)
+                .description("Cache entries preloaded during the start-up warm-up")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        long deadline = start + maxDuration.toNanos();
+        long compileStart = compilationMillis();
+
+        for (WarmupTask task : tasks) {
+            if (System.nanoTime() - deadline >= 0) {
+                break;
+            }
+            try {
+                primed.addAndGet(task.prime());
+            } catch (RuntimeException exception) {
+                failed(task, exception);
+            }
+        }
+
+        String outcome = exercise(deadline);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        Timer.builder("devapp.warmup.duration")
+                .description("Time spent warming up before readiness")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(elapsed);
+        log.info("Warm-up {} after {} ms: {} cache entries primed, {} synthetic requests, {} ms of JIT compilation",
+                outcome, elapsed.toMillis(), primed.get(), iterations.get(), compilationMillis() - compileStart);
+    }
+
+    private String exercise(long deadline) {
+        if (tasks.isEmpty()) {
+            return "settled";
+        }
+        boolean measurable = compilation != null && compilation.isCompilationTimeMonitoringSupported();
+        int quiet = 0;
+        for (int round = 0; round < maxRounds; round++) {
+            long compiledBefore = compilationMillis();
+            for (int i = 0; i < roundSize; i++) {
+                if (System.nanoTime() - deadline >= 0) {
+                    return "deadline";
+                }
+                for (WarmupTask task : tasks) {
+                    try {
+                        task.exercise();
+                    } catch (RuntimeException exception) {
+                        failed(task, exception);
+                    }
+                }
+                iterations.incrementAndGet();
+            }
+            if (!measurable) {
+                continue;
+            }
+            quiet = compilationMillis() - compiledBefore < settleThreshold.toMillis() ? quiet + 1 : 0;
+            if (quiet >= settleRounds) {
+                return "settled";
+            }
+        }
+        return "exhausted";
+    }
+
+    private long compilationMillis() {
+        return compilation != null && compilation.isCompilationTimeMonitoringSupported()
+                ? compilation.getTotalCompilationTime()
+                : 0;
+    }
+
+    private void failed(WarmupTask task, RuntimeException exception) {
+        meterRegistry.counter("devapp.warmup.failures", "task", task.name()).increment();
+        if (failedTasks.add(task.name())) {
+            log.warn("Warm-up task {} failed, further failures are only counted in devapp.warmup.failures",
+                    task.name(), exception);
+        }
+    }
+}
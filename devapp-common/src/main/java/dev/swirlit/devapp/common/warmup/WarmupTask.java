@@ -0,0 +1,18 @@
+package dev.swirlit.devapp.common.warmup;
+
+/**
+ * A unit of start-up warm-up work contributed by an application. {@link #prime()} runs once to
+ * preload caches; {@link #exercise()} is a synthetic request that is repeated until JIT
+ * compilation settles, so it must be free of side effects.
+ */
+public interface WarmupTask {
+
+    String name();
+
+    /** Preloads caches and returns the number of entries primed. */
+    default int prime() {
+        return 0;
+    }
+
+    void exercise();
+}
@@ -0,0 +1,107 @@
+package dev.swirlit.devapp.common.budget;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+
+import com.sun.management.ThreadMXBean;
+import dev.swirlit.devapp.common.sql.SqlTelemetry;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Asserts that one request or listener invocation stays within a budget of bytes allocated on
+ * the calling thread and JDBC statements executed. The invocation is warmed up first so class
+ * loading and interpreter allocations do not count; the median allocation and the largest
+ * statement count of the measured runs are compared with the budget.
+ *
+ * <p>Statements are counted by a {@link SqlTelemetry} scope around the invocation plus the units
+ * the invocation opened itself, such as the HTTP unit of a MockMvc request, which report to
+ * {@code devapp.sql.unit.statements}. Allocation budgets were measured on one JDK build and
+ * shift between builds, so they are enforced with the {@code devapp.budget.allocation-tolerance}
+ * factor, 1.5 unless set as a system property; statement budgets are exact. Budget tests run with
+ * the rest of the suite, so a breach fails {@code mvn verify}.
+ */
+public final class PerformanceBudget {
+
+    private static final int WARMUP_RUNS = 50;
+    private static final int MEASURED_RUNS = 15;
+    private static final ThreadMXBean THREADS = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private static final double ALLOCATION_TOLERANCE =
+            Double.parseDouble(System.getProperty("devapp.budget.allocation-tolerance", "1.5"));
+
+    private final String name;
+    private final long maxAllocatedBytes;
+    private final long maxStatements;
+
+    private PerformanceBudget(String name, long maxAllocatedBytes, long maxStatements) {
+        this.name = name;
+        this.maxAllocatedBytes = maxAllocatedBytes;
+        this.maxStatements = maxStatements;
+    }
+
+    public static PerformanceBudget of(String name, long maxAllocatedBytes, long maxStatements) {
+        return new PerformanceBudget(name, maxAllocatedBytes, maxStatements);
+    }
+
+    public Measurement assertWithin(SqlTelemetry sqlTelemetry, MeterRegistry meterRegistry, Invocation invocation) {
+        return assertWithin(sqlTelemetry, meterRegistry, () -> null, ignored -> invocation.run());
+    }
+
+    /** Runs {@code arrange} outside the measurement before every run of {@code act}. */
+    public <T> Measurement assertWithin(SqlTelemetry sqlTelemetry, MeterRegistry meterRegistry, Callable<T> arrange, Action<T> act) {
+        try {
+            for (int run = 0; run < WARMUP_RUNS; run++) {
+                act.run(arrange.call());
+            }
+            long[] allocations = new long[MEASURED_RUNS];
+            long statements = 0;
+            for (int run = 0; run < MEASURED_RUNS; run++) {
+                T subject = arrange.call();
+                try (SqlTelemetry.Scope scope = sqlTelemetry.open("budget", name)) {
+                    double unitStatementsBefore = unitStatements(meterRegistry);
+                    long before = THREADS.getCurrentThreadAllocatedBytes();
+                    act.run(subject);
+                    allocations[run] = THREADS.getCurrentThreadAllocatedBytes() - before;
+                    long nested = Math.round(unitStatements(meterRegistry) - unitStatementsBefore);
+                    statements = Math.max(statements, scope.statements() + nested);
+                }
+            }
+            Arrays.sort(allocations);
+            Measurement measurement = new Measurement(allocations[MEASURED_RUNS / 2], statements);
+            long allowedBytes = Math.round(maxAllocatedBytes * ALLOCATION_TOLERANCE);
+            assertAll(name,
+                    () -> assertTrue(measurement.allocatedBytes() <= allowedBytes, () -> "%s allocated %d bytes, budget is %d (x%.2f)"
+                            .formatted(name, measurement.allocatedBytes(), maxAllocatedBytes, ALLOCATION_TOLERANCE)),
+                    () -> assertTrue(measurement.statements() <= maxStatements, () -> "%s ran %d SQL statements, budget is %d"
+                            .formatted(name, measurement.statements(), maxStatements)));
+            return measurement;
+        } catch (Exception exception) {
+            throw new IllegalStateException(name + " failed while being measured", exception);
+        }
+    }
+
+    private static double unitStatements(MeterRegistry meterRegistry) {
+        return meterRegistry.find("devapp.sql.unit.statements").summaries().stream()
+                .mapToDouble(DistributionSummary::totalAmount)
+                .sum();
+    }
+
+    public record Measurement(long allocatedBytes, long statements) {
+    }
+
+    @FunctionalInterface
+    public interface Invocation {
+
+        void run() throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface Action<T> {
+
+        void run(T subject) throws Exception;
+    }
+}
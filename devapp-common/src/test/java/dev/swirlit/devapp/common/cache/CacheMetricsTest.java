@@ -0,0 +1,172 @@
+package dev.swirlit.devapp.common.cache;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CacheMetricsTest {
+
+    private static final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private AnnotationConfigApplicationContext context;
+    private CacheMetrics cacheMetrics;
+    private Lookups lookups;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry.clear();
+        context = new AnnotationConfigApplicationContext(CachingConfig.class);
+        cacheMetrics = context.getBean(CacheMetrics.class);
+        lookups = context.getBean(Lookups.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.close();
+    }
+
+    @Test
+    void recordsHitsMissesPutsAndLoadTimeOfCacheableMethods() {
+        lookups.find(1L);
+        lookups.find(1L);
+        lookups.find(2L);
+
+        CacheSummary summary = cacheMetrics.summary().get("items");
+        assertEquals(2, lookups.loads());
+        assertEquals(1, summary.hits());
+        assertEquals(2, summary.misses());
+        assertEquals(2, summary.puts());
+        assertEquals(2, meterRegistry.get("devapp.cache.load").tag("cache", "items").timer().count());
+        assertTrue(summary.maxLoadMillis() >= 5, () -> "Load time was " + summary.maxLoadMillis());
+    }
+
+    @Test
+    void separatesKeyEvictionsFromAllEntriesEvictions() {
+        lookups.find(1L);
+        lookups.forget(1L);
+        lookups.forgetAll();
+
+        assertEquals(1.0, meterRegistry.get("devapp.cache.evictions").tags("cache", "items", "scope", "key").counter().count());
+        assertEquals(1.0, meterRegistry.get("devapp.cache.evictions").tags("cache", "items", "scope", "all").counter().count());
+    }
+
+    @Test
+    void countsOnlyEvictionsThatRemovedAnEntry() {
+        lookups.forgetNow(9L);
+        lookups.find(1L);
+        lookups.forgetNow(1L);
+
+        assertEquals(1.0, meterRegistry.get("devapp.cache.evictions").tags("cache", "items", "scope", "key").counter().count());
+    }
+
+    @Test
+    void dropsTheMissOfAFailedLoadAtTheNextLookup() {
+        lookups.find(1L);
+        assertThrows(NoSuchElementException.class, () -> lookups.findMissing(3L));
+        lookups.find(1L);
+        lookups.store(3L);
+
+        assertEquals(1, meterRegistry.get("devapp.cache.load").tag("cache", "items").timer().count());
+        assertEquals(2, cacheMetrics.summary().get("items").puts());
+    }
+
+    @Test
+    void timesTheLoaderOfSynchronizedLookups() {
+        lookups.findSynchronized(1L);
+        lookups.findSynchronized(1L);
+
+        CacheSummary summary = cacheMetrics.summary().get("items");
+        assertEquals(1, summary.hits());
+        assertEquals(1, summary.misses());
+        assertEquals(1, meterRegistry.get("devapp.cache.load").tag("cache", "items").timer().count());
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @EnableCaching
+    static class CachingConfig {
+
+        @Bean
+        CacheMetrics cacheMetrics() {
+            return new CacheMetrics(meterRegistry);
+        }
+
+        @Bean
+        CacheManager cacheManager(CacheMetrics cacheMetrics) {
+            return cacheMetrics.instrument(new ConcurrentMapCacheManager("items"));
+        }
+
+        @Bean
+        Lookups lookups() {
+            return new Lookups();
+        }
+    }
+
+    static class Lookups {
+
+        private final AtomicInteger loads = new AtomicInteger();
+
+        @Cacheable(cacheNames = "items", key = "#id")
+        public String find(Long id) {
+            return load(id);
+        }
+
+        @Cacheable(cacheNames = "items", key = "#id", sync = true)
+        public String findSynchronized(Long id) {
+            return load(id);
+        }
+
+        @Cacheable(cacheNames = "items", key = "#id")
+        public String findMissing(Long id) {
+            throw new NoSuchElementException("No item " + id);
+        }
+
+        @CachePut(cacheNames = "items", key = "#id")
+        public String store(Long id) {
+            return "item-" + id;
+        }
+
+        public int loads() {
+            return loads.get();
+        }
+
+        @CacheEvict(cacheNames = "items", key = "#id")
+        public void forget(Long id) {
+        }
+
+        @CacheEvict(cacheNames = "items", key = "#id", beforeInvocation = true)
+        public void forgetNow(Long id) {
+        }
+
+        @CacheEvict(cacheNames = "items", allEntries = true)
+        public void forgetAll() {
+        }
+
+        private String load(Long id) {
+            loads.incrementAndGet();
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+            return "item-" + id;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package dev.swirlit.devapp.common.cache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.health.contributor.Status;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.support.SimpleCacheManager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CircuitBreakingCacheManagerTest {
+
+    private static final Instant NOW = Instant.parse("2026-03-01T10:00:00Z");
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Clock clock = mock(Clock.class);
+    private final FlakyCache redis = new FlakyCache("orders");
+    private CacheCircuitBreaker breaker;
+    private Cache cache;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(clock.instant()).thenReturn(NOW);
+        breaker = new CacheCircuitBreaker("redis", 3, Duration.ofSeconds(1), Duration.ofSeconds(10), clock, meterRegistry);
+        cache = manager(2).getCache("orders");
+    }
+
+    @Test
+    void opensAfterConsecutiveFailuresAndServesFromTheLocalFallback() {
+        redis.down = true;
+        for (int attempt = 0; attempt < 3; attempt++) {
+            assertThrows(IllegalStateException.class, () -> cache.get(1L));
+        }
+
+        assertNull(cache.get(1L));
+        cache.put(1L, "local");
+
+        assertEquals("local", cache.get(1L).get());
+        assertEquals(CacheCircuitBreaker.State.OPEN, breaker.state());
+        assertEquals(3, redis.calls);
+        assertEquals(1.0, meterRegistry.get("devapp.cache.breaker.state").tags("breaker", "redis", "state", "open").gauge().value());
+        assertEquals(3.0, meterRegistry.get("devapp.cache.breaker.calls").tags("breaker", "redis", "outcome", "short_circuited")
+                .counter().count());
+        assertEquals(1.0, meterRegistry.get("devapp.cache.fallback.size").tag("cache", "orders").gauge().value());
+    }
+
+    @Test
+    void slowCallsCountAsFailures() throws Exception {
+        breaker = new CacheCircuitBreaker("redis", 1, Duration.ZERO, Duration.ofSeconds(10), clock, new SimpleMeterRegistry());
+        cache = manager(2).getCache("orders");
+        redis.put(1L, "cached");
+
+        assertEquals("cached", cache.get(1L).get());
+        assertEquals(CacheCircuitBreaker.State.OPEN, breaker.state());
+        assertNull(cache.get(1L));
+    }
+
+    @Test
+    void probeClosesTheBreakerAndEvictsKeysChangedDuringTheOutage() {
+        redis.put(1L, "approved");
+        redis.put(2L, "unchanged");
+        open();
+        cache.evict(1L);
+        redis.down = false;
+
+        when(clock.instant()).thenReturn(NOW.plusSeconds(9));
+        assertNull(cache.get(2L));
+        when(clock.instant()).thenReturn(NOW.plusSeconds(10));
+
+        assertNull(cache.get(1L));
+        assertEquals(CacheCircuitBreaker.State.CLOSED, breaker.state());
+        assertEquals(List.of(2L), List.copyOf(redis.getNativeCache().keySet()));
+        assertEquals("unchanged", cache.get(2L).get());
+        assertEquals(1.0, meterRegistry.get("devapp.cache.breaker.transitions").tags("breaker", "redis", "state", "closed")
+                .counter().count());
+    }
+
+    @Test
+    void failedProbeReopensTheBreaker() {
+        open();
+        when(clock.instant()).thenReturn(NOW.plusSeconds(10));
+
+        assertThrows(IllegalStateException.class, () -> cache.get(1L));
+        assertNull(cache.get(1L));
+
+        assertEquals(CacheCircuitBreaker.State.OPEN, breaker.state());
+        assertEquals(2.0, meterRegistry.get("devapp.cache.breaker.transitions").tags("breaker", "redis", "state", "open")
+                .counter().count());
+    }
+
+    @Test
+    void clearsTheRemoteCacheOnceTooManyKeysChangedDuringTheOutage() {
+        redis.put(7L, "cached");
+        open();
+        for (long key = 1; key <= 3; key++) {
+            cache.put(key, "local");
+        }
+        redis.down = false;
+        when(clock.instant()).thenReturn(NOW.plusSeconds(10));
+
+        assertNull(cache.get(7L));
+
+        assertEquals(0, redis.getNativeCache().size());
+        assertNull(cache.get(1L));
+    }
+
+    @Test
+    void stateGaugeFollowsTheBreakerThatReplacedAnEarlierOneOfTheSameName() {
+        CacheCircuitBreaker replacement = new CacheCircuitBreaker("redis", 1, Duration.ofSeconds(1), Duration.ofSeconds(10), clock, meterRegistry);
+
+        replacement.onFailure();
+
+        assertEquals(CacheCircuitBreaker.State.CLOSED, breaker.state());
+        assertEquals(1.0, meterRegistry.get("devapp.cache.breaker.state").tags("breaker", "redis", "state", "open").gauge().value());
+        assertEquals(0.0, meterRegistry.get("devapp.cache.breaker.state").tags("breaker", "redis", "state", "closed").gauge().value());
+    }
+
+    @Test
+    void reportsItsStateOnTheHealthEndpoint() {
+        open();
+
+        var health = breaker.health();
+
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals(CacheCircuitBreaker.State.OPEN, health.getDetails().get("state"));
+        assertEquals(NOW, health.getDetails().get("lastOpenedAt"));
+    }
+
+    private CircuitBreakingCacheManager manager(int fallbackSize) throws Exception {
+        SimpleCacheManager redisManager = new SimpleCacheManager();
+        redisManager.setCaches(List.of(redis));
+        CircuitBreakingCacheManager manager = new CircuitBreakingCacheManager(redisManager, breaker, fallbackSize, Duration.ofSeconds(30));
+        manager.afterPropertiesSet();
+        return manager;
+    }
+
+    private void open() {
+        redis.down = true;
+        for (int attempt = 0; attempt < 3; attempt++) {
+            assertThrows(IllegalStateException.class, () -> cache.get(1L));
+        }
+    }
+
+    private static final class FlakyCache extends ConcurrentMapCache {
+
+        private volatile boolean down;
+        private int calls;
+
+        private FlakyCache(String name) {
+            super(name);
+        }
+
+        @Override
+        protected Object lookup(Object key) {
+            calls++;
+            failIfDown();
+            return super.lookup(key);
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            failIfDown();
+            super.put(key, value);
+        }
+
+        @Override
+        public void evict(Object key) {
+            failIfDown();
+            super.evict(key);
+        }
+
+        @Override
+        public void clear() {
+            failIfDown();
+            super.clear();
+        }
+
+        private void failIfDown() {
+            if (down) {
+                throw new IllegalStateException("Redis command timed out");
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package dev.swirlit.devapp.common.concurrency;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    @Test
+    void rejectsOnceTheLimitIsInUse() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 2, 1, 10, nanos::get);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        limiter.bindTo(registry);
+
+        assertTrue(limiter.tryAcquire().isPresent());
+        assertTrue(limiter.tryAcquire().isPresent());
+        assertTrue(limiter.tryAcquire().isEmpty());
+
+        assertEquals(2, limiter.getInFlight());
+        assertEquals(1.0, registry.get("devapp.concurrency.rejected").functionCounter().count());
+    }
+
+    @Test
+    void limitGrowsWhileLatencyIsStableAndShrinksWhenItRises() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 10, 1, 100, nanos::get);
+
+        for (int round = 0; round < 20; round++) {
+            saturate(limiter, 10);
+        }
+        int grown = limiter.getLimit();
+        assertTrue(grown > 10, "limit should grow, was " + grown);
+
+        saturate(limiter, 100);
+        assertTrue(limiter.getLimit() < grown, "limit should shrink, was " + limiter.getLimit());
+    }
+
+    @Test
+    void droppedRequestsBackOffMultiplicatively() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 20, 1, 100, nanos::get);
+
+        limiter.tryAcquire().orElseThrow().release(true);
+
+        assertEquals(18, limiter.getLimit());
+    }
+
+    private void saturate(AdaptiveConcurrencyLimiter limiter, long latencyMillis) {
+        List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        limiter.tryAcquire().ifPresent(permits::add);
+        while (permits.size() < limiter.getLimit()) {
+            permits.add(limiter.tryAcquire().orElseThrow());
+        }
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(latencyMillis));
+        permits.forEach(permit -> permit.release(false));
+    }
+}
@@ -0,0 +1,81 @@
+package dev.swirlit.devapp.common.datasource;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReplicaRoutingDataSourceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void readOnlyTransactionsRoundRobinAcrossReplicasAndWritesStayOnPrimary() {
+        DataSource primary = database("primary");
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", database("replica-1"));
+        replicas.put("replica-2", database("replica-2"));
+        DataSource dataSource = routed(primary, replicas);
+
+        assertEquals("replica-1", read(dataSource, true));
+        assertEquals("replica-2", read(dataSource, true));
+        assertEquals("replica-1", read(dataSource, true));
+        assertEquals("primary", read(dataSource, false));
+        assertEquals(2.0, meterRegistry.get("devapp.datasource.routed").tag("pool", "replica-1").counter().count());
+    }
+
+    @Test
+    void unreachableReplicaIsQuarantinedAndPrimaryServesTheRead() {
+        DataSource primary = database("primary");
+        ReplicaRoutingDataSource replicas = new ReplicaRoutingDataSource(
+                primary,
+                Map.of("replica-1", new DriverManagerDataSource("jdbc:h2:mem:missing;IFEXISTS=TRUE", "sa", "")),
+                Duration.ofMinutes(1),
+                meterRegistry,
+                Clock.systemUTC());
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(replicas);
+
+        assertEquals("primary", read(dataSource, true));
+        assertEquals(List.of(), replicas.availableReplicas());
+        assertEquals(1.0, meterRegistry.get("devapp.datasource.replica.failures").counter().count());
+        assertEquals(1.0, meterRegistry.get("devapp.datasource.routed").tag("pool", "primary").counter().count());
+    }
+
+    private DataSource routed(DataSource primary, Map<String, DataSource> replicas) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(new ReplicaRoutingDataSource(
+                primary, replicas, Duration.ofSeconds(30), meterRegistry, Clock.systemUTC()));
+        return dataSource;
+    }
+
+    private static String read(DataSource dataSource, boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status ->
+                new JdbcTemplate(dataSource).queryForObject("SELECT name FROM node", String.class));
+    }
+
+    private static DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE node (name VARCHAR(20))");
+        jdbc.update("INSERT INTO node (name) VALUES (?)", name);
+        return dataSource;
+    }
+}
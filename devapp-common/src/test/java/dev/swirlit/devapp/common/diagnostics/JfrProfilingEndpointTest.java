@@ -0,0 +1,94 @@
+package dev.swirlit.devapp.common.diagnostics;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.Resource;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JfrProfilingEndpointTest {
+
+    private final JfrProfilingEndpoint endpoint = new JfrProfilingEndpoint(Duration.ofSeconds(1), Duration.ofSeconds(5), "profile", 10);
+    private final AtomicBoolean busy = new AtomicBoolean(true);
+    private Thread worker;
+
+    @BeforeEach
+    void startWorkload() {
+        worker = Thread.ofPlatform().daemon().start(() -> {
+            List<byte[]> retained = new ArrayList<>();
+            while (busy.get()) {
+                retained.add(new byte[1024]);
+                if (retained.size() > 10_000) {
+                    retained.clear();
+                }
+            }
+        });
+    }
+
+    @AfterEach
+    void stopWorkload() throws InterruptedException {
+        busy.set(false);
+        worker.join();
+    }
+
+    @Test
+    void summarisesSampledMethodsAndAllocations() {
+        WebEndpointResponse<ProfileSummary> response = endpoint.summary(null, null);
+
+        assertEquals(WebEndpointResponse.STATUS_OK, response.getStatus());
+        ProfileSummary summary = response.getBody();
+        assertTrue(summary.executionSamples() > 0);
+        assertFalse(summary.topMethods().isEmpty());
+        assertFalse(summary.allocations().isEmpty());
+    }
+
+    @Test
+    void streamsTheRecordingFile() throws IOException {
+        WebEndpointResponse<Resource> response = endpoint.recording("jfr", Duration.ofMillis(200), "default");
+
+        assertEquals(WebEndpointResponse.STATUS_OK, response.getStatus());
+        try (InputStream recording = response.getBody().getInputStream()) {
+            assertArrayEquals("FLR".getBytes(), recording.readNBytes(3));
+        }
+    }
+
+    @Test
+    void rejectsUnknownSettingsFormatsAndOverlongRecordings() {
+        assertEquals(WebEndpointResponse.STATUS_BAD_REQUEST, endpoint.summary(null, "nope").getStatus());
+        assertEquals(WebEndpointResponse.STATUS_BAD_REQUEST, endpoint.summary(Duration.ofMinutes(1), null).getStatus());
+        assertEquals(WebEndpointResponse.STATUS_NOT_FOUND, endpoint.recording("zip", null, null).getStatus());
+    }
+
+    @Test
+    void removesTheRecordingFileWhenTheRecordingIsInterrupted() throws IOException {
+        List<Path> before = recordings();
+
+        Thread.currentThread().interrupt();
+        WebEndpointResponse<Resource> response = endpoint.recording("jfr", Duration.ofSeconds(1), "default");
+
+        assertTrue(Thread.interrupted());
+        assertEquals(WebEndpointResponse.STATUS_SERVICE_UNAVAILABLE, response.getStatus());
+        assertEquals(before, recordings());
+    }
+
+    private static List<Path> recordings() throws IOException {
+        try (Stream<Path> files = Files.list(Path.of(System.getProperty("java.io.tmpdir")))) {
+            return files.filter(file -> file.getFileName().toString().matches("profile-.*\\.jfr")).sorted().toList();
+        }
+    }
+}
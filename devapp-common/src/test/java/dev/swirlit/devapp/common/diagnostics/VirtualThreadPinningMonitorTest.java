@@ -0,0 +1,73 @@
+package dev.swirlit.devapp.common.diagnostics;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import dev.swirlit.devapp.common.diagnostics.VirtualThreadPinningMonitor.PinnedSample;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VirtualThreadPinningMonitorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private VirtualThreadPinningMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        monitor = new VirtualThreadPinningMonitor(meterRegistry, Duration.ofMillis(20), 12, 3);
+    }
+
+    @Test
+    void tagsPinningTimeWithTheFirstApplicationFrame() {
+        monitor.record(sample(30, "java.lang.Object.wait:-1", "dev.swirlit.devapp.order.service.OrderService.createOrder:42"));
+        monitor.record(sample(10, "jdk.internal.misc.Unsafe.park:-1", "dev.swirlit.devapp.order.service.OrderService.createOrder:57"));
+
+        var timer = meterRegistry.get("devapp.virtual.threads.pinned")
+                .tag("frame", "dev.swirlit.devapp.order.service.OrderService.createOrder")
+                .timer();
+        assertEquals(2, timer.count());
+        assertEquals(40.0, timer.totalTime(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void keepsOnlyTheMostRecentSamplesNewestFirst() {
+        for (int i = 1; i <= 5; i++) {
+            monitor.record(sample(i, "com.example.Worker.run:" + i));
+        }
+
+        List<PinnedSample> recent = monitor.recent();
+        assertEquals(List.of(5L, 4L, 3L), recent.stream().map(sample -> sample.duration().toMillis()).toList());
+    }
+
+    @Test
+    void collapsesFrameTagsPastTheCardinalityCap() {
+        for (int i = 0; i < 64; i++) {
+            assertFalse(VirtualThreadPinningMonitor.OTHER_FRAME.equals(monitor.frameTag(List.of("com.example.Type" + i + ".run:1"))));
+        }
+
+        assertEquals(VirtualThreadPinningMonitor.OTHER_FRAME, monitor.frameTag(List.of("com.example.Overflow.run:1")));
+        assertEquals("com.example.Type0.run", monitor.frameTag(List.of("com.example.Type0.run:9")));
+    }
+
+    @Test
+    void startsAndStopsTheRecordingStream() {
+        monitor.start();
+        assertTrue(monitor.isRunning());
+
+        monitor.stop();
+        assertFalse(monitor.isRunning());
+    }
+
+    private static PinnedSample sample(long millis, String... frames) {
+        return new PinnedSample(Instant.EPOCH, Duration.ofMillis(millis), "virtual-1", List.of(frames));
+    }
+}
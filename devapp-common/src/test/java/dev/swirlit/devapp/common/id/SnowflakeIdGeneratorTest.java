@@ -0,0 +1,98 @@
+package dev.swirlit.devapp.common.id;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SnowflakeIdGeneratorTest {
+
+    private static final long NOW = Instant.parse("2026-10-01T00:00:00Z").toEpochMilli();
+
+    private final Clock clock = mock(Clock.class);
+
+    @Test
+    void packsTheTickNodeAndSequenceBelowTheConfiguredBits() {
+        when(clock.millis()).thenReturn(NOW);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(53, 6, 8, 5, clock);
+
+        long first = generator.nextId();
+        long second = generator.nextId();
+
+        long tick = (NOW - SnowflakeIdGenerator.EPOCH.toEpochMilli()) / 10;
+        assertEquals(tick << 14 | 5 << 8, first);
+        assertEquals(first + 1, second);
+        assertTrue(second < 1L << 53);
+    }
+
+    @Test
+    void borrowsTheNextTicksWhenASequenceRunsOutAndKeepsIdsIncreasing() {
+        when(clock.millis()).thenReturn(NOW);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(46, 4, 6, 3, clock);
+
+        long[] ids = LongStream.range(0, 1000).map(ignored -> generator.nextId()).toArray();
+        when(clock.millis()).thenReturn(NOW - 50);
+        long afterStepBack = generator.nextId();
+
+        for (int index = 1; index < ids.length; index++) {
+            assertTrue(ids[index] > ids[index - 1]);
+            assertEquals(3, ids[index] >>> 6 & 0xF);
+        }
+        assertTrue(afterStepBack > ids[ids.length - 1]);
+    }
+
+    @Test
+    void refusesToDrawIdsWhenTheClockStepsBackTooFar() {
+        when(clock.millis()).thenReturn(NOW);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(46, 4, 6, 0, clock);
+        for (int index = 0; index < 64; index++) {
+            generator.nextId();
+        }
+        when(clock.millis()).thenReturn(NOW - 5_000);
+
+        assertThrows(IllegalStateException.class, generator::nextId);
+    }
+
+    @Test
+    void placesThePrefixAboveTheIdAndRejectsNodesThatDoNotFit() {
+        when(clock.millis()).thenReturn(NOW);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(46, 4, 6, 15, clock);
+
+        assertEquals(7, generator.nextId(7) >>> 46);
+        assertThrows(IllegalArgumentException.class, () -> generator.nextId(1L << 17));
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(46, 4, 6, 16, clock));
+    }
+
+    @Test
+    void concurrentCallersNeverShareAnId() throws Exception {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(53, 6, 8, 1, Clock.systemUTC());
+        List<Future<long[]>> batches = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            for (int thread = 0; thread < 4; thread++) {
+                batches.add(executor.submit(() -> LongStream.range(0, 5_000).map(ignored -> generator.nextId()).toArray()));
+            }
+        }
+
+        Set<Long> ids = new HashSet<>();
+        for (Future<long[]> batch : batches) {
+            for (long id : batch.get()) {
+                ids.add(id);
+            }
+        }
+        assertEquals(20_000, ids.size());
+    }
+}
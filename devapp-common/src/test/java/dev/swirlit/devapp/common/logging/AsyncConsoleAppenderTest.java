@@ -0,0 +1,126 @@
+package dev.swirlit.devapp.common.logging;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.encoder.EncoderBase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AsyncConsoleAppenderTest {
+
+    private final LoggerContext loggerContext = new LoggerContext();
+    private final ByteArrayOutputStream console = new ByteArrayOutputStream();
+    private final LineEncoder encoder = new LineEncoder();
+    private final AsyncConsoleAppender appender = new AsyncConsoleAppender();
+    private PrintStream originalOut;
+
+    @BeforeEach
+    void setUp() {
+        originalOut = System.out;
+        System.setOut(new PrintStream(console, true, StandardCharsets.UTF_8));
+        loggerContext.setMDCAdapter(new LogbackMDCAdapter());
+        appender.setContext(loggerContext);
+        appender.setName("CONSOLE_JSON");
+        appender.setEncoder(encoder);
+    }
+
+    @AfterEach
+    void tearDown() {
+        encoder.release.countDown();
+        appender.stop();
+        System.setOut(originalOut);
+    }
+
+    @Test
+    void writesEventsInOrderInBatchesOffTheCallingThread() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        encoder.release.countDown();
+        appender.setBatchSize(16);
+        appender.start();
+        appender.bindTo(meterRegistry);
+
+        IntStream.range(0, 100).forEach(sequence -> appender.doAppend(event(Level.INFO, "event-" + sequence)));
+        appender.stop();
+
+        assertEquals(IntStream.range(0, 100).mapToObj(sequence -> "event-" + sequence).toList(), lines());
+        assertEquals(100.0, meterRegistry.get("devapp.logging.events").tags("appender", "CONSOLE_JSON", "outcome", "written")
+                .functionCounter().count());
+        double batches = meterRegistry.get("devapp.logging.batches").functionCounter().count();
+        assertTrue(batches >= 7 && batches < 100, "batches: " + batches);
+    }
+
+    @Test
+    void dropsInfoWhenFullButWaitsForRoomForWarnings() throws Exception {
+        appender.setCapacity(4);
+        appender.setMaxBlockMillis(5_000);
+        appender.start();
+        appender.doAppend(event(Level.INFO, "first"));
+        assertTrue(encoder.encoding.await(5, TimeUnit.SECONDS));
+        for (int sequence = 0; sequence < 4; sequence++) {
+            appender.doAppend(event(Level.INFO, "queued-" + sequence));
+        }
+
+        appender.doAppend(event(Level.INFO, "dropped"));
+        Thread warning = Thread.ofVirtual().start(() -> appender.doAppend(event(Level.WARN, "kept")));
+        assertEquals(4, appender.depth());
+        encoder.release.countDown();
+        warning.join(5_000);
+        appender.stop();
+
+        assertEquals(1, appender.dropped());
+        assertEquals(List.of("first", "queued-0", "queued-1", "queued-2", "queued-3", "kept"), lines());
+    }
+
+    private ILoggingEvent event(Level level, String message) {
+        return new LoggingEvent(AsyncConsoleAppenderTest.class.getName(), loggerContext.getLogger("test"), level, message, null, null);
+    }
+
+    private List<String> lines() {
+        return console.toString(StandardCharsets.UTF_8).lines().toList();
+    }
+
+    /** Writes the message per line and holds the writer thread at its first event until released. */
+    private static final class LineEncoder extends EncoderBase<ILoggingEvent> {
+
+        private final CountDownLatch encoding = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public byte[] headerBytes() {
+            return null;
+        }
+
+        @Override
+        public byte[] encode(ILoggingEvent event) {
+            encoding.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+            return (event.getFormattedMessage() + "\n").getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public byte[] footerBytes() {
+            return null;
+        }
+    }
+}
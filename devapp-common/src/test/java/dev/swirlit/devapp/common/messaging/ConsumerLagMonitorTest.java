@@ -0,0 +1,121 @@
+package dev.swirlit.devapp.common.messaging;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import dev.swirlit.devapp.common.messaging.ConsumerLagMonitor.GroupLag;
+import dev.swirlit.devapp.common.messaging.ConsumerLagMonitor.PartitionLag;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@EmbeddedKafka(partitions = 2, topics = ConsumerLagMonitorTest.TOPIC)
+class ConsumerLagMonitorTest {
+
+    static final String TOPIC = "lag_topic";
+    private static final String GROUP = "lag-group";
+    private static final Instant NOW = Instant.parse("2026-10-01T00:00:00Z");
+
+    private final Clock clock = mock(Clock.class);
+    private Map<String, Object> config;
+    private SimpleMeterRegistry meterRegistry;
+    private Admin admin;
+    private ConsumerLagMonitor monitor;
+
+    @BeforeEach
+    void setUp(EmbeddedKafkaBroker broker) {
+        config = Map.of("bootstrap.servers", broker.getBrokersAsString());
+        meterRegistry = new SimpleMeterRegistry();
+        admin = Admin.create(config);
+        monitor = new ConsumerLagMonitor(new KafkaAdmin(config), meterRegistry, clock, List.of(GROUP), Duration.ofSeconds(10), "earliest");
+        try (KafkaProducer<String, String> producer = new KafkaProducer<>(config, new StringSerializer(), new StringSerializer())) {
+            for (int i = 0; i < 10; i++) {
+                producer.send(new ProducerRecord<>(TOPIC, i % 2, null, "message-" + i));
+            }
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        monitor.close();
+        admin.close();
+    }
+
+    @Test
+    void reportsPartitionLagAndTimeToDrain() throws Exception {
+        when(clock.instant()).thenReturn(NOW, NOW.plusSeconds(10));
+        commit(1, 1);
+        monitor.refresh();
+
+        GroupLag first = monitor.groupLag(GROUP);
+        assertEquals(8, first.totalLag());
+        assertEquals(List.of(new PartitionLag(TOPIC, 0, 1, 5, 4), new PartitionLag(TOPIC, 1, 1, 5, 4)), first.partitions());
+        assertNull(first.timeToDrainSeconds());
+
+        commit(3, 3);
+        monitor.refresh();
+
+        GroupLag second = monitor.lag().getFirst();
+        assertEquals(4, second.totalLag());
+        assertEquals(0.4, second.consumeRate(), 1e-9);
+        assertEquals(10.0, second.timeToDrainSeconds(), 1e-9);
+        assertEquals(4.0, meterRegistry.get("devapp.kafka.consumer.lag.total").tag("group", GROUP).gauge().value());
+        assertEquals(2.0, meterRegistry.get("devapp.kafka.consumer.lag").tag("partition", "1").gauge().value());
+    }
+
+    @Test
+    void countsAssignedPartitionsWithoutACommitFromTheLogStart() {
+        when(clock.instant()).thenReturn(NOW);
+        String group = "new-lag-group";
+        Map<String, Object> consumerConfig = Map.of(
+                "bootstrap.servers", config.get("bootstrap.servers"),
+                "group.id", group,
+                "enable.auto.commit", false,
+                "auto.offset.reset", "earliest");
+        try (ConsumerLagMonitor newGroupMonitor = new ConsumerLagMonitor(
+                        new KafkaAdmin(config), meterRegistry, clock, List.of(group), Duration.ofSeconds(10), "earliest");
+                KafkaConsumer<String, String> consumer = new KafkaConsumer<>(consumerConfig, new StringDeserializer(), new StringDeserializer())) {
+            consumer.subscribe(List.of(TOPIC));
+            while (consumer.assignment().size() < 2) {
+                consumer.poll(Duration.ofMillis(100));
+            }
+            newGroupMonitor.refresh();
+
+            GroupLag report = newGroupMonitor.groupLag(group);
+            assertEquals(2, report.partitions().size());
+            for (PartitionLag partition : report.partitions()) {
+                assertEquals(0, partition.committedOffset());
+                assertTrue(partition.endOffset() >= 5);
+                assertEquals(partition.endOffset(), partition.lag());
+            }
+        }
+    }
+
+    private void commit(long partition0, long partition1) throws Exception {
+        admin.alterConsumerGroupOffsets(GROUP, Map.of(
+                new TopicPartition(TOPIC, 0), new OffsetAndMetadata(partition0),
+                new TopicPartition(TOPIC, 1), new OffsetAndMetadata(partition1))).all().get();
+    }
+}
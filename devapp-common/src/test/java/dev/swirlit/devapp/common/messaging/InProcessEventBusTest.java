@@ -0,0 +1,102 @@
+package dev.swirlit.devapp.common.messaging;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InProcessEventBusTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final InProcessEventBus eventBus = new InProcessEventBus(4, 8, Duration.ofMillis(20));
+
+    @AfterEach
+    void tearDown() {
+        eventBus.destroy();
+    }
+
+    @Test
+    void deliversEventsPublishedBeforeTheListenerInKeyOrder() throws Exception {
+        eventBus.bindTo(meterRegistry);
+        for (int sequence = 0; sequence < 6; sequence++) {
+            eventBus.publish("orders", "7", sequence).get();
+        }
+        List<Integer> received = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(6);
+
+        eventBus.subscribe("orders", Integer.class, RetryPolicy.NONE, (event, topic) -> {
+            received.add(event);
+            done.countDown();
+        }, null);
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(0, 1, 2, 3, 4, 5), received);
+        FunctionCounter delivered = meterRegistry.get("devapp.eventbus.events").tags("topic", "orders", "outcome", "delivered")
+                .functionCounter();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (delivered.count() < 6 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(6.0, delivered.count());
+        assertEquals(6, meterRegistry.get("devapp.eventbus.delivery").tag("topic", "orders").functionTimer().count());
+    }
+
+    @Test
+    void retriesUnderRetryTopicNamesAndThenDeadLetters() throws Exception {
+        List<String> topics = new CopyOnWriteArrayList<>();
+        CountDownLatch deadLettered = new CountDownLatch(1);
+        eventBus.subscribe("orders", String.class, new RetryPolicy(3, Duration.ofMillis(5), 2, Duration.ofMillis(20)),
+                (event, topic) -> {
+                    topics.add(topic);
+                    throw new IllegalStateException("boom");
+                },
+                (event, topic) -> {
+                    topics.add(topic);
+                    deadLettered.countDown();
+                });
+
+        eventBus.publish("orders", "1", "order-1").get();
+
+        assertTrue(deadLettered.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("orders", "orders-retry-0", "orders-retry-1", "orders-dlt"), topics);
+    }
+
+    @Test
+    void rejectsEventsOnceThePartitionIsFull() throws Exception {
+        for (int sequence = 0; sequence < 8; sequence++) {
+            eventBus.publish("orders", "7", sequence).get();
+        }
+
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> eventBus.publish("orders", "7", 8).get());
+
+        assertInstanceOf(RejectedExecutionException.class, failure.getCause());
+        assertEquals(8, eventBus.depth("orders"));
+        eventBus.bindTo(meterRegistry);
+        assertEquals(1.0, meterRegistry.get("devapp.eventbus.events").tags("topic", "orders", "outcome", "rejected")
+                .functionCounter().count());
+    }
+
+    @Test
+    void allowsOneListenerPerTopic() throws Exception {
+        AutoCloseable subscription = eventBus.subscribe("orders", Object.class, RetryPolicy.NONE, (event, topic) -> { }, null);
+
+        assertThrows(IllegalStateException.class,
+                () -> eventBus.subscribe("orders", Object.class, RetryPolicy.NONE, (event, topic) -> { }, null));
+        subscription.close();
+        eventBus.subscribe("orders", Object.class, RetryPolicy.NONE, (event, topic) -> { }, null);
+    }
+}
@@ -0,0 +1,96 @@
+package dev.swirlit.devapp.common.security;
+
+import java.time.Clock;
+import java.time.Instant;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CachingJwtDecoderTest {
+
+    private static final Instant NOW = Instant.parse("2026-03-01T10:00:00Z");
+
+    @Mock
+    private JwtDecoder delegate;
+    @Mock
+    private Clock clock;
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private CachingJwtDecoder decoder;
+
+    @BeforeEach
+    void setUp() {
+        when(clock.instant()).thenReturn(NOW);
+        decoder = new CachingJwtDecoder(delegate, 2, clock, meterRegistry);
+    }
+
+    @Test
+    void verifiesATokenOnceUntilItExpires() {
+        Jwt jwt = jwt("token-a", NOW.plusSeconds(60));
+        when(delegate.decode("token-a")).thenReturn(jwt);
+
+        assertSame(jwt, decoder.decode("token-a"));
+        assertSame(jwt, decoder.decode("token-a"));
+        when(clock.instant()).thenReturn(NOW.plusSeconds(60));
+        decoder.decode("token-a");
+
+        verify(delegate, times(2)).decode("token-a");
+        assertEquals(1.0, meterRegistry.get("devapp.jwt.cache").tag("result", "hit").counter().count());
+        assertEquals(2.0, meterRegistry.get("devapp.jwt.cache").tag("result", "miss").counter().count());
+        assertEquals(2, meterRegistry.get("devapp.jwt.verification").tag("outcome", "valid").timer().count());
+    }
+
+    @Test
+    void neverCachesRejectedTokens() {
+        when(delegate.decode("forged")).thenThrow(new BadJwtException("Signature mismatch"));
+
+        assertThrows(BadJwtException.class, () -> decoder.decode("forged"));
+        assertThrows(BadJwtException.class, () -> decoder.decode("forged"));
+
+        verify(delegate, times(2)).decode("forged");
+        assertEquals(2, meterRegistry.get("devapp.jwt.verification").tag("outcome", "invalid").timer().count());
+        assertEquals(0, decoder.size());
+    }
+
+    @Test
+    void makesRoomByPurgingExpiredTokensOnly() {
+        when(delegate.decode("token-a")).thenReturn(jwt("token-a", NOW.plusSeconds(10)));
+        when(delegate.decode("token-b")).thenReturn(jwt("token-b", NOW.plusSeconds(60)));
+        when(delegate.decode("token-c")).thenReturn(jwt("token-c", NOW.plusSeconds(60)));
+        decoder.decode("token-a");
+        decoder.decode("token-b");
+
+        decoder.decode("token-c");
+        decoder.decode("token-c");
+        when(clock.instant()).thenReturn(NOW.plusSeconds(10));
+        decoder.decode("token-c");
+        decoder.decode("token-c");
+
+        verify(delegate, times(3)).decode("token-c");
+        assertEquals(2.0, meterRegistry.get("devapp.jwt.cache.size").gauge().value());
+    }
+
+    private static Jwt jwt(String token, Instant expiresAt) {
+        return Jwt.withTokenValue(token)
+                .header("alg", "RS256")
+                .subject("ada")
+                .issuedAt(NOW.minusSeconds(60))
+                .expiresAt(expiresAt)
+                .build();
+    }
+}
@@ -0,0 +1,113 @@
+package dev.swirlit.devapp.common.sql;
+
+import java.time.Duration;
+import java.util.List;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.stereotype.Repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SqlTelemetryTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SqlTelemetry sqlTelemetry = new SqlTelemetry(meterRegistry, 3, Duration.ofHours(1));
+    private EmbeddedDatabase database;
+    private ItemRepository itemRepository;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new SqlTelemetryDataSource(database, sqlTelemetry));
+        jdbcTemplate.execute("CREATE TABLE items (id BIGINT PRIMARY KEY, name VARCHAR(20))");
+        jdbcTemplate.batchUpdate("INSERT INTO items (id, name) VALUES (?, ?)",
+                List.of(new Object[] {1L, "one"}, new Object[] {2L, "two"}, new Object[] {3L, "three"}));
+        itemRepository = (ItemRepository) new RepositoryTelemetryPostProcessor()
+                .postProcessAfterInitialization(new ItemRepository(jdbcTemplate), "itemRepository");
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void countsStatementsAndRowsOfAUnitAndTagsThemByRepositoryMethod() {
+        try (SqlTelemetry.Scope scope = sqlTelemetry.open("http", "GET /items")) {
+            assertEquals(List.of(1L, 2L, 3L), itemRepository.findIds());
+            itemRepository.rename(2L, "deux");
+
+            assertEquals(2, scope.statements());
+            assertEquals(4, scope.rows());
+        }
+
+        assertEquals(1, meterRegistry.get("devapp.sql.statements")
+                .tags("repository", "ItemRepository", "method", "findIds").timer().count());
+        assertEquals(1, meterRegistry.get("devapp.sql.statements")
+                .tags("repository", "ItemRepository", "method", "rename").timer().count());
+        assertEquals(2.0, meterRegistry.get("devapp.sql.unit.statements")
+                .tags("kind", "http", "name", "GET /items").summary().totalAmount());
+        assertEquals(0.0, meterRegistry.get("devapp.sql.budget.exceeded").counter().count());
+    }
+
+    @Test
+    void flagsUnitsOverTheStatementBudget() {
+        try (SqlTelemetry.Scope scope = sqlTelemetry.open("kafka", "orders")) {
+            for (long id : itemRepository.findIds()) {
+                itemRepository.findName(id);
+            }
+            assertEquals(4, scope.statements());
+        }
+
+        assertEquals(1.0, meterRegistry.get("devapp.sql.budget.exceeded")
+                .tags("kind", "kafka", "name", "orders").counter().count());
+    }
+
+    @Test
+    void countsStatementsOfThreadsStartedInsideTheUnit() throws InterruptedException {
+        try (SqlTelemetry.Scope scope = sqlTelemetry.open("http", "GET /items")) {
+            Thread.ofVirtual().start(itemRepository::findIds).join();
+
+            assertEquals(1, scope.statements());
+        }
+    }
+
+    @Test
+    void normalizedSqlCarriesNoLiterals() {
+        assertEquals("SELECT * FROM orders2 WHERE id = ? AND name = ? LIMIT ?",
+                SqlTelemetry.normalize("SELECT *\n  FROM orders2 WHERE id = 42 AND name = 'O''Brien' LIMIT 10"));
+    }
+
+    @Repository
+    static class ItemRepository {
+
+        private final JdbcTemplate jdbcTemplate;
+
+        ItemRepository(JdbcTemplate jdbcTemplate) {
+            this.jdbcTemplate = jdbcTemplate;
+        }
+
+        public List<Long> findIds() {
+            return jdbcTemplate.queryForList("SELECT id FROM items ORDER BY id", Long.class);
+        }
+
+        public String findName(long id) {
+            return jdbcTemplate.queryForObject("SELECT name FROM items WHERE id = ?", String.class, id);
+        }
+
+        public int rename(long id, String name) {
+            return jdbcTemplate.update("UPDATE items SET name = ? WHERE id = ?", name, id);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package dev.swirlit.devapp.common.warmup;
+
+import java.util.Map;
+
+import dev.swirlit.devapp.common.exception.GlobalExceptionHandler;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ProblemDetail;
+import org.springframework.validation.Errors;
+import org.springframework.validation.Validator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RejectedRequestReplayTest {
+
+    private final Validator validator = new Validator() {
+
+        @Override
+        public boolean supports(Class<?> type) {
+            return Greeting.class.equals(type);
+        }
+
+        @Override
+        public void validate(Object target, Errors errors) {
+            if (((Greeting) target).name().isBlank()) {
+                errors.rejectValue("name", "NotBlank", "must not be blank");
+            }
+        }
+    };
+    private final RejectedRequestReplay replay = new RejectedRequestReplay(new GlobalExceptionHandler(), validator);
+
+    @Test
+    void rendersTheRejectionThroughTheGlobalExceptionHandler() {
+        MethodParameter parameter = RejectedRequestReplay.requestBody(GreetingController.class, "greet", Greeting.class);
+
+        ProblemDetail problem = replay.reject(parameter, new Greeting(""));
+
+        assertEquals(400, problem.getStatus());
+        assertEquals("Validation failed", problem.getTitle());
+        assertEquals(Map.of("name", "must not be blank"), problem.getProperties().get("violations"));
+    }
+
+    @Test
+    void rejectsControllersWithoutTheRequestBodyMethod() {
+        assertThrows(IllegalArgumentException.class,
+                () -> RejectedRequestReplay.requestBody(GreetingController.class, "missing", Greeting.class));
+    }
+
+    record Greeting(String name) {
+    }
+
+    static class GreetingController {
+
+        public String greet(Greeting greeting) {
+            return "Hello " + greeting.name();
+        }
+    }
+}
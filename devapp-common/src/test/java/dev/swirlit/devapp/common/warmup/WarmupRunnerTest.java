@@ -0,0 +1,78 @@
+package dev.swirlit.devapp.common.warmup;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.DefaultApplicationArguments;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WarmupRunnerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void primesOnceAndExercisesUntilTheRoundCapIsReached() {
+        CountingTask task = new CountingTask();
+        WarmupRunner runner = new WarmupRunner(
+                List.of(task), meterRegistry, Duration.ofSeconds(30), 10, 3, 1_000, Duration.ofMillis(1));
+
+        runner.run(new DefaultApplicationArguments());
+
+        assertEquals(1, task.primes.get());
+        assertEquals(30, task.exercises.get());
+        assertEquals(30.0, meterRegistry.get("devapp.warmup.iterations").gauge().value());
+        assertEquals(5.0, meterRegistry.get("devapp.warmup.primed").gauge().value());
+        assertEquals(1, meterRegistry.get("devapp.warmup.duration").tag("outcome", "exhausted").timer().count());
+    }
+
+    @Test
+    void stopsAtTheDeadlineAndCountsFailuresWithoutFailingStartup() {
+        WarmupTask failing = new WarmupTask() {
+
+            @Override
+            public String name() {
+                return "failing";
+            }
+
+            @Override
+            public void exercise() {
+                throw new IllegalStateException("boom");
+            }
+        };
+        WarmupRunner runner = new WarmupRunner(
+                List.of(failing), meterRegistry, Duration.ofMillis(50), 1_000_000, 1_000, 1_000, Duration.ZERO);
+
+        runner.run(new DefaultApplicationArguments());
+
+        assertEquals(1, meterRegistry.get("devapp.warmup.duration").tag("outcome", "deadline").timer().count());
+        assertTrue(meterRegistry.get("devapp.warmup.failures").tag("task", "failing").counter().count() > 0);
+    }
+
+    private static final class CountingTask implements WarmupTask {
+
+        private final AtomicInteger primes = new AtomicInteger();
+        private final AtomicInteger exercises = new AtomicInteger();
+
+        @Override
+        public String name() {
+            return "counting";
+        }
+
+        @Override
+        public int prime() {
+            primes.incrementAndGet();
+            return 5;
+        }
+
+        @Override
+        public void exercise() {
+            exercises.incrementAndGet();
+        }
+    }
+}
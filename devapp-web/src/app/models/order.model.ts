@@ -1,4 +1,4 @@
-export type OrderStatus = 'PENDING' | 'APPROVED' | 'REJECTED' | 'COMPLETED';
+export type OrderStatus = 'PENDING' | 'APPROVED' | 'REJECTED' | 'COMPLETED' | 'EXPIRED';
 
 export interface Order {
   id?: number;
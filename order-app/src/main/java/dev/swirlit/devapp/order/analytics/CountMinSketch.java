@@ -0,0 +1,63 @@
+package dev.swirlit.devapp.order.analytics;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Count-Min sketch over long keys. Estimates never undercount; with width {@code w} and depth
+ * {@code d} they overcount by at most {@code 2N/w} with probability {@code 1 - 2^-d}.
+ */
+final class CountMinSketch {
+
+    private final int depth;
+    private final int width;
+    private final int[] counts;
+
+    CountMinSketch(int depth, int width) {
+        if (Integer.bitCount(width) != 1) {
+            throw new IllegalArgumentException("Count-Min width must be a power of two");
+        }
+        this.depth = depth;
+        this.width = width;
+        this.counts = new int[depth * width];
+    }
+
+    void add(long key) {
+        for (int row = 0; row < depth; row++) {
+            int index = row * width + slot(key, row);
+            if (counts[index] != Integer.MAX_VALUE) {
+                counts[index]++;
+            }
+        }
+    }
+
+    long estimate(long key) {
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counts[row * width + slot(key, row)]);
+        }
+        return estimate;
+    }
+
+    void clear() {
+        Arrays.fill(counts, 0);
+    }
+
+    void write(DataOutput output) throws IOException {
+        for (int count : counts) {
+            output.writeInt(count);
+        }
+    }
+
+    void read(DataInput input) throws IOException {
+        for (int index = 0; index < counts.length; index++) {
+            counts[index] = input.readInt();
+        }
+    }
+
+    private int slot(long key, int row) {
+        return (int) (Hashing.mix(key + 0x9E3779B97F4A7C15L * (row + 1)) & (width - 1));
+    }
+}
@@ -0,0 +1,15 @@
+package dev.swirlit.devapp.order.analytics;
+
+final class Hashing {
+
+    private Hashing() {
+    }
+
+    /** SplitMix64 finalizer: spreads sequential ids over all 64 bits. */
+    static long mix(long value) {
+        long z = value;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
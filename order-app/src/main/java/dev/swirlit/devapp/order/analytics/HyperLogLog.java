@@ -0,0 +1,66 @@
+package dev.swirlit.devapp.order.analytics;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * HyperLogLog distinct counter with {@code 2^precision} one-byte registers. At precision 10 it
+ * uses 1 KiB and has a standard error of about 3%. Linear counting takes over for small
+ * cardinalities, where the raw estimate is biased.
+ */
+final class HyperLogLog {
+
+    private final int precision;
+    private final byte[] registers;
+
+    HyperLogLog(int precision) {
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    void add(long value) {
+        long hash = Hashing.mix(value ^ 0x5DEECE66DL);
+        int index = (int) (hash >>> (64 - precision));
+        int rank = Math.min(Long.numberOfLeadingZeros(hash << precision) + 1, 64 - precision + 1);
+        if (rank > registers[index]) {
+            registers[index] = (byte) rank;
+        }
+    }
+
+    void mergeInto(byte[] target) {
+        for (int index = 0; index < registers.length; index++) {
+            target[index] = (byte) Math.max(target[index], registers[index]);
+        }
+    }
+
+    long estimate() {
+        return estimate(registers);
+    }
+
+    static long estimate(byte[] registers) {
+        int m = registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double alpha = 0.7213 / (1 + 1.079 / m);
+        double raw = alpha * m * m / sum;
+        if (raw <= 2.5 * m && zeros > 0) {
+            return Math.round(m * Math.log((double) m / zeros));
+        }
+        return Math.round(raw);
+    }
+
+    void write(DataOutput output) throws IOException {
+        output.write(registers);
+    }
+
+    void read(DataInput input) throws IOException {
+        input.readFully(registers);
+    }
+}
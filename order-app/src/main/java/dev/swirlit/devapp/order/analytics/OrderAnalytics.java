@@ -0,0 +1,150 @@
+package dev.swirlit.devapp.order.analytics;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import dev.swirlit.devapp.order.dto.ProductAnalytics;
+import dev.swirlit.devapp.order.dto.ProductStats;
+import dev.swirlit.devapp.order.repository.AnalyticsCheckpointRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Streaming per-product analytics over placed and approved orders. Counts and distinct buyers
+ * are kept in {@link SlidingProductSketch sliding sketches} instead of being aggregated from the
+ * orders table, so memory stays fixed whatever the volume. The sketches are checkpointed to the
+ * orders database on a schedule and at shutdown, and reloaded at startup, so they survive restarts
+ * and rolling updates; events recorded by a pod after the last checkpoint it wrote are lost. When
+ * analytics are disabled nothing is recorded and every query comes back empty.
+ */
+@Component
+public class OrderAnalytics implements InitializingBean, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderAnalytics.class);
+    private static final int CHECKPOINT_MAGIC = 0x4F414E31;
+    private static final String CHECKPOINT_NAME = "order-analytics";
+
+    private final Clock clock;
+    private final boolean enabled;
+    private final AnalyticsCheckpointRepository checkpoints;
+    private final SlidingProductSketch placed;
+    private final SlidingProductSketch approved;
+
+    public OrderAnalytics(
+            Clock clock,
+            MeterRegistry meterRegistry,
+            AnalyticsCheckpointRepository checkpoints,
+            @Value("${app.analytics.enabled:false}") boolean enabled,
+            @Value("${app.analytics.bucket:PT5M}") Duration bucket,
+            @Value("${app.analytics.buckets:12}") int buckets,
+            @Value("${app.analytics.top-k:64}") int topK) {
+        this.clock = clock;
+        this.enabled = enabled;
+        this.checkpoints = checkpoints;
+        this.placed = new SlidingProductSketch(bucket, buckets, topK);
+        this.approved = new SlidingProductSketch(bucket, buckets, topK);
+        Gauge.builder("devapp.orders.analytics.tracked.products", placed, SlidingProductSketch::trackedProducts)
+                .description("Heavy-hitter products tracked across all analytics buckets")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Duration span() {
+        return placed.span();
+    }
+
+    public void recordPlaced(long productId, long userId) {
+        if (enabled) {
+            placed.record(productId, userId, clock.instant());
+        }
+    }
+
+    public void recordApproved(long productId, long userId) {
+        if (enabled) {
+            approved.record(productId, userId, clock.instant());
+        }
+    }
+
+    public ProductAnalytics topProducts(Duration window, int limit) {
+        Instant now = clock.instant();
+        Duration clamped = window.isPositive() && window.compareTo(span()) < 0 ? window : span();
+        List<ProductStats> products = !enabled ? List.of() : placed.top(clamped, limit, now).stream()
+                .map(estimate -> new ProductStats(
+                        estimate.productId(),
+                        estimate.orders(),
+                        approved.estimate(estimate.productId(), clamped, now),
+                        estimate.distinctBuyers()))
+                .toList();
+        return new ProductAnalytics(clamped, now.minus(clamped), now, products);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            checkpoints.createSchema();
+            Optional<byte[]> checkpoint = checkpoints.load(CHECKPOINT_NAME);
+            if (checkpoint.isEmpty()) {
+                return;
+            }
+            DataInputStream input = new DataInputStream(new ByteArrayInputStream(checkpoint.get()));
+            if (input.readInt() != CHECKPOINT_MAGIC) {
+                throw new IOException("Not an analytics checkpoint");
+            }
+            placed.read(input);
+            approved.read(input);
+            log.info("Restored order analytics from the last checkpoint");
+        } catch (IOException | DataAccessException exception) {
+            log.warn("Ignoring unreadable analytics checkpoint: {}", exception.getMessage());
+            placed.clear();
+            approved.clear();
+        }
+    }
+
+    @Scheduled(
+            fixedDelayString = "${app.analytics.checkpoint-interval:PT1M}",
+            initialDelayString = "${app.analytics.checkpoint-interval:PT1M}")
+    public void checkpoint() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (DataOutputStream output = new DataOutputStream(bytes)) {
+                output.writeInt(CHECKPOINT_MAGIC);
+                placed.write(output);
+                approved.write(output);
+            }
+            checkpoints.save(CHECKPOINT_NAME, bytes.toByteArray(), clock.instant());
+        } catch (IOException | DataAccessException exception) {
+            log.warn("Could not checkpoint order analytics", exception);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        checkpoint();
+    }
+}
@@ -0,0 +1,243 @@
+package dev.swirlit.devapp.order.analytics;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Per-product order counts and distinct buyers over a sliding window made of a ring of
+ * fixed-length buckets. Each bucket holds a Count-Min sketch of all products, a Space-Saving
+ * summary of its heavy hitters and a HyperLogLog of buyers for every heavy hitter, so memory is
+ * bounded by the bucket count regardless of traffic. Queries sum counts and merge buyer
+ * registers over the buckets that fall inside the requested window. A product's buyers are only
+ * counted while it is a heavy hitter of the bucket: when Space-Saving evicts it, its HyperLogLog
+ * goes with it, and once readmitted it inherits an order count but starts with no buyers. Distinct
+ * buyers of products near the top-k cut-off are therefore undercounted.
+ */
+final class SlidingProductSketch {
+
+    static final int CMS_DEPTH = 4;
+    static final int CMS_WIDTH = 2048;
+    static final int HLL_PRECISION = 10;
+
+    private final Duration bucketLength;
+    private final int topK;
+    private final Bucket[] buckets;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    SlidingProductSketch(Duration bucketLength, int bucketCount, int topK) {
+        this.bucketLength = bucketLength;
+        this.topK = topK;
+        this.buckets = new Bucket[bucketCount];
+        for (int index = 0; index < bucketCount; index++) {
+            buckets[index] = new Bucket(topK);
+        }
+    }
+
+    Duration span() {
+        return bucketLength.multipliedBy(buckets.length);
+    }
+
+    void record(long productId, long userId, Instant at) {
+        long epoch = epochOf(at);
+        lock.lock();
+        try {
+            Bucket bucket = buckets[slot(epoch)];
+            if (bucket.epoch > epoch) {
+                return;
+            }
+            if (bucket.epoch != epoch) {
+                bucket.reset(epoch);
+            }
+            bucket.record(productId, userId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    List<ProductEstimate> top(Duration window, int limit, Instant now) {
+        long newest = epochOf(now);
+        long oldest = oldestEpoch(window, newest);
+        lock.lock();
+        try {
+            List<Bucket> live = new ArrayList<>();
+            Set<Long> candidates = new HashSet<>();
+            for (Bucket bucket : buckets) {
+                if (bucket.epoch >= oldest && bucket.epoch <= newest) {
+                    live.add(bucket);
+                    candidates.addAll(bucket.heavyHitters.keys());
+                }
+            }
+            List<ProductEstimate> estimates = new ArrayList<>(candidates.size());
+            for (long productId : candidates) {
+                long orders = 0;
+                byte[] registers = new byte[1 << HLL_PRECISION];
+                for (Bucket bucket : live) {
+                    orders += bucket.estimate(productId);
+                    HyperLogLog buyers = bucket.buyers.get(productId);
+                    if (buyers != null) {
+                        buyers.mergeInto(registers);
+                    }
+                }
+                estimates.add(new ProductEstimate(productId, orders, HyperLogLog.estimate(registers)));
+            }
+            estimates.sort(Comparator.comparingLong(ProductEstimate::orders).reversed()
+                    .thenComparingLong(ProductEstimate::productId));
+            return estimates.size() > limit ? List.copyOf(estimates.subList(0, limit)) : estimates;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long estimate(long productId, Duration window, Instant now) {
+        long newest = epochOf(now);
+        long oldest = oldestEpoch(window, newest);
+        lock.lock();
+        try {
+            long orders = 0;
+            for (Bucket bucket : buckets) {
+                if (bucket.epoch >= oldest && bucket.epoch <= newest) {
+                    orders += bucket.estimate(productId);
+                }
+            }
+            return orders;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int trackedProducts() {
+        lock.lock();
+        try {
+            int tracked = 0;
+            for (Bucket bucket : buckets) {
+                tracked += bucket.buyers.size();
+            }
+            return tracked;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void clear() {
+        lock.lock();
+        try {
+            for (Bucket bucket : buckets) {
+                bucket.reset(Long.MIN_VALUE);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void write(DataOutput output) throws IOException {
+        lock.lock();
+        try {
+            output.writeLong(bucketLength.toMillis());
+            output.writeInt(buckets.length);
+            output.writeInt(topK);
+            for (Bucket bucket : buckets) {
+                bucket.write(output);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void read(DataInput input) throws IOException {
+        if (input.readLong() != bucketLength.toMillis() || input.readInt() != buckets.length || input.readInt() != topK) {
+            throw new IOException("Checkpoint was written with a different window layout");
+        }
+        lock.lock();
+        try {
+            for (Bucket bucket : buckets) {
+                bucket.read(input);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long epochOf(Instant at) {
+        return Math.floorDiv(at.toEpochMilli(), bucketLength.toMillis());
+    }
+
+    private long oldestEpoch(Duration window, long newest) {
+        return newest - Math.clamp(Math.ceilDiv(window.toMillis(), bucketLength.toMillis()), 1, buckets.length) + 1;
+    }
+
+    private int slot(long epoch) {
+        return (int) Math.floorMod(epoch, (long) buckets.length);
+    }
+
+    record ProductEstimate(long productId, long orders, long distinctBuyers) {
+    }
+
+    private static final class Bucket {
+
+        private final CountMinSketch counts = new CountMinSketch(CMS_DEPTH, CMS_WIDTH);
+        private final SpaceSaving heavyHitters;
+        private final Map<Long, HyperLogLog> buyers;
+        private long epoch = Long.MIN_VALUE;
+
+        private Bucket(int topK) {
+            this.heavyHitters = new SpaceSaving(topK);
+            this.buyers = HashMap.newHashMap(topK);
+        }
+
+        private void reset(long epoch) {
+            this.epoch = epoch;
+            counts.clear();
+            heavyHitters.clear();
+            buyers.clear();
+        }
+
+        private void record(long productId, long userId) {
+            counts.add(productId);
+            Long evicted = heavyHitters.offer(productId);
+            if (evicted != null) {
+                buyers.remove(evicted);
+            }
+            buyers.computeIfAbsent(productId, key -> new HyperLogLog(HLL_PRECISION)).add(userId);
+        }
+
+        private long estimate(long productId) {
+            long sketched = counts.estimate(productId);
+            return heavyHitters.tracks(productId) ? Math.min(sketched, heavyHitters.count(productId)) : sketched;
+        }
+
+        private void write(DataOutput output) throws IOException {
+            output.writeLong(epoch);
+            counts.write(output);
+            heavyHitters.write(output);
+            output.writeInt(buyers.size());
+            for (Map.Entry<Long, HyperLogLog> entry : buyers.entrySet()) {
+                output.writeLong(entry.getKey());
+                entry.getValue().write(output);
+            }
+        }
+
+        private void read(DataInput input) throws IOException {
+            reset(input.readLong());
+            counts.read(input);
+            heavyHitters.read(input);
+            int size = input.readInt();
+            for (int i = 0; i < size; i++) {
+                HyperLogLog hll = new HyperLogLog(HLL_PRECISION);
+                long productId = input.readLong();
+                hll.read(input);
+                buyers.put(productId, hll);
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package dev.swirlit.devapp.order.analytics;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Space-Saving heavy-hitter summary holding at most {@code capacity} keys. Any key seen more than
+ * {@code N/capacity} times is guaranteed to be tracked; a newcomer replaces the smallest counter
+ * and inherits its count, so counts overestimate by at most the smallest count at eviction.
+ */
+final class SpaceSaving {
+
+    private final int capacity;
+    private final Map<Long, Counter> counters;
+
+    SpaceSaving(int capacity) {
+        this.capacity = capacity;
+        this.counters = HashMap.newHashMap(capacity);
+    }
+
+    /** Counts the key and returns the key it displaced, or {@code null}. */
+    Long offer(long key) {
+        Counter counter = counters.get(key);
+        if (counter != null) {
+            counter.count++;
+            return null;
+        }
+        if (counters.size() < capacity) {
+            counters.put(key, new Counter(1));
+            return null;
+        }
+        Map.Entry<Long, Counter> smallest = null;
+        for (Map.Entry<Long, Counter> entry : counters.entrySet()) {
+            if (smallest == null || entry.getValue().count < smallest.getValue().count) {
+                smallest = entry;
+            }
+        }
+        Long evicted = smallest.getKey();
+        long floor = smallest.getValue().count;
+        counters.remove(evicted);
+        counters.put(key, new Counter(floor + 1));
+        return evicted;
+    }
+
+    boolean tracks(long key) {
+        return counters.containsKey(key);
+    }
+
+    long count(long key) {
+        Counter counter = counters.get(key);
+        return counter == null ? 0 : counter.count;
+    }
+
+    Set<Long> keys() {
+        return counters.keySet();
+    }
+
+    void clear() {
+        counters.clear();
+    }
+
+    void write(DataOutput output) throws IOException {
+        output.writeInt(counters.size());
+        for (Map.Entry<Long, Counter> entry : counters.entrySet()) {
+            output.writeLong(entry.getKey());
+            output.writeLong(entry.getValue().count);
+        }
+    }
+
+    void read(DataInput input) throws IOException {
+        counters.clear();
+        int size = input.readInt();
+        if (size > capacity) {
+            throw new IOException("Checkpoint tracks %d products but capacity is %d".formatted(size, capacity));
+        }
+        for (int i = 0; i < size; i++) {
+            counters.put(input.readLong(), new Counter(input.readLong()));
+        }
+    }
+
+    private static final class Counter {
+
+        private long count;
+
+        private Counter(long count) {
+            this.count = count;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package dev.swirlit.devapp.order.client;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+import dev.swirlit.devapp.common.rpc.UserLookupCodec;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.server.resource.authentication.AbstractOAuth2TokenAuthenticationToken;
+import org.springframework.stereotype.Component;
+
+/**
+ * Client for user-app's internal binary lookup endpoint. A single {@link HttpClient} is shared
+ * so connections are pooled and, where the server negotiates HTTP/2, concurrent lookups are
+ * multiplexed over one connection. Every call is bounded by the configured deadline; a timeout
+ * or failure yields an empty result so callers can fall back to asynchronous validation.
+ */
+@Component
+public class UserDirectoryClient implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(UserDirectoryClient.class);
+
+    private final boolean enabled;
+    private final URI lookupUri;
+    private final Duration deadline;
+    private final HttpClient httpClient;
+    private final Timer found;
+    private final Timer timedOut;
+    private final Timer failed;
+
+    public UserDirectoryClient(
+            MeterRegistry meterRegistry,
+            @Value("${app.user-validation.sync-enabled:false}") boolean enabled,
+            @Value("${app.user-validation.base-url:http://localhost:8080}") URI baseUrl,
+            @Value("${app.user-validation.deadline:PT0.2S}") Duration deadline,
+            @Value("${app.user-validation.connect-timeout:PT1S}") Duration connectTimeout) {
+        this.enabled = enabled;
+        this.lookupUri = baseUrl.resolve(UserLookupCodec.PATH);
+        this.deadline = deadline;
+        this.httpClient = enabled
+                ? HttpClient.newBuilder().version(HttpClient.Version.HTTP_2).connectTimeout(connectTimeout).build()
+                : null;
+        this.found = timer(meterRegistry, "ok");
+        this.timedOut = timer(meterRegistry, "timeout");
+        this.failed = timer(meterRegistry, "error");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the names of the requested users that exist, or an empty optional when the
+     * lookup is disabled or could not complete within the deadline.
+     */
+    public Optional<Map<Long, String>> lookup(Collection<Long> userIds) {
+        if (!enabled || userIds.isEmpty()) {
+            return Optional.empty();
+        }
+        HttpRequest.Builder request = HttpRequest.newBuilder(lookupUri)
+                .timeout(deadline)
+                .header(HttpHeaders.CONTENT_TYPE, UserLookupCodec.MEDIA_TYPE)
+                .header(HttpHeaders.ACCEPT, UserLookupCodec.MEDIA_TYPE)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(UserLookupCodec.encodeRequest(userIds)));
+        bearerToken().ifPresent(token -> request.header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+
+        long start = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() != 200) {
+                log.warn("User lookup for {} ids answered with status {}", userIds.size(), response.statusCode());
+                failed.record(Duration.ofNanos(System.nanoTime() - start));
+                return Optional.empty();
+            }
+            found.record(Duration.ofNanos(System.nanoTime() - start));
+            return Optional.of(UserLookupCodec.decodeResponse(response.body()));
+        } catch (HttpTimeoutException exception) {
+            timedOut.record(Duration.ofNanos(System.nanoTime() - start));
+            log.debug("User lookup for {} ids exceeded the {} deadline", userIds.size(), deadline);
+        } catch (IOException | IllegalArgumentException exception) {
+            failed.record(Duration.ofNanos(System.nanoTime() - start));
+            log.warn("User lookup for {} ids failed", userIds.size(), exception);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public void destroy() {
+        if (httpClient != null) {
+            httpClient.close();
+        }
+    }
+
+    private static Optional<String> bearerToken() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication instanceof AbstractOAuth2TokenAuthenticationToken<?> token
+                ? Optional.of(token.getToken().getTokenValue())
+                : Optional.empty();
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("devapp.users.lookup")
+                .description("Synchronous user lookups against user-app")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -1,6 +1,11 @@
 package dev.swirlit.devapp.order.config;
 
-import dev.swirlit.devapp.order.domain.Order;
+import dev.swirlit.devapp.common.cache.CacheCircuitBreaker;
+import dev.swirlit.devapp.common.cache.CacheMetrics;
+import dev.swirlit.devapp.common.cache.CircuitBreakingCacheManager;
+import dev.swirlit.devapp.order.dto.OrderView;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
@@ -19,20 +24,31 @@ import java.time.Duration;
 @Configuration
 @EnableCaching
 @Profile({"uat", "prod"})
+@ConditionalOnProperty(name = "spring.cache.type", havingValue = "redis")
 public class CacheConfig {
 
+    static final String CACHE_NAME = "orders";
+
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory redisConnectionFactory, JsonMapper jsonMapper) {
-        return RedisCacheManager.builder(redisConnectionFactory)
-                .cacheDefaults(cacheConfiguration(jsonMapper))
+    public CacheManager cacheManager(
+            RedisConnectionFactory redisConnectionFactory,
+            JsonMapper jsonMapper,
+            CacheMetrics cacheMetrics,
+            CacheCircuitBreaker redisCircuitBreaker,
+            @Value("${app.cache.fallback.maximum-size:1000}") int fallbackSize,
+            @Value("${app.cache.fallback.time-to-live:PT30S}") Duration fallbackTimeToLive) {
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(redisConnectionFactory)
+                .cacheDefaults(cacheConfiguration(jsonMapper, cacheMetrics))
                 .build();
+        return cacheMetrics.instrument(
+                new CircuitBreakingCacheManager(redisCacheManager, redisCircuitBreaker, fallbackSize, fallbackTimeToLive));
     }
 
-    static RedisCacheConfiguration cacheConfiguration(JsonMapper jsonMapper) {
+    static RedisCacheConfiguration cacheConfiguration(JsonMapper jsonMapper, CacheMetrics cacheMetrics) {
         return RedisCacheConfiguration.defaultCacheConfig()
                 .entryTtl(Duration.ofMinutes(10))
                 .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
-                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(
-                        new JacksonJsonRedisSerializer<>(jsonMapper, Order.class)));
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(cacheMetrics.measuring(
+                        CACHE_NAME, new JacksonJsonRedisSerializer<>(jsonMapper, OrderView.class))));
     }
 }
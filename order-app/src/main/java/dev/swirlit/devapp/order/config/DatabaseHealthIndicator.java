@@ -1,6 +1,7 @@
 package dev.swirlit.devapp.order.config;
 
 import dev.swirlit.devapp.order.repository.OrderRepository;
+import dev.swirlit.devapp.order.shard.OrderShards;
 import org.springframework.boot.health.contributor.Health;
 import org.springframework.boot.health.contributor.HealthIndicator;
 import org.springframework.stereotype.Component;
@@ -9,17 +10,20 @@ import org.springframework.stereotype.Component;
 public class DatabaseHealthIndicator implements HealthIndicator {
 
     private final OrderRepository orderRepository;
+    private final OrderShards orderShards;
 
-    public DatabaseHealthIndicator(OrderRepository orderRepository) {
+    public DatabaseHealthIndicator(OrderRepository orderRepository, OrderShards orderShards) {
         this.orderRepository = orderRepository;
+        this.orderShards = orderShards;
     }
 
     @Override
     public Health health() {
         try {
-            long orderCount = orderRepository.count();
+            long orderCount = orderShards.onEveryShard(orderRepository::count).stream().mapToLong(Long::longValue).sum();
             return Health.up()
                     .withDetail("orderCount", orderCount)
+                    .withDetail("shards", orderShards.count())
                     .withDetail("status", "Database connection successful")
                     .build();
         } catch (Exception e) {
@@ -0,0 +1,31 @@
+package dev.swirlit.devapp.order.config;
+
+import java.time.Duration;
+
+import dev.swirlit.devapp.common.event.OrderEvent;
+import dev.swirlit.devapp.common.messaging.EventBusListener;
+import dev.swirlit.devapp.common.messaging.InProcessEventBus;
+import dev.swirlit.devapp.common.messaging.RetryPolicy;
+import dev.swirlit.devapp.common.util.Constants;
+import dev.swirlit.devapp.order.service.OrderResultListener;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "app.messaging.transport", havingValue = "in-process")
+public class InProcessMessagingConfig {
+
+    /** Ten immediate attempts, like the default error handler of the Kafka listener container. */
+    @Bean
+    EventBusListener<OrderEvent> orderResultBusListener(InProcessEventBus inProcessEventBus, OrderResultListener orderResultListener) {
+        return new EventBusListener<>(
+                inProcessEventBus,
+                Constants.ORDER_RESULT_TOPIC,
+                OrderEvent.class,
+                new RetryPolicy(10, Duration.ZERO, 1, Duration.ZERO),
+                (event, topic) -> orderResultListener.consume(event),
+                null);
+    }
+}
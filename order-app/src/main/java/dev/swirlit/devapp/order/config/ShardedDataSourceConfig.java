@@ -0,0 +1,79 @@
+package dev.swirlit.devapp.order.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import dev.swirlit.devapp.order.shard.OrderShards;
+import dev.swirlit.devapp.order.shard.ShardRoutingDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Spreads the orders table over one pool per shard. Shard 0 is the regular
+ * {@code spring.datasource}; {@code app.sharding.urls} lists the additional shards, which share
+ * its credentials. The lazy proxy defers connection retrieval until the first statement, so a
+ * transaction opened before the shard is chosen still lands on the right database. The extra
+ * shards only get the orders table; the archive creates its own. Sharding must be switched on
+ * while shard 0 only holds orders of users it keeps, otherwise start-up fails.
+ * Not combinable with read replicas.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "true")
+public class ShardedDataSourceConfig {
+
+    @Bean(defaultCandidate = false)
+    @ConfigurationProperties("spring.datasource.hikari")
+    HikariDataSource firstShardDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("shard-0");
+        return dataSource;
+    }
+
+    @Bean(defaultCandidate = false)
+    ShardRoutingDataSource shardDataSource(
+            @Qualifier("firstShardDataSource") HikariDataSource firstShardDataSource,
+            DataSourceProperties properties,
+            MeterRegistry meterRegistry,
+            OrderShards orderShards,
+            @Value("${app.sharding.urls}") List<String> urls,
+            @Value("${app.sharding.maximum-pool-size:10}") int maximumPoolSize,
+            @Value("${app.sharding.schema:classpath:db/schema.sql}") Resource schema) {
+        MicrometerMetricsTrackerFactory metrics = new MicrometerMetricsTrackerFactory(meterRegistry);
+        firstShardDataSource.setMetricsTrackerFactory(metrics);
+
+        List<DataSource> shards = new ArrayList<>(urls.size() + 1);
+        shards.add(firstShardDataSource);
+        for (int index = 0; index < urls.size(); index++) {
+            HikariDataSource shard = properties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .url(urls.get(index))
+                    .build();
+            shard.setPoolName("shard-" + (index + 1));
+            shard.setMaximumPoolSize(maximumPoolSize);
+            shard.setMetricsTrackerFactory(metrics);
+            shards.add(shard);
+        }
+        ShardRoutingDataSource dataSource = new ShardRoutingDataSource(shards);
+        dataSource.prepare(schema);
+        dataSource.checkFirstShard(orderShards);
+        return dataSource;
+    }
+
+    @Bean
+    DataSource dataSource(@Qualifier("shardDataSource") ShardRoutingDataSource shardDataSource) {
+        return new LazyConnectionDataSourceProxy(shardDataSource);
+    }
+}
@@ -0,0 +1,31 @@
+package dev.swirlit.devapp.order.controller;
+
+import java.time.Duration;
+
+import dev.swirlit.devapp.order.analytics.OrderAnalytics;
+import dev.swirlit.devapp.order.dto.ProductAnalytics;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/orders/analytics")
+public class OrderAnalyticsController {
+
+    private static final int MAX_LIMIT = 100;
+
+    private final OrderAnalytics orderAnalytics;
+
+    public OrderAnalyticsController(OrderAnalytics orderAnalytics) {
+        this.orderAnalytics = orderAnalytics;
+    }
+
+    @GetMapping
+    public ProductAnalytics topProducts(
+            @RequestParam(defaultValue = "PT1H") Duration window,
+            @RequestParam(defaultValue = "10") int limit) {
+        return orderAnalytics.topProducts(window, Math.clamp(limit, 1, MAX_LIMIT));
+    }
+}
@@ -3,10 +3,11 @@ package dev.swirlit.devapp.order.controller;
 import java.net.URI;
 import java.util.List;
 
-import dev.swirlit.devapp.order.domain.Order;
 import dev.swirlit.devapp.order.dto.CreateOrderRequest;
+import dev.swirlit.devapp.order.dto.OrderView;
 import dev.swirlit.devapp.order.service.OrderService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -14,6 +15,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -27,18 +29,23 @@ public class OrderController {
     }
 
     @GetMapping
-    public List<Order> getAllOrders() {
+    public List<OrderView> getAllOrders() {
         return orderService.getAllOrders();
     }
 
+    @GetMapping(params = "userId")
+    public List<OrderView> getOrdersByUser(@RequestParam @Positive Long userId) {
+        return orderService.getOrdersByUser(userId);
+    }
+
     @GetMapping("/{id}")
-    public Order getOrder(@PathVariable Long id) {
+    public OrderView getOrder(@PathVariable @Positive Long id) {
         return orderService.getOrderById(id);
     }
 
     @PostMapping
-    public ResponseEntity<Order> createOrder(@Valid @RequestBody CreateOrderRequest request) {
-        Order created = orderService.createOrder(request);
-        return ResponseEntity.created(URI.create("/api/orders/" + created.getId())).body(created);
+    public ResponseEntity<OrderView> createOrder(@Valid @RequestBody CreateOrderRequest request) {
+        OrderView created = OrderView.from(orderService.createOrder(request));
+        return ResponseEntity.created(URI.create("/api/orders/" + created.id())).body(created);
     }
 }
@@ -2,12 +2,11 @@ package dev.swirlit.devapp.order.domain;
 
 import dev.swirlit.devapp.common.domain.BaseEntity;
 import dev.swirlit.devapp.common.domain.OrderStatus;
+import dev.swirlit.devapp.order.shard.OrderId;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 
@@ -16,7 +15,7 @@ import jakarta.persistence.Table;
 public class Order extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @OrderId
     private Long id;
 
     @Column(nullable = false)
@@ -0,0 +1,16 @@
+package dev.swirlit.devapp.order.dto;
+
+import dev.swirlit.devapp.common.domain.OrderStatus;
+import dev.swirlit.devapp.order.domain.Order;
+
+public record OrderView(
+        Long id,
+        Long userId,
+        String userName,
+        Long productId,
+        OrderStatus status) {
+
+    public static OrderView from(Order order) {
+        return new OrderView(order.getId(), order.getUserId(), order.getUserName(), order.getProductId(), order.getStatus());
+    }
+}
@@ -0,0 +1,12 @@
+package dev.swirlit.devapp.order.dto;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+public record ProductAnalytics(
+        Duration window,
+        Instant from,
+        Instant to,
+        List<ProductStats> products) {
+}
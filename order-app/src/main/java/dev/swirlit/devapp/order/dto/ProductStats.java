@@ -0,0 +1,8 @@
+package dev.swirlit.devapp.order.dto;
+
+public record ProductStats(
+        long productId,
+        long orders,
+        long approved,
+        long distinctBuyers) {
+}
@@ -0,0 +1,270 @@
+package dev.swirlit.devapp.order.readmodel;
+
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+import dev.swirlit.devapp.common.domain.OrderStatus;
+import dev.swirlit.devapp.order.dto.OrderView;
+
+/**
+ * Open-addressing table of orders keyed by their primitive id, stored column-wise in primitive
+ * arrays, with a per-user chain of slots for by-user lookups. Writers are serialized by a lock;
+ * readers never block. Each slot carries a sequence number that is odd while the slot is being
+ * written, and readers retry until they observe the same even sequence before and after reading
+ * the slot. Keys are published only after their slot is written, and a grown table is published
+ * as a whole, so readers always see complete records. Removal rebuilds the table without the
+ * removed orders and publishes it the same way, which suits the rare, batched removals of
+ * archival. Order and user ids must be positive; zero marks a free slot.
+ */
+final class LongOrderTable {
+
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+    private static final int NO_SLOT = -1;
+    private static final double LOAD_FACTOR = 0.6;
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile Slots slots;
+    private volatile int size;
+
+    LongOrderTable(int expectedSize) {
+        this.slots = new Slots(capacityFor(expectedSize));
+    }
+
+    int size() {
+        return size;
+    }
+
+    OrderView get(long id) {
+        Slots current = slots;
+        int slot = current.find(id);
+        return slot == NO_SLOT ? null : current.read(slot);
+    }
+
+    List<OrderView> findByUser(long userId) {
+        Slots current = slots;
+        List<OrderView> orders = new ArrayList<>();
+        for (int slot = current.userHead(userId); slot != NO_SLOT; slot = current.nextByUser[slot]) {
+            orders.add(current.read(slot));
+        }
+        orders.sort(Comparator.comparing(OrderView::id).reversed());
+        return orders;
+    }
+
+    void put(long id, long userId, long productId, OrderStatus status, String userName) {
+        writeLock.lock();
+        try {
+            Slots current = slots;
+            int slot = current.find(id);
+            if (slot == NO_SLOT) {
+                insert(id, userId, productId, status, userName);
+            } else {
+                current.write(slot, current.userIds[slot], productId, status, userName);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    boolean putIfAbsent(long id, long userId, long productId, OrderStatus status, String userName) {
+        writeLock.lock();
+        try {
+            if (slots.find(id) != NO_SLOT) {
+                return false;
+            }
+            insert(id, userId, productId, status, userName);
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    boolean update(long id, OrderStatus status, String userName) {
+        writeLock.lock();
+        try {
+            Slots current = slots;
+            int slot = current.find(id);
+            if (slot == NO_SLOT) {
+                return false;
+            }
+            current.write(slot, current.userIds[slot], current.productIds[slot], status, userName);
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /** Removes the given orders and returns how many of them were held. */
+    int removeAll(Collection<Long> removed) {
+        writeLock.lock();
+        try {
+            Slots current = slots;
+            Set<Long> held = new HashSet<>();
+            for (Long id : removed) {
+                if (current.find(id) != NO_SLOT) {
+                    held.add(id);
+                }
+            }
+            if (held.isEmpty()) {
+                return 0;
+            }
+            Slots rebuilt = new Slots(capacityFor(size - held.size()));
+            for (int slot = 0; slot <= current.mask; slot++) {
+                long id = current.ids.get(slot);
+                if (id != 0 && !held.contains(id)) {
+                    rebuilt.insert(id, current.userIds[slot], current.productIds[slot], current.statuses[slot], current.userNames[slot]);
+                }
+            }
+            slots = rebuilt;
+            size = size - held.size();
+            return held.size();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void insert(long id, long userId, long productId, OrderStatus status, String userName) {
+        if (size + 1 > slots.capacity() * LOAD_FACTOR) {
+            slots = slots.grow();
+        }
+        slots.insert(id, userId, productId, (byte) status.ordinal(), userName);
+        size = size + 1;
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int capacity = 16;
+        while (capacity * LOAD_FACTOR < expectedSize) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static int mix(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    private static final class Slots {
+
+        private final int mask;
+        private final AtomicLongArray ids;
+        private final AtomicIntegerArray sequences;
+        private final long[] userIds;
+        private final long[] productIds;
+        private final byte[] statuses;
+        private final String[] userNames;
+        private final int[] nextByUser;
+        private final AtomicLongArray userKeys;
+        private final AtomicIntegerArray userHeads;
+
+        private Slots(int capacity) {
+            this.mask = capacity - 1;
+            this.ids = new AtomicLongArray(capacity);
+            this.sequences = new AtomicIntegerArray(capacity);
+            this.userIds = new long[capacity];
+            this.productIds = new long[capacity];
+            this.statuses = new byte[capacity];
+            this.userNames = new String[capacity];
+            this.nextByUser = new int[capacity];
+            this.userKeys = new AtomicLongArray(capacity);
+            this.userHeads = new AtomicIntegerArray(capacity);
+        }
+
+        private int capacity() {
+            return mask + 1;
+        }
+
+        private int find(long id) {
+            for (int slot = mix(id) & mask; ; slot = (slot + 1) & mask) {
+                long key = ids.get(slot);
+                if (key == id) {
+                    return slot;
+                }
+                if (key == 0) {
+                    return NO_SLOT;
+                }
+            }
+        }
+
+        private int userHead(long userId) {
+            for (int slot = mix(userId) & mask; ; slot = (slot + 1) & mask) {
+                long key = userKeys.get(slot);
+                if (key == userId) {
+                    return userHeads.get(slot);
+                }
+                if (key == 0) {
+                    return NO_SLOT;
+                }
+            }
+        }
+
+        private OrderView read(int slot) {
+            while (true) {
+                int before = sequences.get(slot);
+                if ((before & 1) == 0) {
+                    long userId = userIds[slot];
+                    long productId = productIds[slot];
+                    byte status = statuses[slot];
+                    String userName = userNames[slot];
+                    VarHandle.acquireFence();
+                    if (sequences.get(slot) == before) {
+                        return new OrderView(ids.get(slot), userId, userName, productId, STATUSES[status]);
+                    }
+                }
+                Thread.onSpinWait();
+            }
+        }
+
+        private void write(int slot, long userId, long productId, OrderStatus status, String userName) {
+            int sequence = sequences.get(slot);
+            sequences.set(slot, sequence + 1);
+            VarHandle.storeStoreFence();
+            userIds[slot] = userId;
+            productIds[slot] = productId;
+            statuses[slot] = (byte) status.ordinal();
+            userNames[slot] = userName;
+            sequences.set(slot, sequence + 2);
+        }
+
+        private void insert(long id, long userId, long productId, byte status, String userName) {
+            int slot = mix(id) & mask;
+            while (ids.get(slot) != 0) {
+                slot = (slot + 1) & mask;
+            }
+            userIds[slot] = userId;
+            productIds[slot] = productId;
+            statuses[slot] = status;
+            userNames[slot] = userName;
+
+            int userSlot = mix(userId) & mask;
+            while (userKeys.get(userSlot) != 0 && userKeys.get(userSlot) != userId) {
+                userSlot = (userSlot + 1) & mask;
+            }
+            boolean knownUser = userKeys.get(userSlot) == userId;
+            nextByUser[slot] = knownUser ? userHeads.get(userSlot) : NO_SLOT;
+            ids.set(slot, id);
+            userHeads.set(userSlot, slot);
+            if (!knownUser) {
+                userKeys.set(userSlot, userId);
+            }
+        }
+
+        private Slots grow() {
+            Slots grown = new Slots(capacity() << 1);
+            for (int slot = 0; slot <= mask; slot++) {
+                long id = ids.get(slot);
+                if (id != 0) {
+                    grown.insert(id, userIds[slot], productIds[slot], statuses[slot], userNames[slot]);
+                }
+            }
+            return grown;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package dev.swirlit.devapp.order.readmodel;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import dev.swirlit.devapp.common.domain.OrderStatus;
+import dev.swirlit.devapp.order.dto.OrderView;
+import dev.swirlit.devapp.order.shard.OrderShards;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Optional in-process copy of the hot orders table. It is loaded before the application starts
+ * serving requests or consuming results, and afterwards only changes through {@link #upsert},
+ * {@link #updateStatus} and {@link #removeAll}, which apply once the surrounding transaction has
+ * committed. Changes made by other pods never reach it, so the model is only coherent while a
+ * single replica writes orders. When the model is disabled every lookup misses, and so does a
+ * lookup by an id or user id that is not positive, since zero marks a free slot of the table.
+ */
+@Component
+public class OrderReadModel implements InitializingBean {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderReadModel.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final OrderShards orderShards;
+    private final boolean enabled;
+    private final LongOrderTable table;
+    private final Counter hits;
+    private final Counter misses;
+
+    public OrderReadModel(
+            JdbcTemplate jdbcTemplate,
+            OrderShards orderShards,
+            MeterRegistry meterRegistry,
+            @Value("${app.read-model.enabled:false}") boolean enabled,
+            @Value("${app.read-model.initial-capacity:1024}") int initialCapacity) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.orderShards = orderShards;
+        this.enabled = enabled;
+        this.table = new LongOrderTable(enabled ? initialCapacity : 0);
+        this.hits = meterRegistry.counter("devapp.orders.read.model.lookups", "result", "hit");
+        this.misses = meterRegistry.counter("devapp.orders.read.model.lookups", "result", "miss");
+        Gauge.builder("devapp.orders.read.model.size", table, LongOrderTable::size)
+                .description("Orders held by the in-process read model")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!enabled) {
+            return;
+        }
+        orderShards.forEachShard(shard -> jdbcTemplate.query(
+                "SELECT id, user_id, user_name, product_id, status FROM orders", resultSet -> {
+                    table.putIfAbsent(
+                            resultSet.getLong("id"),
+                            resultSet.getLong("user_id"),
+                            resultSet.getLong("product_id"),
+                            OrderStatus.valueOf(resultSet.getString("status")),
+                            resultSet.getString("user_name"));
+                }));
+        log.info("Loaded {} orders into the read model", table.size());
+    }
+
+    public Optional<OrderView> find(long id) {
+        if (!enabled || id <= 0) {
+            return Optional.empty();
+        }
+        OrderView order = table.get(id);
+        (order == null ? misses : hits).increment();
+        return Optional.ofNullable(order);
+    }
+
+    public List<OrderView> findByUser(long userId) {
+        return enabled && userId > 0 ? table.findByUser(userId) : List.of();
+    }
+
+    public void upsert(OrderView order) {
+        if (enabled) {
+            afterCommit(() -> table.put(order.id(), order.userId(), order.productId(), order.status(), order.userName()));
+        }
+    }
+
+    public void updateStatus(long id, OrderStatus status, String userName) {
+        if (enabled) {
+            afterCommit(() -> table.update(id, status, userName));
+        }
+    }
+
+    /** Drops orders that left the hot table, such as archived ones. */
+    public void removeAll(Collection<Long> ids) {
+        if (enabled && !ids.isEmpty()) {
+            afterCommit(() -> table.removeAll(ids));
+        }
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,55 @@
+package dev.swirlit.devapp.order.repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Optional;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Named binary checkpoints kept in the orders database, so they outlive any single pod and are
+ * shared by the old and new pods of a rolling update. Like the archive, the table is created
+ * through JDBC by {@link #createSchema} rather than by Hibernate. With sharding it lives on shard 0.
+ */
+@Repository
+public class AnalyticsCheckpointRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AnalyticsCheckpointRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void createSchema() {
+        jdbcTemplate.execute("""
+                CREATE TABLE IF NOT EXISTS analytics_checkpoints (
+                    name VARCHAR(64) PRIMARY KEY,
+                    data BYTEA NOT NULL,
+                    saved_date TIMESTAMP WITH TIME ZONE NOT NULL
+                )""");
+    }
+
+    public Optional<byte[]> load(String name) {
+        return jdbcTemplate.query("SELECT data FROM analytics_checkpoints WHERE name = ?", (resultSet, row) -> resultSet.getBytes(1), name)
+                .stream()
+                .findFirst();
+    }
+
+    public void save(String name, byte[] data, Instant savedAt) {
+        Timestamp timestamp = Timestamp.from(savedAt);
+        if (update(name, data, timestamp) > 0) {
+            return;
+        }
+        try {
+            jdbcTemplate.update("INSERT INTO analytics_checkpoints (name, data, saved_date) VALUES (?, ?, ?)", name, data, timestamp);
+        } catch (DuplicateKeyException exception) {
+            update(name, data, timestamp);
+        }
+    }
+
+    private int update(String name, byte[] data, Timestamp savedAt) {
+        return jdbcTemplate.update("UPDATE analytics_checkpoints SET data = ?, saved_date = ? WHERE name = ?", data, savedAt, name);
+    }
+}
@@ -0,0 +1,165 @@
+package dev.swirlit.devapp.order.repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import dev.swirlit.devapp.common.domain.OrderStatus;
+import dev.swirlit.devapp.order.dto.OrderView;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Cold storage for terminal orders. The table is accessed through JDBC rather than JPA so that
+ * Hibernate schema updates never create it, and {@link #createSchema} is the only place that
+ * does; on PostgreSQL it is range-partitioned by month of {@code created_date}, with a default
+ * partition for rows outside the managed ranges.
+ */
+@Repository
+public class OrderArchiveRepository {
+
+    static final List<String> TERMINAL_STATUSES = List.of(
+            OrderStatus.APPROVED.name(), OrderStatus.REJECTED.name(), OrderStatus.COMPLETED.name(), OrderStatus.EXPIRED.name());
+
+    private static final String VIEW_COLUMNS = "id, user_id, user_name, product_id, status";
+    private static final String COLUMNS =
+            "id, user_id, user_name, product_id, status, created_by, created_date, last_modified_by, last_modified_date";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private volatile Boolean postgres;
+
+    public OrderArchiveRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    public Optional<OrderView> findById(Long id) {
+        return jdbcTemplate.query("SELECT " + VIEW_COLUMNS + " FROM orders_archive WHERE id = ?", OrderArchiveRepository::view, id)
+                .stream()
+                .findFirst();
+    }
+
+    public List<Long> lockArchivable(Instant cutoff, int limit) {
+        String lock = isPostgres() ? " FOR UPDATE SKIP LOCKED" : " FOR UPDATE";
+        return namedJdbcTemplate.queryForList("""
+                SELECT id FROM orders
+                WHERE status IN (:statuses) AND created_date < :cutoff
+                ORDER BY id
+                FETCH FIRST :limit ROWS ONLY""" + lock,
+                Map.of("statuses", TERMINAL_STATUSES, "cutoff", Timestamp.from(cutoff), "limit", limit),
+                Long.class);
+    }
+
+    public int moveToArchive(List<Long> ids, Instant archivedAt) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        Map<String, Object> parameters = Map.of("ids", ids, "archivedAt", Timestamp.from(archivedAt));
+        namedJdbcTemplate.update(
+                "INSERT INTO orders_archive (" + COLUMNS + ", archived_date) SELECT " + COLUMNS
+                        + ", :archivedAt FROM orders WHERE id IN (:ids)",
+                parameters);
+        return namedJdbcTemplate.update("DELETE FROM orders WHERE id IN (:ids)", parameters);
+    }
+
+    public long countHot() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders", Long.class);
+    }
+
+    public long countArchived() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders_archive", Long.class);
+    }
+
+    public long countArchivable(Instant cutoff) {
+        return namedJdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM orders WHERE status IN (:statuses) AND created_date < :cutoff",
+                Map.of("statuses", TERMINAL_STATUSES, "cutoff", Timestamp.from(cutoff)),
+                Long.class);
+    }
+
+    public void createSchema() {
+        if (!isPostgres()) {
+            jdbcTemplate.execute("""
+                    CREATE TABLE IF NOT EXISTS orders_archive (
+                        id BIGINT PRIMARY KEY,
+                        user_id BIGINT NOT NULL,
+                        user_name VARCHAR(120),
+                        product_id BIGINT NOT NULL,
+                        status VARCHAR(20) NOT NULL,
+                        created_by VARCHAR(255),
+                        created_date TIMESTAMP WITH TIME ZONE,
+                        last_modified_by VARCHAR(255),
+                        last_modified_date TIMESTAMP WITH TIME ZONE,
+                        archived_date TIMESTAMP WITH TIME ZONE NOT NULL
+                    )""");
+            return;
+        }
+        jdbcTemplate.execute("""
+                CREATE TABLE IF NOT EXISTS orders_archive (
+                    id BIGINT NOT NULL,
+                    user_id BIGINT NOT NULL,
+                    user_name VARCHAR(120),
+                    product_id BIGINT NOT NULL,
+                    status VARCHAR(20) NOT NULL,
+                    created_by VARCHAR(255),
+                    created_date TIMESTAMP WITH TIME ZONE,
+                    last_modified_by VARCHAR(255),
+                    last_modified_date TIMESTAMP WITH TIME ZONE,
+                    archived_date TIMESTAMP WITH TIME ZONE NOT NULL
+                ) PARTITION BY RANGE (created_date)""");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS orders_archive_id_idx ON orders_archive (id)");
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS orders_archive_default PARTITION OF orders_archive DEFAULT");
+    }
+
+    public void ensurePartitions(Instant cutoff) {
+        if (!isPostgres()) {
+            return;
+        }
+
+        Timestamp oldest = namedJdbcTemplate.queryForObject(
+                "SELECT MIN(created_date) FROM orders WHERE status IN (:statuses) AND created_date < :cutoff",
+                Map.of("statuses", TERMINAL_STATUSES, "cutoff", Timestamp.from(cutoff)),
+                Timestamp.class);
+        if (oldest == null) {
+            return;
+        }
+        LocalDate month = oldest.toInstant().atOffset(ZoneOffset.UTC).toLocalDate().withDayOfMonth(1);
+        LocalDate last = cutoff.atOffset(ZoneOffset.UTC).toLocalDate().withDayOfMonth(1);
+        for (; !month.isAfter(last); month = month.plusMonths(1)) {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS orders_archive_%s PARTITION OF orders_archive FOR VALUES FROM ('%s') TO ('%s')"
+                    .formatted(month.format(PARTITION_SUFFIX), month, month.plusMonths(1)));
+        }
+    }
+
+    private boolean isPostgres() {
+        Boolean result = postgres;
+        if (result == null) {
+            result = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                    "PostgreSQL".equals(JdbcUtils.commonDatabaseName(connection.getMetaData().getDatabaseProductName())));
+            postgres = result;
+        }
+        return result;
+    }
+
+    private static OrderView view(ResultSet resultSet, int row) throws SQLException {
+        return new OrderView(
+                resultSet.getLong("id"),
+                resultSet.getLong("user_id"),
+                resultSet.getString("user_name"),
+                resultSet.getLong("product_id"),
+                OrderStatus.valueOf(resultSet.getString("status")));
+    }
+}
@@ -1,8 +1,36 @@
 package dev.swirlit.devapp.order.repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
+import dev.swirlit.devapp.common.domain.OrderStatus;
 import dev.swirlit.devapp.order.domain.Order;
+import dev.swirlit.devapp.order.dto.OrderView;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
+
+    List<OrderView> findAllBy(Sort sort);
+
+    List<OrderView> findAllBy(Pageable pageable);
+
+    Optional<OrderView> findViewById(Long id);
+
+    List<OrderView> findAllByUserId(Long userId, Sort sort);
+
+    List<OrderView> findAllByProductIdIn(Collection<Long> productIds, Pageable pageable);
+
+    @Modifying
+    @Query("""
+            update Order o
+            set o.status = :status, o.userName = :userName, o.version = o.version + 1, o.lastModifiedDate = :modifiedAt
+            where o.id = :id and o.status in :expected""")
+    int transition(Long id, Collection<OrderStatus> expected, OrderStatus status, String userName, Instant modifiedAt);
 }
@@ -0,0 +1,127 @@
+package dev.swirlit.devapp.order.repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import dev.swirlit.devapp.common.domain.OrderStatus;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Dispatch bookkeeping for orders still waiting for a result. The {@code dispatch_attempts} and
+ * {@code last_dispatched_date} columns are not mapped on the entity; on PostgreSQL they are added
+ * here together with a partial index covering only {@code PENDING} rows.
+ */
+@Repository
+public class PendingOrderRepository {
+
+    private static final String PENDING = OrderStatus.PENDING.name();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private volatile Boolean postgres;
+
+    public PendingOrderRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    public record PendingOrder(Long id, Long userId, Long productId, Instant createdDate, int dispatchAttempts) {
+    }
+
+    /**
+     * Locks the next batch of orders, in {@code (created_date, id)} order after {@code after},
+     * that were created and last dispatched before {@code cutoff}.
+     */
+    public List<PendingOrder> lockStuck(Instant cutoff, PendingOrder after, int limit) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("status", PENDING);
+        parameters.put("cutoff", Timestamp.from(cutoff));
+        parameters.put("limit", limit);
+        String keyset = "";
+        if (after != null) {
+            keyset = " AND (created_date > :afterCreated OR (created_date = :afterCreated AND id > :afterId))";
+            parameters.put("afterCreated", Timestamp.from(after.createdDate()));
+            parameters.put("afterId", after.id());
+        }
+        String lock = isPostgres() ? " FOR UPDATE SKIP LOCKED" : " FOR UPDATE";
+        return namedJdbcTemplate.query("""
+                SELECT id, user_id, product_id, created_date, dispatch_attempts FROM orders
+                WHERE status = :status AND created_date < :cutoff
+                  AND (last_dispatched_date IS NULL OR last_dispatched_date < :cutoff)%s
+                ORDER BY created_date, id
+                FETCH FIRST :limit ROWS ONLY%s""".formatted(keyset, lock),
+                parameters,
+                PendingOrderRepository::pendingOrder);
+    }
+
+    public int markDispatched(List<Long> ids, Instant dispatchedAt) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return namedJdbcTemplate.update("""
+                UPDATE orders SET dispatch_attempts = dispatch_attempts + 1, last_dispatched_date = :dispatchedAt
+                WHERE id IN (:ids) AND status = :status""",
+                Map.of("ids", ids, "dispatchedAt", Timestamp.from(dispatchedAt), "status", PENDING));
+    }
+
+    public int expire(List<Long> ids, Instant expiredAt) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return namedJdbcTemplate.update("""
+                UPDATE orders SET status = :expired, version = version + 1, last_modified_date = :expiredAt
+                WHERE id IN (:ids) AND status = :status""",
+                Map.of("ids", ids, "expired", OrderStatus.EXPIRED.name(), "expiredAt", Timestamp.from(expiredAt), "status", PENDING));
+    }
+
+    public Optional<Instant> oldestPending() {
+        Timestamp oldest = jdbcTemplate.queryForObject(
+                "SELECT MIN(created_date) FROM orders WHERE status = ?", Timestamp.class, PENDING);
+        return Optional.ofNullable(oldest).map(Timestamp::toInstant);
+    }
+
+    public long countStuck(Instant cutoff) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM orders WHERE status = ? AND created_date < ?", Long.class, PENDING, Timestamp.from(cutoff));
+    }
+
+    public void createSchema() {
+        if (!isPostgres()) {
+            return;
+        }
+        jdbcTemplate.execute("ALTER TABLE orders ADD COLUMN IF NOT EXISTS dispatch_attempts INT NOT NULL DEFAULT 0");
+        jdbcTemplate.execute("ALTER TABLE orders ADD COLUMN IF NOT EXISTS last_dispatched_date TIMESTAMP WITH TIME ZONE");
+        jdbcTemplate.execute(
+                "CREATE INDEX IF NOT EXISTS orders_pending_idx ON orders (status, created_date) WHERE status = '" + PENDING + "'");
+    }
+
+    private boolean isPostgres() {
+        Boolean result = postgres;
+        if (result == null) {
+            result = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                    "PostgreSQL".equals(JdbcUtils.commonDatabaseName(connection.getMetaData().getDatabaseProductName())));
+            postgres = result;
+        }
+        return result;
+    }
+
+    private static PendingOrder pendingOrder(ResultSet resultSet, int row) throws SQLException {
+        return new PendingOrder(
+                resultSet.getLong("id"),
+                resultSet.getLong("user_id"),
+                resultSet.getLong("product_id"),
+                resultSet.getTimestamp("created_date").toInstant(),
+                resultSet.getInt("dispatch_attempts"));
+    }
+}
@@ -0,0 +1,143 @@
+package dev.swirlit.devapp.order.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import dev.swirlit.devapp.order.readmodel.OrderReadModel;
+import dev.swirlit.devapp.order.repository.OrderArchiveRepository;
+import dev.swirlit.devapp.order.shard.OrderShards;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+
+@Service
+@ConditionalOnProperty(name = "app.archive.enabled", havingValue = "true")
+public class OrderArchiver implements InitializingBean {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderArchiver.class);
+
+    private final OrderArchiveRepository orderArchiveRepository;
+    private final OrderReadModel orderReadModel;
+    private final OrderShards orderShards;
+    private final TransactionOperations transactionOperations;
+    private final Clock clock;
+    private final Duration retention;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Duration pause;
+    private final Counter archived;
+    private final Timer runs;
+    private final AtomicLong hotRows = new AtomicLong();
+    private final AtomicLong archivedRows = new AtomicLong();
+    private final AtomicLong backlog = new AtomicLong();
+
+    public OrderArchiver(
+            OrderArchiveRepository orderArchiveRepository,
+            OrderReadModel orderReadModel,
+            OrderShards orderShards,
+            TransactionOperations transactionOperations,
+            MeterRegistry meterRegistry,
+            Clock clock,
+            @Value("${app.archive.retention:P30D}") Duration retention,
+            @Value("${app.archive.batch-size:500}") int batchSize,
+            @Value("${app.archive.max-batches-per-run:100}") int maxBatchesPerRun,
+            @Value("${app.archive.pause:200ms}") Duration pause) {
+        this.orderArchiveRepository = orderArchiveRepository;
+        this.orderReadModel = orderReadModel;
+        this.orderShards = orderShards;
+        this.transactionOperations = transactionOperations;
+        this.clock = clock;
+        this.retention = retention;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.pause = pause;
+        this.archived = Counter.builder("devapp.orders.archived")
+                .description("Terminal orders moved to the archive table")
+                .register(meterRegistry);
+        this.runs = Timer.builder("devapp.orders.archive.run")
+                .description("Duration of archival runs")
+                .register(meterRegistry);
+        Gauge.builder("devapp.orders.hot.rows", hotRows, AtomicLong::get)
+                .description("Rows in the hot orders table at the end of the last archival run")
+                .register(meterRegistry);
+        Gauge.builder("devapp.orders.archive.rows", archivedRows, AtomicLong::get)
+                .description("Rows in the orders archive at the end of the last archival run")
+                .register(meterRegistry);
+        Gauge.builder("devapp.orders.archive.backlog", backlog, AtomicLong::get)
+                .description("Terminal orders past retention still waiting in the hot table")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        orderShards.forEachShard(shard -> orderArchiveRepository.createSchema());
+    }
+
+    @Scheduled(fixedDelayString = "${app.archive.interval:PT15M}", initialDelayString = "${app.archive.initial-delay:PT1M}")
+    public void archiveTerminalOrders() {
+        runs.record(() -> {
+            Instant cutoff = clock.instant().minus(retention);
+            AtomicLong moved = new AtomicLong();
+            orderShards.forEachShard(shard -> moved.addAndGet(archiveShard(cutoff)));
+            long total = moved.get();
+            archived.increment(total);
+            refreshGauges(cutoff);
+            if (total > 0) {
+                log.info("Archived {} terminal orders created before {}", total, cutoff);
+            }
+        });
+    }
+
+    private long archiveShard(Instant cutoff) {
+        orderArchiveRepository.ensurePartitions(cutoff);
+        long total = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            int moved = transactionOperations.execute(status -> archiveBatch(cutoff));
+            total += moved;
+            if (moved < batchSize || !pause()) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    private int archiveBatch(Instant cutoff) {
+        List<Long> ids = orderArchiveRepository.lockArchivable(cutoff, batchSize);
+        int moved = orderArchiveRepository.moveToArchive(ids, clock.instant());
+        orderReadModel.removeAll(ids);
+        return moved;
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(pause);
+            return true;
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void refreshGauges(Instant cutoff) {
+        hotRows.set(sum(orderShards.onEveryShard(orderArchiveRepository::countHot)));
+        archivedRows.set(sum(orderShards.onEveryShard(orderArchiveRepository::countArchived)));
+        backlog.set(sum(orderShards.onEveryShard(() -> orderArchiveRepository.countArchivable(cutoff))));
+    }
+
+    private static long sum(List<Long> perShard) {
+        return perShard.stream().mapToLong(Long::longValue).sum();
+    }
+}
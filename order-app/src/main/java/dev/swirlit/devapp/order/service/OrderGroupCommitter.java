@@ -0,0 +1,180 @@
+package dev.swirlit.devapp.order.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import dev.swirlit.devapp.order.domain.Order;
+import dev.swirlit.devapp.order.repository.OrderBatchRepository;
+import dev.swirlit.devapp.order.shard.OrderShards;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+/**
+ * Coalesces concurrent order inserts into group commits. The first caller to reach an empty
+ * batch becomes its leader: it waits for the window to elapse or the batch to fill, then writes
+ * every order of the batch in one transaction with one JDBC batch, on the shard the batch
+ * belongs to. Each caller blocks on its own future and gets back its own order, or the failure
+ * of the batch it was part of.
+ */
+@Component
+public class OrderGroupCommitter {
+
+    private final OrderBatchRepository orderBatchRepository;
+    private final OrderShards orderShards;
+    private final TransactionOperations transactionOperations;
+    private final AuditorAware<String> auditorAware;
+    private final Clock clock;
+    private final boolean enabled;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Batch[] open;
+    private final DistributionSummary batchSizes;
+    private final Timer flushes;
+
+    public OrderGroupCommitter(
+            OrderBatchRepository orderBatchRepository,
+            OrderShards orderShards,
+            TransactionOperations transactionOperations,
+            AuditorAware<String> auditorAware,
+            Clock clock,
+            MeterRegistry meterRegistry,
+            @Value("${app.group-commit.enabled:false}") boolean enabled,
+            @Value("${app.group-commit.window:PT0.002S}") Duration window,
+            @Value("${app.group-commit.max-batch-size:64}") int maxBatchSize) {
+        this.orderBatchRepository = orderBatchRepository;
+        this.orderShards = orderShards;
+        this.transactionOperations = transactionOperations;
+        this.auditorAware = auditorAware;
+        this.clock = clock;
+        this.enabled = enabled;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        this.open = new Batch[orderShards.count()];
+        this.batchSizes = DistributionSummary.builder("devapp.orders.group.commit.size")
+                .description("Orders written per group commit")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.flushes = Timer.builder("devapp.orders.group.commit.flush")
+                .description("Time to write and commit one group of orders")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Order insert(Order order) {
+        String auditor = auditorAware.getCurrentAuditor().orElse(null);
+        Instant now = clock.instant();
+        order.setCreatedBy(auditor);
+        order.setCreatedDate(now);
+        order.setLastModifiedBy(auditor);
+        order.setLastModifiedDate(now);
+
+        int shard = orderShards.shardOfUser(order.getUserId());
+        CompletableFuture<Order> result = new CompletableFuture<>();
+        Batch batch = join(shard, order, result);
+        if (batch != null) {
+            lead(shard, batch);
+        }
+        try {
+            return result.join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (exception.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw exception;
+        }
+    }
+
+    /** Adds the order to the shard's open batch and returns the batch if the caller must lead it. */
+    private Batch join(int shard, Order order, CompletableFuture<Order> result) {
+        lock.lock();
+        try {
+            Batch batch = open[shard];
+            boolean leader = batch == null;
+            if (leader) {
+                batch = new Batch(lock.newCondition());
+                open[shard] = batch;
+            }
+            batch.orders.add(order);
+            batch.results.add(result);
+            if (batch.orders.size() >= maxBatchSize) {
+                open[shard] = null;
+                batch.full.signal();
+            }
+            return leader ? batch : null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void lead(int shard, Batch batch) {
+        lock.lock();
+        try {
+            long remaining = windowNanos;
+            while (open[shard] == batch && remaining > 0) {
+                remaining = batch.full.awaitNanos(remaining);
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (open[shard] == batch) {
+                open[shard] = null;
+            }
+            lock.unlock();
+        }
+        flush(shard, batch);
+    }
+
+    private void flush(int shard, Batch batch) {
+        long start = System.nanoTime();
+        try {
+            orderShards.onShard(shard, () -> transactionOperations.execute(status -> {
+                orderBatchRepository.insertAll(batch.orders);
+                return null;
+            }));
+            for (int i = 0; i < batch.orders.size(); i++) {
+                batch.results.get(i).complete(batch.orders.get(i));
+            }
+        } catch (Throwable failure) {
+            batch.results.forEach(result -> result.completeExceptionally(failure));
+            if (failure instanceof Error error) {
+                throw error;
+            }
+        } finally {
+            flushes.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            batchSizes.record(batch.orders.size());
+        }
+    }
+
+    private static final class Batch {
+
+        private final Condition full;
+        private final List<Order> orders = new ArrayList<>();
+        private final List<CompletableFuture<Order>> results = new ArrayList<>();
+
+        private Batch(Condition full) {
+            this.full = full;
+        }
+    }
+}
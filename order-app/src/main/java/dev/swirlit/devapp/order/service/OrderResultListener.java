@@ -1,8 +1,17 @@
 package dev.swirlit.devapp.order.service;
 
+import java.time.Clock;
+import java.util.Set;
+
+import dev.swirlit.devapp.common.domain.OrderStatus;
 import dev.swirlit.devapp.common.event.OrderEvent;
 import dev.swirlit.devapp.common.util.Constants;
+import dev.swirlit.devapp.order.analytics.OrderAnalytics;
+import dev.swirlit.devapp.order.readmodel.OrderReadModel;
 import dev.swirlit.devapp.order.repository.OrderRepository;
+import dev.swirlit.devapp.order.shard.OrderShards;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -16,18 +25,50 @@ public class OrderResultListener {
 
     private static final Logger log = LoggerFactory.getLogger(OrderResultListener.class);
     private final OrderRepository orderRepository;
+    private final OrderReadModel orderReadModel;
+    private final OrderShards orderShards;
+    private final OrderAnalytics orderAnalytics;
+    private final Clock clock;
+    private final Counter applied;
+    private final Counter dropped;
 
-    public OrderResultListener(OrderRepository orderRepository) {
+    public OrderResultListener(
+            OrderRepository orderRepository,
+            OrderReadModel orderReadModel,
+            OrderShards orderShards,
+            OrderAnalytics orderAnalytics,
+            Clock clock,
+            MeterRegistry meterRegistry) {
         this.orderRepository = orderRepository;
+        this.orderReadModel = orderReadModel;
+        this.orderShards = orderShards;
+        this.orderAnalytics = orderAnalytics;
+        this.clock = clock;
+        this.applied = meterRegistry.counter("devapp.orders.results", "outcome", "applied");
+        this.dropped = meterRegistry.counter("devapp.orders.results", "outcome", "dropped");
     }
 
     @Transactional
     @CacheEvict(cacheNames = "orders", key = "#event.orderId()")
-    @KafkaListener(topics = Constants.ORDER_RESULT_TOPIC, groupId = "${spring.kafka.consumer.group-id}")
+    @KafkaListener(
+            topics = Constants.ORDER_RESULT_TOPIC,
+            groupId = "${spring.kafka.consumer.group-id}",
+            concurrency = "${app.messaging.result-concurrency:4}")
     public void consume(OrderEvent event) {
-        orderRepository.findById(event.orderId()).ifPresentOrElse(order -> {
-            order.setStatus(event.status());
-            order.setUserName(event.userName());
-        }, () -> log.warn("Ignoring result for missing order {}", event.orderId()));
+        Set<OrderStatus> expected = event.status().allowedPredecessors();
+        int updated = expected.isEmpty() || !orderShards.holdsOrder(event.orderId())
+                ? 0
+                : orderShards.onShard(OrderShards.shardOfOrder(event.orderId()), () -> orderRepository.transition(
+                        event.orderId(), expected, event.status(), event.userName(), clock.instant()));
+        if (updated == 0) {
+            dropped.increment();
+            log.debug("Dropping {} result for order {}: order missing or no longer in {}", event.status(), event.orderId(), expected);
+            return;
+        }
+        orderReadModel.updateStatus(event.orderId(), event.status(), event.userName());
+        if (event.status() == OrderStatus.APPROVED && event.productId() != null && event.userId() != null) {
+            orderAnalytics.recordApproved(event.productId(), event.userId());
+        }
+        applied.increment();
     }
 }
@@ -2,12 +2,21 @@ package dev.swirlit.devapp.order.service;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 
+import dev.swirlit.devapp.common.domain.OrderStatus;
 import dev.swirlit.devapp.common.event.OrderEvent;
+import dev.swirlit.devapp.common.messaging.EventPublisher;
 import dev.swirlit.devapp.common.util.Constants;
+import dev.swirlit.devapp.order.analytics.OrderAnalytics;
+import dev.swirlit.devapp.order.client.UserDirectoryClient;
 import dev.swirlit.devapp.order.domain.Order;
 import dev.swirlit.devapp.order.dto.CreateOrderRequest;
+import dev.swirlit.devapp.order.dto.OrderView;
+import dev.swirlit.devapp.order.readmodel.OrderReadModel;
+import dev.swirlit.devapp.order.repository.OrderArchiveRepository;
 import dev.swirlit.devapp.order.repository.OrderRepository;
+import dev.swirlit.devapp.order.shard.OrderShards;
 import jakarta.persistence.EntityNotFoundException;
 
 import org.slf4j.Logger;
@@ -16,7 +25,6 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Sort;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,41 +34,78 @@ public class OrderService {
     private static final Logger log = LoggerFactory.getLogger(OrderService.class);
 
     private final OrderRepository orderRepository;
-    private final KafkaTemplate<Object, Object> kafkaTemplate;
+    private final OrderArchiveRepository orderArchiveRepository;
+    private final OrderReadModel orderReadModel;
+    private final OrderShards orderShards;
+    private final OrderGroupCommitter orderGroupCommitter;
+    private final UserDirectoryClient userDirectoryClient;
+    private final OrderAnalytics orderAnalytics;
+    private final EventPublisher eventPublisher;
     private final boolean messagingEnabled;
+    private final boolean archiveEnabled;
 
     public OrderService(
             OrderRepository orderRepository,
-            KafkaTemplate<Object, Object> kafkaTemplate,
-            @Value("${app.messaging.enabled:false}") boolean messagingEnabled) {
+            OrderArchiveRepository orderArchiveRepository,
+            OrderReadModel orderReadModel,
+            OrderShards orderShards,
+            OrderGroupCommitter orderGroupCommitter,
+            UserDirectoryClient userDirectoryClient,
+            OrderAnalytics orderAnalytics,
+            EventPublisher eventPublisher,
+            @Value("${app.messaging.enabled:false}") boolean messagingEnabled,
+            @Value("${app.archive.enabled:false}") boolean archiveEnabled) {
         this.orderRepository = orderRepository;
-        this.kafkaTemplate = kafkaTemplate;
+        this.orderArchiveRepository = orderArchiveRepository;
+        this.orderReadModel = orderReadModel;
+        this.orderShards = orderShards;
+        this.orderGroupCommitter = orderGroupCommitter;
+        this.userDirectoryClient = userDirectoryClient;
+        this.orderAnalytics = orderAnalytics;
+        this.eventPublisher = eventPublisher;
         this.messagingEnabled = messagingEnabled;
+        this.archiveEnabled = archiveEnabled;
     }
 
     @Transactional(readOnly = true)
-    public List<Order> getAllOrders() {
-        return orderRepository.findAll(Sort.by(Sort.Direction.DESC, "id"));
+    public List<OrderView> getAllOrders() {
+        return orderShards.collectOrders(() -> orderRepository.findAllBy(Sort.by(Sort.Direction.DESC, "id")));
     }
 
     @Transactional(readOnly = true)
-    @Cacheable(cacheNames = "orders", key = "#id")
-    public Order getOrderById(Long id) {
-        return orderRepository.findById(id)
+    public List<OrderView> getOrdersByUser(Long userId) {
+        return orderReadModel.isEnabled()
+                ? orderReadModel.findByUser(userId)
+                : orderShards.onShardOfUser(userId, () -> orderRepository.findAllByUserId(userId, Sort.by(Sort.Direction.DESC, "id")));
+    }
+
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = "orders", key = "#id", condition = "!@orderReadModel.enabled")
+    public OrderView getOrderById(Long id) {
+        return orderReadModel.find(id)
+                .or(() -> findStored(id))
                 .orElseThrow(() -> new EntityNotFoundException("Order %d was not found".formatted(id)));
     }
 
-    @Transactional
     @CacheEvict(cacheNames = "orders", allEntries = true)
     public Order createOrder(CreateOrderRequest request) {
-        Order saved = orderRepository.save(new Order(request.userId(), request.productId()));
-        if (messagingEnabled) {
+        Order order = new Order(request.userId(), request.productId());
+        validateInline(order);
+        Order saved = orderGroupCommitter.isEnabled()
+                ? orderGroupCommitter.insert(order)
+                : orderShards.onShardOfUser(order.getUserId(), () -> orderRepository.save(order));
+        orderReadModel.upsert(OrderView.from(saved));
+        orderAnalytics.recordPlaced(saved.getProductId(), saved.getUserId());
+        if (saved.getStatus() == OrderStatus.APPROVED) {
+            orderAnalytics.recordApproved(saved.getProductId(), saved.getUserId());
+        }
+        if (messagingEnabled && saved.getStatus() == OrderStatus.PENDING) {
             OrderEvent event = new OrderEvent(
                     saved.getId(), saved.getUserId(), saved.getProductId(), null, saved.getStatus(), Instant.now());
-            kafkaTemplate.send(Constants.ORDER_TOPIC, saved.getId().toString(), event)
-                    .whenComplete((result, error) -> {
+            eventPublisher.publish(Constants.ORDER_TOPIC, saved.getId().toString(), event)
+                    .whenComplete((ignored, error) -> {
                         if (error == null) {
-                            log.info("Published order event id={} partition={}", saved.getId(), result.getRecordMetadata().partition());
+                            log.info("Published order event id={}", saved.getId());
                         } else {
                             log.error("Could not publish order event id={}", saved.getId(), error);
                         }
@@ -68,4 +113,23 @@ public class OrderService {
         }
         return saved;
     }
+
+    private Optional<OrderView> findStored(Long id) {
+        if (!orderShards.holdsOrder(id)) {
+            return Optional.empty();
+        }
+        return orderShards.onShard(OrderShards.shardOfOrder(id), () -> orderRepository.findViewById(id)
+                .or(() -> archiveEnabled ? orderArchiveRepository.findById(id) : Optional.empty()));
+    }
+
+    private void validateInline(Order order) {
+        if (!userDirectoryClient.isEnabled()) {
+            return;
+        }
+        userDirectoryClient.lookup(List.of(order.getUserId())).ifPresent(names -> {
+            String userName = names.get(order.getUserId());
+            order.setStatus(userName != null ? OrderStatus.APPROVED : OrderStatus.REJECTED);
+            order.setUserName(userName);
+        });
+    }
 }
@@ -0,0 +1,167 @@
+package dev.swirlit.devapp.order.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import dev.swirlit.devapp.common.domain.OrderStatus;
+import dev.swirlit.devapp.common.event.OrderEvent;
+import dev.swirlit.devapp.common.messaging.EventPublisher;
+import dev.swirlit.devapp.common.util.Constants;
+import dev.swirlit.devapp.order.readmodel.OrderReadModel;
+import dev.swirlit.devapp.order.repository.PendingOrderRepository;
+import dev.swirlit.devapp.order.repository.PendingOrderRepository.PendingOrder;
+import dev.swirlit.devapp.order.shard.OrderShards;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+
+/**
+ * Re-publishes orders that have been {@code PENDING} for longer than the threshold and expires
+ * them once they have been dispatched {@code max-attempts} times. Each batch is claimed with
+ * row locks and stamped with a dispatch time in its own transaction, so replicas running the
+ * sweep concurrently skip each other's rows.
+ */
+@Service
+@ConditionalOnProperty(name = "app.sweeper.enabled", havingValue = "true")
+public class StuckOrderSweeper implements InitializingBean {
+
+    private static final Logger log = LoggerFactory.getLogger(StuckOrderSweeper.class);
+
+    private final PendingOrderRepository pendingOrderRepository;
+    private final EventPublisher eventPublisher;
+    private final TransactionOperations transactionOperations;
+    private final CacheManager cacheManager;
+    private final OrderReadModel orderReadModel;
+    private final OrderShards orderShards;
+    private final Clock clock;
+    private final Duration threshold;
+    private final int maxAttempts;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Counter republished;
+    private final Counter expired;
+    private final AtomicLong oldestPendingAgeSeconds = new AtomicLong();
+    private final AtomicLong stuck = new AtomicLong();
+
+    public StuckOrderSweeper(
+            PendingOrderRepository pendingOrderRepository,
+            EventPublisher eventPublisher,
+            TransactionOperations transactionOperations,
+            CacheManager cacheManager,
+            OrderReadModel orderReadModel,
+            OrderShards orderShards,
+            MeterRegistry meterRegistry,
+            Clock clock,
+            @Value("${app.sweeper.threshold:PT5M}") Duration threshold,
+            @Value("${app.sweeper.max-attempts:5}") int maxAttempts,
+            @Value("${app.sweeper.batch-size:200}") int batchSize,
+            @Value("${app.sweeper.max-batches-per-run:50}") int maxBatchesPerRun) {
+        this.pendingOrderRepository = pendingOrderRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionOperations = transactionOperations;
+        this.cacheManager = cacheManager;
+        this.orderReadModel = orderReadModel;
+        this.orderShards = orderShards;
+        this.clock = clock;
+        this.threshold = threshold;
+        this.maxAttempts = maxAttempts;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.republished = meterRegistry.counter("devapp.orders.swept", "outcome", "republished");
+        this.expired = meterRegistry.counter("devapp.orders.swept", "outcome", "expired");
+        Gauge.builder("devapp.orders.pending.oldest.age", oldestPendingAgeSeconds, AtomicLong::get)
+                .description("Age of the oldest pending order at the end of the last sweep")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("devapp.orders.pending.stuck", stuck, AtomicLong::get)
+                .description("Orders pending for longer than the sweeper threshold at the end of the last sweep")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        orderShards.forEachShard(shard -> pendingOrderRepository.createSchema());
+    }
+
+    @Scheduled(fixedDelayString = "${app.sweeper.interval:PT1M}", initialDelayString = "${app.sweeper.initial-delay:PT1M}")
+    public void sweep() {
+        Instant cutoff = clock.instant().minus(threshold);
+        orderShards.forEachShard(shard -> sweepShard(cutoff));
+        refreshGauges(cutoff);
+    }
+
+    private void sweepShard(Instant cutoff) {
+        PendingOrder cursor = null;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            PendingOrder after = cursor;
+            List<PendingOrder> claimed = transactionOperations.execute(status -> claimBatch(cutoff, after));
+            claimed.stream().filter(order -> order.dispatchAttempts() < maxAttempts).forEach(this::republish);
+            if (claimed.size() < batchSize) {
+                break;
+            }
+            cursor = claimed.getLast();
+        }
+    }
+
+    private List<PendingOrder> claimBatch(Instant cutoff, PendingOrder after) {
+        List<PendingOrder> claimed = pendingOrderRepository.lockStuck(cutoff, after, batchSize);
+        List<Long> exhausted = claimed.stream()
+                .filter(order -> order.dispatchAttempts() >= maxAttempts)
+                .map(PendingOrder::id)
+                .toList();
+        List<Long> retried = claimed.stream()
+                .filter(order -> order.dispatchAttempts() < maxAttempts)
+                .map(PendingOrder::id)
+                .toList();
+        Instant now = clock.instant();
+        pendingOrderRepository.markDispatched(retried, now);
+        if (!exhausted.isEmpty()) {
+            expired.increment(pendingOrderRepository.expire(exhausted, now));
+            Cache orders = cacheManager.getCache("orders");
+            if (orders != null) {
+                exhausted.forEach(orders::evict);
+            }
+            exhausted.forEach(id -> orderReadModel.updateStatus(id, OrderStatus.EXPIRED, null));
+            log.warn("Expired {} orders still pending after {} dispatch attempts", exhausted.size(), maxAttempts);
+        }
+        return claimed;
+    }
+
+    private void republish(PendingOrder order) {
+        OrderEvent event = new OrderEvent(order.id(), order.userId(), order.productId(), null, OrderStatus.PENDING, clock.instant());
+        eventPublisher.publish(Constants.ORDER_TOPIC, order.id().toString(), event)
+                .whenComplete((ignored, error) -> {
+                    if (error != null) {
+                        log.error("Could not re-publish stuck order id={}", order.id(), error);
+                    }
+                });
+        republished.increment();
+    }
+
+    private void refreshGauges(Instant cutoff) {
+        Instant now = clock.instant();
+        oldestPendingAgeSeconds.set(orderShards.onEveryShard(pendingOrderRepository::oldestPending).stream()
+                .flatMap(Optional::stream)
+                .min(Instant::compareTo)
+                .map(oldest -> Duration.between(oldest, now).toSeconds())
+                .orElse(0L));
+        stuck.set(orderShards.onEveryShard(() -> pendingOrderRepository.countStuck(cutoff)).stream()
+                .mapToLong(Long::longValue)
+                .sum());
+    }
+}
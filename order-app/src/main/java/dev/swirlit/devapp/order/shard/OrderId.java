@@ -0,0 +1,15 @@
+package dev.swirlit.devapp.order.shard;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+/** Assigns the id of a new order from {@link OrderShards#nextOrderId}. */
+@IdGeneratorType(OrderIdGenerator.class)
+@Target({ElementType.FIELD, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface OrderId {
+}
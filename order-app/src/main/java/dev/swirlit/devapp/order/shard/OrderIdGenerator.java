@@ -0,0 +1,37 @@
+package dev.swirlit.devapp.order.shard;
+
+import java.lang.reflect.Member;
+import java.util.EnumSet;
+
+import dev.swirlit.devapp.common.id.SnowflakeIdGenerator;
+import dev.swirlit.devapp.common.id.SnowflakeIdentifierGenerator;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+import org.hibernate.generator.GeneratorCreationContext;
+
+/** Hibernate generator behind {@link OrderId}, drawing ids for the shard the insert is scoped to. */
+public class OrderIdGenerator implements BeforeExecutionGenerator {
+
+    private final transient SnowflakeIdGenerator ids;
+
+    public OrderIdGenerator(OrderId config, Member member, GeneratorCreationContext context) {
+        this.ids = SnowflakeIdentifierGenerator.idGenerator(context);
+        if (ids.bits() != OrderShards.SHARD_SHIFT) {
+            throw new IllegalStateException("Order ids need app.ids.bits=%d to leave room for the shard, not %d"
+                    .formatted(OrderShards.SHARD_SHIFT, ids.bits()));
+        }
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue, EventType eventType) {
+        return OrderShards.nextOrderId(ids);
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
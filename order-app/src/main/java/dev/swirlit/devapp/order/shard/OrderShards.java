@@ -0,0 +1,160 @@
+package dev.swirlit.devapp.order.shard;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+
+import dev.swirlit.devapp.common.id.SnowflakeIdGenerator;
+import dev.swirlit.devapp.order.dto.OrderView;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Decides which shard holds an order and scopes work to that shard. Orders are placed by a hash
+ * of their user id, and every order id carries its shard in the bits above {@link #SHARD_SHIFT},
+ * so lookups by id need no directory. New orders get time-ordered ids from the application's
+ * {@link SnowflakeIdGenerator} below the shard bits; ids the shards' identity columns handed out
+ * before stay valid. When sharding is disabled there is a
+ * single shard and every helper simply runs the work on the caller's thread.
+ */
+@Component
+public class OrderShards {
+
+    /** Keeps ids of up to 128 shards below 2^53, so they survive JSON number parsing in browsers. */
+    public static final int SHARD_SHIFT = 46;
+    public static final int MAX_SHARDS = 128;
+
+    public static final Comparator<OrderView> NEWEST_FIRST = Comparator
+            .comparingLong((OrderView order) -> sequenceOf(order.id()))
+            .thenComparingLong(OrderView::id)
+            .reversed();
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private final int count;
+
+    public OrderShards(
+            @Value("${app.sharding.enabled:false}") boolean enabled,
+            @Value("${app.sharding.urls:}") List<String> urls) {
+        this.count = enabled ? 1 + urls.size() : 1;
+        if (count > MAX_SHARDS) {
+            throw new IllegalArgumentException("At most %d order shards are supported".formatted(MAX_SHARDS));
+        }
+    }
+
+    public int count() {
+        return count;
+    }
+
+    public int shardOfUser(long userId) {
+        long mixed = userId * 0x9E3779B97F4A7C15L;
+        return Math.floorMod(mixed ^ (mixed >>> 32), count);
+    }
+
+    public boolean holdsOrder(long orderId) {
+        return orderId > 0 && shardOfOrder(orderId) < count;
+    }
+
+    public static int shardOfOrder(long orderId) {
+        return (int) (orderId >>> SHARD_SHIFT);
+    }
+
+    public static long firstOrderId(int shard) {
+        return ((long) shard << SHARD_SHIFT) + 1;
+    }
+
+    /** Draws the id of a new order on the shard the caller is scoped to, shard 0 outside of any. */
+    public static long nextOrderId(SnowflakeIdGenerator ids) {
+        Integer shard = CURRENT.get();
+        return ids.nextId(shard == null ? 0 : shard);
+    }
+
+    public <T> T onShard(int shard, Supplier<T> work) {
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    public <T> T onShardOfUser(long userId, Supplier<T> work) {
+        return onShard(shardOfUser(userId), work);
+    }
+
+    /** Runs maintenance work against every shard in turn. */
+    public void forEachShard(IntConsumer work) {
+        for (int shard = 0; shard < count; shard++) {
+            int current = shard;
+            onShard(current, () -> {
+                work.accept(current);
+                return null;
+            });
+        }
+    }
+
+    /** Runs the query on every shard in parallel and returns the results in shard order. */
+    public <T> List<T> onEveryShard(Supplier<T> query) {
+        if (count == 1) {
+            return List.of(onShard(0, query));
+        }
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<T>> futures = new ArrayList<>(count);
+            for (int shard = 0; shard < count; shard++) {
+                int current = shard;
+                futures.add(executor.submit(() -> onShard(current, query)));
+            }
+            List<T> results = new ArrayList<>(count);
+            for (Future<T> future : futures) {
+                results.add(join(future));
+            }
+            return results;
+        }
+    }
+
+    /** Scatter-gathers a list query and merges the per-shard results newest first. */
+    public List<OrderView> collectOrders(Supplier<List<OrderView>> query) {
+        List<List<OrderView>> perShard = onEveryShard(query);
+        if (perShard.size() == 1) {
+            return perShard.getFirst();
+        }
+        List<OrderView> merged = new ArrayList<>(perShard.stream().mapToInt(List::size).sum());
+        perShard.forEach(merged::addAll);
+        merged.sort(NEWEST_FIRST);
+        return merged;
+    }
+
+    static Integer currentShard() {
+        return CURRENT.get();
+    }
+
+    private static long sequenceOf(long orderId) {
+        return orderId & ((1L << SHARD_SHIFT) - 1);
+    }
+
+    private static <T> T join(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while querying order shards", exception);
+        } catch (ExecutionException exception) {
+            if (exception.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Order shard query failed", exception.getCause());
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package dev.swirlit.devapp.order.shard;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.core.io.Resource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * Routes connections to the shard selected through {@link OrderShards}. Outside a shard scope
+ * connections come from shard 0. Order ids carry their shard, so orders written before sharding
+ * was enabled can not move to the shard of their user; {@link #checkFirstShard} refuses to start
+ * while shard 0 still holds orders of users placed on another shard, since they would drop out of
+ * that user's order list.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    private final List<DataSource> shards;
+
+    public ShardRoutingDataSource(List<DataSource> shards) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("At least one shard data source is required");
+        }
+        this.shards = List.copyOf(shards);
+        Map<Object, Object> targets = new HashMap<>();
+        for (int shard = 0; shard < shards.size(); shard++) {
+            targets.put(shard, shards.get(shard));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(shards.getFirst());
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Creates the orders schema on every additional shard and moves each shard's identity column to the
+     * start of its id range, unless the shard already holds orders in that range.
+     */
+    public void prepare(Resource schema) {
+        for (int shard = 1; shard < shards.size(); shard++) {
+            DataSource dataSource = shards.get(shard);
+            new ResourceDatabasePopulator(schema).execute(dataSource);
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            long first = OrderShards.firstOrderId(shard);
+            Long highest = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM orders", Long.class);
+            if (highest < first) {
+                jdbcTemplate.execute("ALTER TABLE orders ALTER COLUMN id RESTART WITH " + first);
+            }
+        }
+    }
+
+    /** Fails when shard 0 holds an order of a user that {@code orderShards} places elsewhere. */
+    public void checkFirstShard(OrderShards orderShards) {
+        new JdbcTemplate(shards.getFirst()).query("SELECT DISTINCT user_id FROM orders", resultSet -> {
+            long userId = resultSet.getLong(1);
+            int shard = orderShards.shardOfUser(userId);
+            if (shard != 0) {
+                throw new IllegalStateException(("Shard 0 holds orders of user %d, who belongs to shard %d. Orders written "
+                        + "before sharding was enabled must be migrated, or sharding enabled on an empty orders table")
+                        .formatted(userId, shard));
+            }
+        });
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return OrderShards.currentShard();
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (DataSource shard : shards) {
+            if (shard instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
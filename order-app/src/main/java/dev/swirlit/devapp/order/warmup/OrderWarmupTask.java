@@ -0,0 +1,104 @@
+package dev.swirlit.devapp.order.warmup;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import dev.swirlit.devapp.common.warmup.RejectedRequestReplay;
+import dev.swirlit.devapp.common.warmup.WarmupTask;
+import dev.swirlit.devapp.order.analytics.OrderAnalytics;
+import dev.swirlit.devapp.order.controller.OrderController;
+import dev.swirlit.devapp.order.dto.CreateOrderRequest;
+import dev.swirlit.devapp.order.dto.OrderView;
+import dev.swirlit.devapp.order.dto.ProductStats;
+import dev.swirlit.devapp.order.repository.OrderRepository;
+import dev.swirlit.devapp.order.service.OrderService;
+import dev.swirlit.devapp.order.shard.OrderShards;
+import jakarta.validation.Validator;
+import tools.jackson.databind.json.JsonMapper;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+/**
+ * Primes the {@code orders} cache with the newest orders of the products {@link OrderAnalytics}
+ * reports as heavy hitters, which the analytics checkpoint carries across restarts, or with the
+ * newest orders of every shard while no analytics are available. Exercises replay read, JSON,
+ * validation and rejection paths without writing anything.
+ */
+@Component
+@ConditionalOnProperty(name = "app.warmup.enabled", havingValue = "true")
+public class OrderWarmupTask implements WarmupTask {
+
+    private static final String CREATE_ORDER_BODY = """
+            {"userId":1,"productId":1001}""";
+    private static final CreateOrderRequest INVALID_ORDER = new CreateOrderRequest(-1L, null);
+    private static final MethodParameter CREATE_ORDER =
+            RejectedRequestReplay.requestBody(OrderController.class, "createOrder", CreateOrderRequest.class);
+    private static final int HOT_PRODUCTS = 64;
+
+    private final OrderRepository orderRepository;
+    private final OrderShards orderShards;
+    private final OrderService orderService;
+    private final OrderController orderController;
+    private final OrderAnalytics orderAnalytics;
+    private final RejectedRequestReplay rejectedRequestReplay;
+    private final Validator validator;
+    private final JsonMapper jsonMapper;
+    private final int primeSize;
+    private volatile List<Long> orderIds = List.of();
+
+    public OrderWarmupTask(
+            OrderRepository orderRepository,
+            OrderShards orderShards,
+            OrderService orderService,
+            OrderController orderController,
+            OrderAnalytics orderAnalytics,
+            RejectedRequestReplay rejectedRequestReplay,
+            Validator validator,
+            JsonMapper jsonMapper,
+            @Value("${app.warmup.prime-size:500}") int primeSize) {
+        this.orderRepository = orderRepository;
+        this.orderShards = orderShards;
+        this.orderService = orderService;
+        this.orderController = orderController;
+        this.orderAnalytics = orderAnalytics;
+        this.rejectedRequestReplay = rejectedRequestReplay;
+        this.validator = validator;
+        this.jsonMapper = jsonMapper;
+        this.primeSize = primeSize;
+    }
+
+    @Override
+    public String name() {
+        return "orders";
+    }
+
+    @Override
+    public int prime() {
+        PageRequest recent = PageRequest.of(0, primeSize, Sort.by(Sort.Direction.DESC, "id"));
+        List<Long> hotProducts = orderAnalytics.topProducts(orderAnalytics.span(), HOT_PRODUCTS).products().stream()
+                .map(ProductStats::productId)
+                .toList();
+        List<OrderView> orders = hotProducts.isEmpty()
+                ? orderShards.collectOrders(() -> orderRepository.findAllBy(recent))
+                : orderShards.collectOrders(() -> orderRepository.findAllByProductIdIn(hotProducts, recent));
+        orders.forEach(order -> orderService.getOrderById(order.id()));
+        orderIds = orders.stream().map(OrderView::id).toList();
+        return orders.size();
+    }
+
+    @Override
+    public void exercise() {
+        List<Long> ids = orderIds;
+        if (!ids.isEmpty()) {
+            Long orderId = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+            jsonMapper.writeValueAsBytes(orderController.getOrder(orderId));
+        }
+        validator.validate(jsonMapper.readValue(CREATE_ORDER_BODY, CreateOrderRequest.class));
+        jsonMapper.writeValueAsBytes(rejectedRequestReplay.reject(CREATE_ORDER, INVALID_ORDER));
+    }
+}
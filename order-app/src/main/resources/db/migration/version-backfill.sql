@@ -0,0 +1,3 @@
+UPDATE orders SET version = 0 WHERE version IS NULL;
+ALTER TABLE orders ALTER COLUMN version SET DEFAULT 0;
+ALTER TABLE orders ALTER COLUMN version SET NOT NULL;
@@ -4,8 +4,13 @@ CREATE TABLE IF NOT EXISTS orders (
     user_name VARCHAR(120),
     product_id BIGINT NOT NULL,
     status VARCHAR(20) NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
     created_by VARCHAR(255),
     created_date TIMESTAMP WITH TIME ZONE,
     last_modified_by VARCHAR(255),
-    last_modified_date TIMESTAMP WITH TIME ZONE
+    last_modified_date TIMESTAMP WITH TIME ZONE,
+    dispatch_attempts INT NOT NULL DEFAULT 0,
+    last_dispatched_date TIMESTAMP WITH TIME ZONE
 );
+
+CREATE INDEX IF NOT EXISTS orders_status_created_idx ON orders (status, created_date);
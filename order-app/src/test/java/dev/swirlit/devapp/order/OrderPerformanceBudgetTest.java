@@ -0,0 +1,85 @@
+package dev.swirlit.devapp.order;
+
+import java.time.Instant;
+
+import dev.swirlit.devapp.common.budget.PerformanceBudget;
+import dev.swirlit.devapp.common.domain.OrderStatus;
+import dev.swirlit.devapp.common.event.OrderEvent;
+import dev.swirlit.devapp.common.sql.SqlTelemetry;
+import dev.swirlit.devapp.order.domain.Order;
+import dev.swirlit.devapp.order.dto.CreateOrderRequest;
+import dev.swirlit.devapp.order.service.OrderResultListener;
+import dev.swirlit.devapp.order.service.OrderService;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Allocation and SQL budgets of the hot order paths. Raise a budget only together with the
+ * change that needs it.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class OrderPerformanceBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SqlTelemetry sqlTelemetry;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderResultListener orderResultListener;
+
+    @Test
+    void createOrder() {
+        PerformanceBudget.of("POST /api/orders", 360_000, 1).assertWithin(
+                sqlTelemetry,
+                meterRegistry,
+                () -> mockMvc.perform(post("/api/orders")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"userId\":1,\"productId\":1001}"))
+                        .andExpect(status().isCreated()));
+    }
+
+    @Test
+    void getOrderById() {
+        PerformanceBudget.of("GET /api/orders/{id}", 320_000, 1).assertWithin(
+                sqlTelemetry,
+                meterRegistry,
+                () -> {
+                    cacheManager.getCache("orders").clear();
+                    return null;
+                },
+                ignored -> mockMvc.perform(get("/api/orders/1")).andExpect(status().isOk()));
+    }
+
+    @Test
+    void orderResultListenerConsume() {
+        PerformanceBudget.of("OrderResultListener.consume", 96_000, 1).assertWithin(
+                sqlTelemetry,
+                meterRegistry,
+                () -> orderService.createOrder(new CreateOrderRequest(2L, 1002L)),
+                (Order order) -> orderResultListener.consume(new OrderEvent(
+                        order.getId(), order.getUserId(), order.getProductId(), "Grace Hopper", OrderStatus.APPROVED, Instant.now())));
+    }
+}
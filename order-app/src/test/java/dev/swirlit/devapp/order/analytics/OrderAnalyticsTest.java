@@ -0,0 +1,105 @@
+package dev.swirlit.devapp.order.analytics;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import dev.swirlit.devapp.order.dto.ProductAnalytics;
+import dev.swirlit.devapp.order.dto.ProductStats;
+import dev.swirlit.devapp.order.repository.AnalyticsCheckpointRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderAnalyticsTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-01T12:00:00Z");
+
+    private EmbeddedDatabase database;
+    private AnalyticsCheckpointRepository checkpoints;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        checkpoints = new AnalyticsCheckpointRepository(new JdbcTemplate(database));
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void reportsPlacedApprovedAndDistinctBuyersPerProduct() {
+        OrderAnalytics analytics = analytics(true);
+        analytics.recordPlaced(1001L, 1L);
+        analytics.recordPlaced(1001L, 2L);
+        analytics.recordPlaced(1001L, 2L);
+        analytics.recordPlaced(1002L, 3L);
+        analytics.recordApproved(1001L, 1L);
+
+        ProductAnalytics result = analytics.topProducts(Duration.ofDays(1), 10);
+
+        assertEquals(Duration.ofHours(1), result.window());
+        assertEquals(NOW, result.to());
+        assertEquals(new ProductStats(1001L, 3, 1, 2), result.products().get(0));
+        assertEquals(new ProductStats(1002L, 1, 0, 1), result.products().get(1));
+    }
+
+    @Test
+    void checkpointSurvivesARestart() {
+        OrderAnalytics analytics = analytics(true);
+        analytics.afterPropertiesSet();
+        analytics.recordPlaced(1001L, 1L);
+        analytics.checkpoint();
+        analytics.recordApproved(1001L, 1L);
+        analytics.destroy();
+
+        OrderAnalytics restarted = analytics(true);
+        restarted.afterPropertiesSet();
+
+        assertEquals(analytics.topProducts(Duration.ofHours(1), 10), restarted.topProducts(Duration.ofHours(1), 10));
+    }
+
+    @Test
+    void ignoresACorruptCheckpoint() {
+        checkpoints.createSchema();
+        checkpoints.save("order-analytics", "garbage".getBytes(StandardCharsets.UTF_8), NOW);
+        OrderAnalytics analytics = analytics(true);
+
+        analytics.afterPropertiesSet();
+
+        assertTrue(analytics.topProducts(Duration.ofHours(1), 10).products().isEmpty());
+    }
+
+    @Test
+    void recordsNothingWhenDisabled() {
+        OrderAnalytics analytics = analytics(false);
+        analytics.afterPropertiesSet();
+        analytics.recordPlaced(1001L, 1L);
+        analytics.checkpoint();
+
+        assertTrue(analytics.topProducts(Duration.ofHours(1), 10).products().isEmpty());
+        checkpoints.createSchema();
+        assertTrue(checkpoints.load("order-analytics").isEmpty());
+    }
+
+    private OrderAnalytics analytics(boolean enabled) {
+        return new OrderAnalytics(
+                Clock.fixed(NOW, ZoneOffset.UTC), new SimpleMeterRegistry(), checkpoints, enabled, Duration.ofMinutes(5), 12, 16);
+    }
+}
@@ -0,0 +1,89 @@
+package dev.swirlit.devapp.order.analytics;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import dev.swirlit.devapp.order.analytics.SlidingProductSketch.ProductEstimate;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SlidingProductSketchTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-01T12:00:00Z");
+    private static final Duration HOUR = Duration.ofHours(1);
+
+    private final SlidingProductSketch sketch = new SlidingProductSketch(Duration.ofMinutes(5), 12, 16);
+
+    @Test
+    void findsHeavyHittersAndTheirDistinctBuyersAmongLongTailNoise() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < 3_000; i++) {
+            sketch.record(1001L, i % 500, NOW);
+            sketch.record(1002L, i % 50, NOW);
+        }
+        for (int i = 0; i < 20_000; i++) {
+            sketch.record(10_000L + random.nextInt(5_000), random.nextInt(100_000), NOW);
+        }
+
+        List<ProductEstimate> top = sketch.top(HOUR, 2, NOW);
+
+        assertEquals(List.of(1001L, 1002L), top.stream().map(ProductEstimate::productId).toList());
+        assertWithin(3_000, top.get(0).orders(), 0.05);
+        assertWithin(500, top.get(0).distinctBuyers(), 0.1);
+        assertWithin(50, top.get(1).distinctBuyers(), 0.1);
+        assertTrue(sketch.trackedProducts() <= 16);
+    }
+
+    @Test
+    void bucketsOutsideTheWindowStopCounting() {
+        sketch.record(1001L, 1L, NOW.minus(Duration.ofMinutes(50)));
+        sketch.record(1001L, 2L, NOW.minus(Duration.ofMinutes(7)));
+        sketch.record(1001L, 3L, NOW);
+
+        assertEquals(3, sketch.estimate(1001L, HOUR, NOW));
+        assertEquals(2, sketch.estimate(1001L, Duration.ofMinutes(15), NOW));
+        assertEquals(2, sketch.estimate(1001L, HOUR, NOW.plus(Duration.ofMinutes(20))));
+        assertEquals(0, sketch.estimate(1001L, HOUR, NOW.plus(HOUR)));
+    }
+
+    @Test
+    void dropsEventsOlderThanTheRing() {
+        sketch.record(1001L, 1L, NOW);
+        sketch.record(1001L, 2L, NOW.minus(HOUR));
+
+        assertEquals(1, sketch.estimate(1001L, HOUR, NOW));
+    }
+
+    @Test
+    void checkpointRoundTripsAndRejectsAnotherLayout() throws IOException {
+        for (long userId = 0; userId < 40; userId++) {
+            sketch.record(1001L, userId, NOW);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        sketch.write(new DataOutputStream(bytes));
+
+        SlidingProductSketch restored = new SlidingProductSketch(Duration.ofMinutes(5), 12, 16);
+        restored.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertEquals(sketch.top(HOUR, 10, NOW), restored.top(HOUR, 10, NOW));
+        SlidingProductSketch other = new SlidingProductSketch(Duration.ofMinutes(1), 12, 16);
+        assertThrows(IOException.class,
+                () -> other.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))));
+    }
+
+    private static void assertWithin(long expected, long actual, double tolerance) {
+        assertTrue(Math.abs(actual - expected) <= expected * tolerance,
+                () -> "Expected about %d but estimated %d".formatted(expected, actual));
+    }
+}
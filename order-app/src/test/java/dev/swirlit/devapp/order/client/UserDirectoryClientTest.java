@@ -0,0 +1,94 @@
+package dev.swirlit.devapp.order.client;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import com.sun.net.httpserver.HttpServer;
+import dev.swirlit.devapp.common.rpc.UserLookupCodec;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class UserDirectoryClientTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private HttpServer server;
+    private volatile Duration latency = Duration.ZERO;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext(UserLookupCodec.PATH, exchange -> {
+            List<Long> userIds = UserLookupCodec.decodeRequest(exchange.getRequestBody().readAllBytes());
+            Map<Long, String> names = userIds.stream()
+                    .filter(id -> id % 2 == 0)
+                    .collect(Collectors.toMap(Function.identity(), id -> "user-" + id));
+            try {
+                Thread.sleep(latency);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = UserLookupCodec.encodeResponse(names);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void lookupReturnsExistingUsersOnly() {
+        try (Client client = client(true)) {
+            assertEquals(Optional.of(Map.of(2L, "user-2")), client.value.lookup(List.of(2L, 3L)));
+        }
+        assertEquals(1, meterRegistry.get("devapp.users.lookup").tag("outcome", "ok").timer().count());
+    }
+
+    @Test
+    void lookupGivesUpAtTheDeadline() {
+        latency = Duration.ofSeconds(3);
+        try (Client client = client(true)) {
+            assertEquals(Optional.empty(), client.value.lookup(List.of(2L)));
+        }
+        assertEquals(1, meterRegistry.get("devapp.users.lookup").tag("outcome", "timeout").timer().count());
+    }
+
+    @Test
+    void lookupIsSkippedWhenDisabled() {
+        try (Client client = client(false)) {
+            assertEquals(Optional.empty(), client.value.lookup(List.of(2L)));
+        }
+        assertEquals(0, meterRegistry.get("devapp.users.lookup").tag("outcome", "ok").timer().count());
+    }
+
+    private Client client(boolean enabled) {
+        URI baseUrl = URI.create("http://localhost:" + server.getAddress().getPort());
+        return new Client(new UserDirectoryClient(meterRegistry, enabled, baseUrl, Duration.ofSeconds(1), Duration.ofSeconds(1)));
+    }
+
+    private record Client(UserDirectoryClient value) implements AutoCloseable {
+
+        @Override
+        public void close() {
+            value.destroy();
+        }
+    }
+}
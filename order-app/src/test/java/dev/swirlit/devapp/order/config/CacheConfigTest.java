@@ -1,7 +1,9 @@
 package dev.swirlit.devapp.order.config;
 
+import dev.swirlit.devapp.common.cache.CacheMetrics;
 import dev.swirlit.devapp.common.domain.OrderStatus;
-import dev.swirlit.devapp.order.domain.Order;
+import dev.swirlit.devapp.order.dto.OrderView;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import tools.jackson.databind.json.JsonMapper;
 
@@ -10,16 +12,17 @@ import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 
 class CacheConfigTest {
 
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @Test
     void cacheValuesRetainTheirOrderType() {
-        Order order = new Order(17L, 2501L);
-        order.setId(23L);
+        OrderView order = new OrderView(23L, 17L, "Ada Lovelace", 2501L, OrderStatus.PENDING);
 
-        var serialization = CacheConfig.cacheConfiguration(JsonMapper.builder().findAndAddModules().build())
+        var serialization = CacheConfig.cacheConfiguration(JsonMapper.builder().findAndAddModules().build(), new CacheMetrics(meterRegistry))
                 .getValueSerializationPair();
 
-        Order restored = assertInstanceOf(Order.class, serialization.read(serialization.write(order)));
-        assertEquals(23L, restored.getId());
-        assertEquals(OrderStatus.PENDING, restored.getStatus());
+        OrderView restored = assertInstanceOf(OrderView.class, serialization.read(serialization.write(order)));
+        assertEquals(order, restored);
+        assertEquals(1, meterRegistry.get("devapp.cache.value.size").tag("cache", "orders").summary().count());
     }
 }
@@ -1,9 +1,12 @@
 package dev.swirlit.devapp.order.config;
 
+import java.util.List;
+
 import dev.swirlit.devapp.order.repository.OrderRepository;
+import dev.swirlit.devapp.order.shard.OrderShards;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.boot.health.contributor.Health;
@@ -18,9 +21,13 @@ class DatabaseHealthIndicatorTest {
     @Mock
     private OrderRepository orderRepository;
 
-    @InjectMocks
     private DatabaseHealthIndicator databaseHealthIndicator;
 
+    @BeforeEach
+    void setUp() {
+        databaseHealthIndicator = new DatabaseHealthIndicator(orderRepository, new OrderShards(false, List.of()));
+    }
+
     @Test
     void health_shouldReturnUp_whenRepositorySucceeds() {
         when(orderRepository.count()).thenReturn(5L);
@@ -0,0 +1,66 @@
+package dev.swirlit.devapp.order.controller;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import dev.swirlit.devapp.common.exception.GlobalExceptionHandler;
+import dev.swirlit.devapp.order.analytics.OrderAnalytics;
+import dev.swirlit.devapp.order.dto.ProductAnalytics;
+import dev.swirlit.devapp.order.dto.ProductStats;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(OrderAnalyticsController.class)
+@AutoConfigureMockMvc(addFilters = false)
+@Import(GlobalExceptionHandler.class)
+@TestPropertySource(properties = "app.security.enabled=false")
+class OrderAnalyticsControllerTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-01T12:00:00Z");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private OrderAnalytics orderAnalytics;
+
+    @MockitoBean
+    private CacheManager cacheManager;
+
+    @Test
+    void topProductsDefaultsToTheLastHour() throws Exception {
+        when(orderAnalytics.topProducts(Duration.ofHours(1), 10)).thenReturn(new ProductAnalytics(
+                Duration.ofHours(1), NOW.minus(Duration.ofHours(1)), NOW, List.of(new ProductStats(1001L, 42, 40, 17))));
+
+        mockMvc.perform(get("/api/orders/analytics"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.products[0].productId").value(1001))
+                .andExpect(jsonPath("$.products[0].distinctBuyers").value(17));
+    }
+
+    @Test
+    void topProductsCapsTheLimit() throws Exception {
+        when(orderAnalytics.topProducts(Duration.ofMinutes(15), 100)).thenReturn(new ProductAnalytics(
+                Duration.ofMinutes(15), NOW.minus(Duration.ofMinutes(15)), NOW, List.of()));
+
+        mockMvc.perform(get("/api/orders/analytics").param("window", "PT15M").param("limit", "5000"))
+                .andExpect(status().isOk());
+
+        verify(orderAnalytics).topProducts(Duration.ofMinutes(15), 100);
+    }
+}
@@ -1,11 +1,14 @@
 package dev.swirlit.devapp.order.controller;
 
+import java.util.ArrayList;
 import java.util.List;
 
+import dev.swirlit.devapp.common.concurrency.AdaptiveConcurrencyLimiter;
 import dev.swirlit.devapp.common.domain.OrderStatus;
 import dev.swirlit.devapp.common.exception.GlobalExceptionHandler;
 import dev.swirlit.devapp.order.domain.Order;
 import dev.swirlit.devapp.order.dto.CreateOrderRequest;
+import dev.swirlit.devapp.order.dto.OrderView;
 import dev.swirlit.devapp.order.service.OrderService;
 
 import org.junit.jupiter.api.Test;
@@ -20,6 +23,7 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -42,11 +46,14 @@ class OrderControllerTest {
     @MockitoBean
     private CacheManager cacheManager;
 
+    @Autowired
+    private AdaptiveConcurrencyLimiter writeConcurrencyLimiter;
+
     @Test
     void getAllOrdersReturnsOrders() throws Exception {
         when(orderService.getAllOrders()).thenReturn(List.of(
-                order(2L, 2L, "Grace Hopper", 1002L, OrderStatus.COMPLETED),
-                order(1L, 1L, "Ada Lovelace", 1001L, OrderStatus.APPROVED)));
+                new OrderView(2L, 2L, "Grace Hopper", 1002L, OrderStatus.COMPLETED),
+                new OrderView(1L, 1L, "Ada Lovelace", 1001L, OrderStatus.APPROVED)));
 
         mockMvc.perform(get("/api/orders"))
                 .andExpect(status().isOk())
@@ -55,10 +62,21 @@ class OrderControllerTest {
                 .andExpect(jsonPath("$[1].status").value("APPROVED"));
     }
 
+    @Test
+    void getOrdersByUserFiltersOnTheUser() throws Exception {
+        when(orderService.getOrdersByUser(1L))
+                .thenReturn(List.of(new OrderView(1L, 1L, "Ada Lovelace", 1001L, OrderStatus.APPROVED)));
+
+        mockMvc.perform(get("/api/orders").param("userId", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].userId").value(1));
+    }
+
     @Test
     void getOrderReturnsOrder() throws Exception {
         when(orderService.getOrderById(1L))
-                .thenReturn(order(1L, 1L, "Ada Lovelace", 1001L, OrderStatus.APPROVED));
+                .thenReturn(new OrderView(1L, 1L, "Ada Lovelace", 1001L, OrderStatus.APPROVED));
 
         mockMvc.perform(get("/api/orders/1"))
                 .andExpect(status().isOk())
@@ -66,6 +84,18 @@ class OrderControllerTest {
                 .andExpect(jsonPath("$.userId").value(1));
     }
 
+    @Test
+    void lookupsRejectNonPositiveIdentifiers() throws Exception {
+        mockMvc.perform(get("/api/orders/0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.violations.id").exists());
+        mockMvc.perform(get("/api/orders").param("userId", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.violations.userId").exists());
+
+        verifyNoInteractions(orderService);
+    }
+
     @Test
     void createOrderValidatesAndReturnsLocation() throws Exception {
         Order created = order(4L, 2L, null, 2001L, OrderStatus.PENDING);
@@ -76,7 +106,8 @@ class OrderControllerTest {
                         .content("{\"userId\":2,\"productId\":2001}"))
                 .andExpect(status().isCreated())
                 .andExpect(header().string("Location", "/api/orders/4"))
-                .andExpect(jsonPath("$.status").value("PENDING"));
+                .andExpect(jsonPath("$.status").value("PENDING"))
+                .andExpect(jsonPath("$.createdBy").doesNotExist());
     }
 
     @Test
@@ -88,6 +119,24 @@ class OrderControllerTest {
                 .andExpect(jsonPath("$.title").value("Validation failed"));
     }
 
+    @Test
+    void createOrderIsShedWhenTheConcurrencyLimitIsReached() throws Exception {
+        List<AdaptiveConcurrencyLimiter.Permit> held = new ArrayList<>();
+        while (writeConcurrencyLimiter.getInFlight() < writeConcurrencyLimiter.getLimit()) {
+            held.add(writeConcurrencyLimiter.tryAcquire().orElseThrow());
+        }
+        try {
+            mockMvc.perform(post("/api/orders")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"userId\":2,\"productId\":2001}"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string("Retry-After", "1"))
+                    .andExpect(jsonPath("$.title").value("Service overloaded"));
+        } finally {
+            held.forEach(permit -> permit.release(false));
+        }
+    }
+
     private static Order order(Long id, Long userId, String userName, Long productId, OrderStatus status) {
         Order order = new Order(userId, productId);
         order.setId(id);
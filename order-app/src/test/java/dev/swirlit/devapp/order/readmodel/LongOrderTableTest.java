@@ -0,0 +1,88 @@
+package dev.swirlit.devapp.order.readmodel;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import dev.swirlit.devapp.common.domain.OrderStatus;
+import dev.swirlit.devapp.order.dto.OrderView;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LongOrderTableTest {
+
+    @Test
+    void storesUpdatesAndGrowsWithoutLosingOrders() {
+        LongOrderTable table = new LongOrderTable(4);
+        for (long id = 1; id <= 1_000; id++) {
+            table.put(id, id % 7 + 1, 1000 + id, OrderStatus.PENDING, null);
+        }
+
+        assertTrue(table.update(42L, OrderStatus.APPROVED, "Ada Lovelace"));
+        assertFalse(table.update(5_000L, OrderStatus.APPROVED, "nobody"));
+        assertFalse(table.putIfAbsent(42L, 1L, 1L, OrderStatus.REJECTED, null));
+
+        assertEquals(1_000, table.size());
+        assertEquals(new OrderView(42L, 1L, "Ada Lovelace", 1042L, OrderStatus.APPROVED), table.get(42L));
+        assertEquals(new OrderView(999L, 6L, null, 1999L, OrderStatus.PENDING), table.get(999L));
+        assertNull(table.get(5_000L));
+    }
+
+    @Test
+    void findsOrdersByUserNewestFirst() {
+        LongOrderTable table = new LongOrderTable(16);
+        table.put(1L, 7L, 1001L, OrderStatus.APPROVED, "Ada Lovelace");
+        table.put(2L, 8L, 1002L, OrderStatus.PENDING, null);
+        table.put(3L, 7L, 1003L, OrderStatus.PENDING, null);
+
+        assertEquals(List.of(3L, 1L), table.findByUser(7L).stream().map(OrderView::id).toList());
+        assertEquals(List.of(), table.findByUser(9L));
+    }
+
+    @Test
+    void removesOrdersFromLookupsAndUserChains() {
+        LongOrderTable table = new LongOrderTable(4);
+        for (long id = 1; id <= 100; id++) {
+            table.put(id, id % 3 + 1, 1000 + id, OrderStatus.COMPLETED, null);
+        }
+
+        assertEquals(2, table.removeAll(List.of(3L, 6L, 500L)));
+
+        assertEquals(98, table.size());
+        assertNull(table.get(3L));
+        assertEquals(new OrderView(9L, 1L, null, 1009L, OrderStatus.COMPLETED), table.get(9L));
+        assertEquals(List.of(99L, 96L), table.findByUser(1L).stream().map(OrderView::id).limit(2).toList());
+        assertEquals(0, table.removeAll(List.of(3L)));
+    }
+
+    @Test
+    void readersNeverObserveTornRecords() throws InterruptedException {
+        LongOrderTable table = new LongOrderTable(16);
+        table.put(1L, 7L, 1001L, OrderStatus.APPROVED, "approved");
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicReference<OrderView> torn = new AtomicReference<>();
+        Thread reader = Thread.ofPlatform().start(() -> {
+            while (running.get()) {
+                OrderView order = table.get(1L);
+                if (!order.status().name().toLowerCase().equals(order.userName())) {
+                    torn.set(order);
+                }
+            }
+        });
+
+        for (int i = 0; i < 200_000; i++) {
+            OrderStatus status = i % 2 == 0 ? OrderStatus.REJECTED : OrderStatus.APPROVED;
+            table.update(1L, status, status.name().toLowerCase());
+            table.put(10_000L + i, i % 50 + 1, i, OrderStatus.PENDING, null);
+        }
+        running.set(false);
+        reader.join();
+
+        assertNull(torn.get());
+    }
+}
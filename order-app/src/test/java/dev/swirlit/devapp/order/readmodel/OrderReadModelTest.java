@@ -0,0 +1,33 @@
+package dev.swirlit.devapp.order.readmodel;
+
+import java.util.List;
+
+import dev.swirlit.devapp.common.domain.OrderStatus;
+import dev.swirlit.devapp.order.dto.OrderView;
+import dev.swirlit.devapp.order.shard.OrderShards;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class OrderReadModelTest {
+
+    private final OrderReadModel readModel = new OrderReadModel(
+            mock(JdbcTemplate.class), mock(OrderShards.class), new SimpleMeterRegistry(), true, 16);
+
+    @Test
+    void nonPositiveIdsNeverMatchAFreeSlot() {
+        OrderView order = new OrderView(1L, 1L, "Ada Lovelace", 1001L, OrderStatus.APPROVED);
+        readModel.upsert(order);
+
+        assertTrue(readModel.find(0).isEmpty());
+        assertTrue(readModel.find(-1).isEmpty());
+        assertEquals(List.of(), readModel.findByUser(0));
+        assertEquals(List.of(), readModel.findByUser(-1));
+        assertEquals(List.of(order), readModel.findByUser(1));
+    }
+}
@@ -0,0 +1,81 @@
+package dev.swirlit.devapp.order.repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import dev.swirlit.devapp.common.domain.OrderStatus;
+import dev.swirlit.devapp.order.dto.OrderView;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderArchiveRepositoryTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-01T00:00:00Z");
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private OrderArchiveRepository orderArchiveRepository;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScript("db/schema.sql")
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        orderArchiveRepository = new OrderArchiveRepository(jdbcTemplate);
+        orderArchiveRepository.createSchema();
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void movesOnlyOldTerminalOrdersAndServesThemFromTheArchive() {
+        insert(1L, OrderStatus.APPROVED, NOW.minus(40, ChronoUnit.DAYS));
+        insert(2L, OrderStatus.PENDING, NOW.minus(40, ChronoUnit.DAYS));
+        insert(3L, OrderStatus.REJECTED, NOW.minus(5, ChronoUnit.DAYS));
+        insert(4L, OrderStatus.COMPLETED, NOW.minus(31, ChronoUnit.DAYS));
+        Instant cutoff = NOW.minus(30, ChronoUnit.DAYS);
+
+        List<Long> ids = orderArchiveRepository.lockArchivable(cutoff, 10);
+        assertEquals(List.of(1L, 4L), ids);
+        assertEquals(2, orderArchiveRepository.moveToArchive(ids, NOW));
+
+        assertEquals(2L, orderArchiveRepository.countHot());
+        assertEquals(2L, orderArchiveRepository.countArchived());
+        assertEquals(0L, orderArchiveRepository.countArchivable(cutoff));
+        OrderView archived = orderArchiveRepository.findById(4L).orElseThrow();
+        assertEquals(new OrderView(4L, 1L, "Ada Lovelace", 1001L, OrderStatus.COMPLETED), archived);
+        assertTrue(orderArchiveRepository.findById(2L).isEmpty());
+    }
+
+    @Test
+    void lockArchivableHonoursTheBatchLimit() {
+        for (long id = 1; id <= 5; id++) {
+            insert(id, OrderStatus.APPROVED, NOW.minus(60, ChronoUnit.DAYS));
+        }
+
+        assertEquals(List.of(1L, 2L), orderArchiveRepository.lockArchivable(NOW, 2));
+    }
+
+    private void insert(Long id, OrderStatus status, Instant createdDate) {
+        jdbcTemplate.update(
+                "INSERT INTO orders (id, user_id, user_name, product_id, status, created_date) VALUES (?, 1, 'Ada Lovelace', 1001, ?, ?)",
+                id, status.name(), Timestamp.from(createdDate));
+    }
+}
@@ -0,0 +1,83 @@
+package dev.swirlit.devapp.order.repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import dev.swirlit.devapp.common.domain.OrderStatus;
+import dev.swirlit.devapp.order.repository.PendingOrderRepository.PendingOrder;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PendingOrderRepositoryTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-01T00:00:00Z");
+    private static final Instant CUTOFF = NOW.minus(5, ChronoUnit.MINUTES);
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private PendingOrderRepository pendingOrderRepository;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScript("db/schema.sql")
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        pendingOrderRepository = new PendingOrderRepository(jdbcTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void locksStuckPendingOrdersInKeysetBatches() {
+        insert(1L, OrderStatus.PENDING, NOW.minus(20, ChronoUnit.MINUTES));
+        insert(2L, OrderStatus.PENDING, NOW.minus(10, ChronoUnit.MINUTES));
+        insert(3L, OrderStatus.PENDING, NOW.minus(10, ChronoUnit.MINUTES));
+        insert(4L, OrderStatus.PENDING, NOW.minus(1, ChronoUnit.MINUTES));
+        insert(5L, OrderStatus.APPROVED, NOW.minus(30, ChronoUnit.MINUTES));
+
+        List<PendingOrder> first = pendingOrderRepository.lockStuck(CUTOFF, null, 2);
+        List<PendingOrder> second = pendingOrderRepository.lockStuck(CUTOFF, first.getLast(), 2);
+
+        assertEquals(List.of(1L, 2L), first.stream().map(PendingOrder::id).toList());
+        assertEquals(List.of(3L), second.stream().map(PendingOrder::id).toList());
+        assertEquals(3L, pendingOrderRepository.countStuck(CUTOFF));
+        assertEquals(NOW.minus(20, ChronoUnit.MINUTES), pendingOrderRepository.oldestPending().orElseThrow());
+    }
+
+    @Test
+    void recentlyDispatchedOrdersAreSkippedAndExpiryOnlyTouchesPendingRows() {
+        insert(1L, OrderStatus.PENDING, NOW.minus(20, ChronoUnit.MINUTES));
+        insert(2L, OrderStatus.PENDING, NOW.minus(20, ChronoUnit.MINUTES));
+
+        assertEquals(1, pendingOrderRepository.markDispatched(List.of(1L), NOW));
+        List<PendingOrder> claimed = pendingOrderRepository.lockStuck(CUTOFF, null, 10);
+        assertEquals(List.of(new PendingOrder(2L, 1L, 1001L, NOW.minus(20, ChronoUnit.MINUTES), 0)), claimed);
+
+        jdbcTemplate.update("UPDATE orders SET status = 'APPROVED' WHERE id = 1");
+        assertEquals(1, pendingOrderRepository.expire(List.of(1L, 2L), NOW));
+        assertEquals("EXPIRED", jdbcTemplate.queryForObject("SELECT status FROM orders WHERE id = 2", String.class));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT dispatch_attempts FROM orders WHERE id = 1", Integer.class));
+    }
+
+    private void insert(Long id, OrderStatus status, Instant createdDate) {
+        jdbcTemplate.update(
+                "INSERT INTO orders (id, user_id, user_name, product_id, status, created_date) VALUES (?, 1, 'Ada Lovelace', 1001, ?, ?)",
+                id, status.name(), Timestamp.from(createdDate));
+    }
+}
@@ -0,0 +1,50 @@
+package dev.swirlit.devapp.order.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import dev.swirlit.devapp.common.domain.OrderStatus;
+import dev.swirlit.devapp.order.domain.Order;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/** Orders written before the version column existed, as a schema update leaves them, after the backfill. */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:legacyorderdb;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "spring.sql.init.schema-locations=classpath:db/legacy-schema.sql",
+        "spring.sql.init.data-locations=classpath:db/data.sql,classpath:db/migration/version-backfill.sql"})
+class VersionBackfillTest {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void loadsAndUpdatesOrdersThatHadNoVersion() {
+        Order order = orderRepository.findById(3L).orElseThrow();
+        assertEquals(0L, order.getVersion());
+
+        int updated = transactionTemplate.execute(status -> orderRepository.transition(
+                3L, List.of(OrderStatus.PENDING), OrderStatus.APPROVED, "James Gosling", Instant.now()));
+        order = orderRepository.findById(3L).orElseThrow();
+        order.setUserName("J. Gosling");
+        Order saved = orderRepository.save(order);
+
+        assertEquals(1, updated);
+        assertEquals(2L, saved.getVersion());
+        assertEquals(0L, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders WHERE version IS NULL", Long.class));
+        assertEquals(0L, jdbcTemplate.queryForObject(
+                "SELECT version FROM orders WHERE id = 2", Long.class));
+    }
+}
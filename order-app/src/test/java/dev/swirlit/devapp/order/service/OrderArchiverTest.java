@@ -0,0 +1,98 @@
+package dev.swirlit.devapp.order.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import dev.swirlit.devapp.order.readmodel.OrderReadModel;
+import dev.swirlit.devapp.order.repository.OrderArchiveRepository;
+import dev.swirlit.devapp.order.shard.OrderShards;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OrderArchiverTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-01T00:00:00Z");
+    private static final Instant CUTOFF = Instant.parse("2026-09-01T00:00:00Z");
+
+    @Mock
+    private OrderArchiveRepository orderArchiveRepository;
+    @Mock
+    private OrderReadModel orderReadModel;
+    private SimpleMeterRegistry meterRegistry;
+    private OrderArchiver orderArchiver;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        orderArchiver = new OrderArchiver(
+                orderArchiveRepository,
+                orderReadModel,
+                new OrderShards(false, List.of()),
+                TransactionOperations.withoutTransaction(),
+                meterRegistry,
+                Clock.fixed(NOW, ZoneOffset.UTC),
+                Duration.ofDays(30),
+                2,
+                10,
+                Duration.ZERO);
+    }
+
+    @Test
+    void archivesInBatchesUntilABatchComesBackShort() {
+        when(orderArchiveRepository.lockArchivable(CUTOFF, 2))
+                .thenReturn(List.of(1L, 2L), List.of(3L, 4L), List.of(5L));
+        when(orderArchiveRepository.moveToArchive(anyList(), eq(NOW)))
+                .thenAnswer(invocation -> invocation.<List<Long>>getArgument(0).size());
+        when(orderArchiveRepository.countHot()).thenReturn(7L);
+        when(orderArchiveRepository.countArchived()).thenReturn(5L);
+
+        orderArchiver.archiveTerminalOrders();
+
+        verify(orderArchiveRepository).ensurePartitions(CUTOFF);
+        verify(orderArchiveRepository, times(3)).moveToArchive(anyList(), any());
+        verify(orderReadModel).removeAll(List.of(1L, 2L));
+        verify(orderReadModel).removeAll(List.of(5L));
+        assertEquals(5.0, meterRegistry.get("devapp.orders.archived").counter().count());
+        assertEquals(7.0, meterRegistry.get("devapp.orders.hot.rows").gauge().value());
+        assertEquals(5.0, meterRegistry.get("devapp.orders.archive.rows").gauge().value());
+    }
+
+    @Test
+    void stopsAfterTheConfiguredNumberOfBatches() {
+        orderArchiver = new OrderArchiver(
+                orderArchiveRepository,
+                orderReadModel,
+                new OrderShards(false, List.of()),
+                TransactionOperations.withoutTransaction(),
+                meterRegistry,
+                Clock.fixed(NOW, ZoneOffset.UTC),
+                Duration.ofDays(30),
+                2,
+                1,
+                Duration.ZERO);
+        when(orderArchiveRepository.lockArchivable(CUTOFF, 2)).thenReturn(List.of(1L, 2L));
+        when(orderArchiveRepository.moveToArchive(anyList(), eq(NOW))).thenReturn(2);
+
+        orderArchiver.archiveTerminalOrders();
+
+        verify(orderArchiveRepository, times(1)).moveToArchive(anyList(), any());
+    }
+}
@@ -0,0 +1,137 @@
+package dev.swirlit.devapp.order.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import dev.swirlit.devapp.common.id.SnowflakeIdGenerator;
+import dev.swirlit.devapp.order.domain.Order;
+import dev.swirlit.devapp.order.repository.OrderBatchRepository;
+import dev.swirlit.devapp.order.shard.OrderShards;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderGroupCommitterTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-01T00:00:00Z");
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private OrderGroupCommitter committer;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScript("db/schema.sql")
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        committer = new OrderGroupCommitter(
+                new OrderBatchRepository(jdbcTemplate, new SnowflakeIdGenerator(OrderShards.SHARD_SHIFT, 3, 7, 0, Clock.systemUTC())),
+                new OrderShards(false, List.of()),
+                new TransactionTemplate(new DataSourceTransactionManager(database)),
+                () -> Optional.of("tester"),
+                Clock.fixed(NOW, ZoneOffset.UTC),
+                meterRegistry,
+                true,
+                Duration.ofMillis(50),
+                16);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void coalescesConcurrentInsertsAndHandsEveryCallerItsOwnOrder() throws Exception {
+        List<Future<Order>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long userId = 1; userId <= 64; userId++) {
+                long current = userId;
+                results.add(executor.submit(() -> committer.insert(new Order(current, 1000 + current))));
+            }
+        }
+
+        for (int index = 0; index < results.size(); index++) {
+            Order order = results.get(index).get();
+            assertEquals(index + 1L, order.getUserId());
+            assertEquals(order.getUserId(), jdbcTemplate.queryForObject(
+                    "SELECT user_id FROM orders WHERE id = ?", Long.class, order.getId()));
+            assertEquals("tester", order.getCreatedBy());
+        }
+        assertEquals(64L, jdbcTemplate.queryForObject("SELECT COUNT(DISTINCT id) FROM orders", Long.class));
+        long groups = meterRegistry.get("devapp.orders.group.commit.size").summary().count();
+        assertTrue(groups < 64, () -> "Expected coalesced commits but saw " + groups);
+        assertTrue(meterRegistry.get("devapp.orders.group.commit.size").summary().max() <= 16);
+    }
+
+    @Test
+    void errorDuringTheInsertFailsEveryCallerOfTheGroup() {
+        committer = new OrderGroupCommitter(
+                new OrderBatchRepository(jdbcTemplate, new SnowflakeIdGenerator(OrderShards.SHARD_SHIFT, 3, 7, 0, Clock.systemUTC())) {
+                    @Override
+                    public void insertAll(List<Order> orders) {
+                        throw new StackOverflowError("driver");
+                    }
+                },
+                new OrderShards(false, List.of()),
+                new TransactionTemplate(new DataSourceTransactionManager(database)),
+                () -> Optional.of("tester"),
+                Clock.fixed(NOW, ZoneOffset.UTC),
+                meterRegistry,
+                true,
+                Duration.ofMillis(200),
+                4);
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (long userId = 1; userId <= 4; userId++) {
+                long current = userId;
+                results.add(executor.submit(() -> committer.insert(new Order(current, 1000 + current))));
+            }
+
+            for (Future<?> result : results) {
+                ExecutionException failure = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+                assertInstanceOf(StackOverflowError.class, failure.getCause());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void failedGroupFailsItsCallers() {
+        Order invalid = new Order(1L, 1001L);
+        invalid.setUserName("x".repeat(500));
+
+        assertThrows(DataIntegrityViolationException.class, () -> committer.insert(invalid));
+        assertEquals(0L, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders", Long.class));
+    }
+}
@@ -1,50 +1,82 @@
 package dev.swirlit.devapp.order.service;
 
+import java.time.Clock;
 import java.time.Instant;
-import java.util.Optional;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
 
 import dev.swirlit.devapp.common.domain.OrderStatus;
 import dev.swirlit.devapp.common.event.OrderEvent;
-import dev.swirlit.devapp.order.domain.Order;
+import dev.swirlit.devapp.order.analytics.OrderAnalytics;
+import dev.swirlit.devapp.order.readmodel.OrderReadModel;
 import dev.swirlit.devapp.order.repository.OrderRepository;
+import dev.swirlit.devapp.order.shard.OrderShards;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class OrderResultListenerTest {
 
+    private static final Instant NOW = Instant.parse("2026-10-01T00:00:00Z");
+
     @Mock
     private OrderRepository orderRepository;
-    @InjectMocks
+    @Mock
+    private OrderReadModel orderReadModel;
+    @Mock
+    private OrderAnalytics orderAnalytics;
+    private SimpleMeterRegistry meterRegistry;
     private OrderResultListener orderResultListener;
 
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        orderResultListener = new OrderResultListener(
+                orderRepository, orderReadModel, new OrderShards(false, List.of()), orderAnalytics, Clock.fixed(NOW, ZoneOffset.UTC), meterRegistry);
+    }
+
     @Test
-    void consumeUpdatesExistingOrder() {
-        Order existing = new Order(1L, 1001L);
-        existing.setId(1L);
-        when(orderRepository.findById(1L)).thenReturn(Optional.of(existing));
+    void consumeTransitionsPendingOrderWithoutLoadingIt() {
+        when(orderRepository.transition(1L, Set.of(OrderStatus.PENDING), OrderStatus.APPROVED, "Ada Lovelace", NOW))
+                .thenReturn(1);
 
         orderResultListener.consume(event(1L, OrderStatus.APPROVED, "Ada Lovelace"));
 
-        assertEquals(OrderStatus.APPROVED, existing.getStatus());
-        assertEquals("Ada Lovelace", existing.getUserName());
+        verifyNoMoreInteractions(orderRepository);
+        verify(orderReadModel).updateStatus(1L, OrderStatus.APPROVED, "Ada Lovelace");
+        verify(orderAnalytics).recordApproved(1001L, 1L);
+        assertEquals(1.0, meterRegistry.get("devapp.orders.results").tag("outcome", "applied").counter().count());
     }
 
     @Test
-    void consumeIgnoresUnknownOrder() {
-        when(orderRepository.findById(404L)).thenReturn(Optional.empty());
+    void consumeDropsStaleOrDuplicateResult() {
+        when(orderRepository.transition(404L, Set.of(OrderStatus.PENDING), OrderStatus.REJECTED, null, NOW))
+                .thenReturn(0);
 
         orderResultListener.consume(event(404L, OrderStatus.REJECTED, null));
 
-        verify(orderRepository).findById(404L);
+        assertEquals(1.0, meterRegistry.get("devapp.orders.results").tag("outcome", "dropped").counter().count());
+        verifyNoInteractions(orderAnalytics);
+    }
+
+    @Test
+    void consumeIgnoresResultsWithoutLegalPredecessor() {
+        orderResultListener.consume(event(2L, OrderStatus.PENDING, null));
+
+        verifyNoMoreInteractions(orderRepository);
+        assertEquals(1.0, meterRegistry.get("devapp.orders.results").tag("outcome", "dropped").counter().count());
     }
 
     private static OrderEvent event(Long orderId, OrderStatus status, String userName) {
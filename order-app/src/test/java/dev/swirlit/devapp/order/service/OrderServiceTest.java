@@ -1,15 +1,23 @@
 package dev.swirlit.devapp.order.service;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 
 import dev.swirlit.devapp.common.domain.OrderStatus;
 import dev.swirlit.devapp.common.event.OrderEvent;
+import dev.swirlit.devapp.common.messaging.EventPublisher;
 import dev.swirlit.devapp.common.util.Constants;
+import dev.swirlit.devapp.order.analytics.OrderAnalytics;
+import dev.swirlit.devapp.order.client.UserDirectoryClient;
 import dev.swirlit.devapp.order.domain.Order;
 import dev.swirlit.devapp.order.dto.CreateOrderRequest;
+import dev.swirlit.devapp.order.dto.OrderView;
+import dev.swirlit.devapp.order.readmodel.OrderReadModel;
+import dev.swirlit.devapp.order.repository.OrderArchiveRepository;
 import dev.swirlit.devapp.order.repository.OrderRepository;
+import dev.swirlit.devapp.order.shard.OrderShards;
 import jakarta.persistence.EntityNotFoundException;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -19,7 +27,6 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Sort;
-import org.springframework.kafka.core.KafkaTemplate;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -35,30 +42,67 @@ class OrderServiceTest {
     @Mock
     private OrderRepository orderRepository;
     @Mock
-    private KafkaTemplate<Object, Object> kafkaTemplate;
+    private OrderArchiveRepository orderArchiveRepository;
+    @Mock
+    private OrderReadModel orderReadModel;
+    @Mock
+    private OrderGroupCommitter orderGroupCommitter;
+    @Mock
+    private UserDirectoryClient userDirectoryClient;
+    @Mock
+    private OrderAnalytics orderAnalytics;
+    @Mock
+    private EventPublisher eventPublisher;
     private OrderService orderService;
 
     @BeforeEach
     void setUp() {
-        orderService = new OrderService(orderRepository, kafkaTemplate, true);
+        orderService = orderService(true, true);
     }
 
     @Test
     void getAllOrdersSortsNewestFirst() {
-        Order order = order(1L);
-        when(orderRepository.findAll(any(Sort.class))).thenReturn(List.of(order));
+        OrderView order = view(1L, OrderStatus.PENDING);
+        when(orderRepository.findAllBy(Sort.by(Sort.Direction.DESC, "id"))).thenReturn(List.of(order));
 
         assertEquals(List.of(order), orderService.getAllOrders());
     }
 
     @Test
     void getOrderReturnsOrder() {
-        Order order = order(1L);
-        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+        OrderView order = view(1L, OrderStatus.PENDING);
+        when(orderRepository.findViewById(1L)).thenReturn(Optional.of(order));
 
         assertEquals(order, orderService.getOrderById(1L));
     }
 
+    @Test
+    void getOrderIsServedFromTheReadModelWhenItHoldsTheOrder() {
+        OrderView order = view(1L, OrderStatus.APPROVED);
+        when(orderReadModel.find(1L)).thenReturn(Optional.of(order));
+
+        assertEquals(order, orderService.getOrderById(1L));
+        verify(orderRepository, never()).findViewById(any());
+    }
+
+    @Test
+    void getOrdersByUserUsesTheReadModelWhenEnabled() {
+        OrderView order = view(1L, OrderStatus.PENDING);
+        when(orderReadModel.isEnabled()).thenReturn(true);
+        when(orderReadModel.findByUser(7L)).thenReturn(List.of(order));
+
+        assertEquals(List.of(order), orderService.getOrdersByUser(7L));
+        verify(orderRepository, never()).findAllByUserId(any(), any());
+    }
+
+    @Test
+    void getOrdersByUserQueriesTheDatabaseWhenTheReadModelIsDisabled() {
+        OrderView order = view(1L, OrderStatus.PENDING);
+        when(orderRepository.findAllByUserId(7L, Sort.by(Sort.Direction.DESC, "id"))).thenReturn(List.of(order));
+
+        assertEquals(List.of(order), orderService.getOrdersByUser(7L));
+    }
+
     @Test
     void createOrderSavesPendingOrderAndPublishesEvent() {
         when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> {
@@ -66,37 +110,97 @@ class OrderServiceTest {
             value.setId(7L);
             return value;
         });
-        when(kafkaTemplate.send(eq(Constants.ORDER_TOPIC), eq("7"), any(OrderEvent.class)))
+        when(eventPublisher.publish(eq(Constants.ORDER_TOPIC), eq("7"), any(OrderEvent.class)))
                 .thenReturn(new CompletableFuture<>());
 
         Order result = orderService.createOrder(new CreateOrderRequest(2L, 2001L));
 
         assertEquals(OrderStatus.PENDING, result.getStatus());
         ArgumentCaptor<OrderEvent> event = ArgumentCaptor.forClass(OrderEvent.class);
-        verify(kafkaTemplate).send(eq(Constants.ORDER_TOPIC), eq("7"), event.capture());
+        verify(eventPublisher).publish(eq(Constants.ORDER_TOPIC), eq("7"), event.capture());
         assertEquals(2L, event.getValue().userId());
     }
 
     @Test
     void createOrderSkipsKafkaWhenMessagingIsDisabled() {
-        orderService = new OrderService(orderRepository, kafkaTemplate, false);
+        orderService = orderService(false, false);
         when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         orderService.createOrder(new CreateOrderRequest(1L, 1001L));
 
-        verify(kafkaTemplate, never()).send(any(), any(), any());
+        verify(eventPublisher, never()).publish(any(), any(), any());
+    }
+
+    @Test
+    void createOrderDecidesInlineWhenTheUserLookupAnswers() {
+        when(userDirectoryClient.isEnabled()).thenReturn(true);
+        when(userDirectoryClient.lookup(List.of(2L))).thenReturn(Optional.of(Map.of(2L, "Ada Lovelace")));
+        when(userDirectoryClient.lookup(List.of(3L))).thenReturn(Optional.of(Map.of()));
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Order approved = orderService.createOrder(new CreateOrderRequest(2L, 2001L));
+        Order rejected = orderService.createOrder(new CreateOrderRequest(3L, 2001L));
+
+        assertEquals(OrderStatus.APPROVED, approved.getStatus());
+        assertEquals("Ada Lovelace", approved.getUserName());
+        assertEquals(OrderStatus.REJECTED, rejected.getStatus());
+        verify(eventPublisher, never()).publish(any(), any(), any());
+        verify(orderAnalytics).recordPlaced(2001L, 2L);
+        verify(orderAnalytics).recordPlaced(2001L, 3L);
+        verify(orderAnalytics).recordApproved(2001L, 2L);
+        verify(orderAnalytics, never()).recordApproved(2001L, 3L);
+    }
+
+    @Test
+    void createOrderFallsBackToKafkaWhenTheUserLookupMissesItsDeadline() {
+        when(userDirectoryClient.isEnabled()).thenReturn(true);
+        when(userDirectoryClient.lookup(List.of(2L))).thenReturn(Optional.empty());
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> {
+            Order value = invocation.getArgument(0);
+            value.setId(8L);
+            return value;
+        });
+        when(eventPublisher.publish(eq(Constants.ORDER_TOPIC), eq("8"), any(OrderEvent.class)))
+                .thenReturn(new CompletableFuture<>());
+
+        Order result = orderService.createOrder(new CreateOrderRequest(2L, 2001L));
+
+        assertEquals(OrderStatus.PENDING, result.getStatus());
+        verify(eventPublisher).publish(eq(Constants.ORDER_TOPIC), eq("8"), any(OrderEvent.class));
+    }
+
+    @Test
+    void getOrderFallsThroughToArchive() {
+        OrderView archived = view(5L, OrderStatus.COMPLETED);
+        when(orderRepository.findViewById(5L)).thenReturn(Optional.empty());
+        when(orderArchiveRepository.findById(5L)).thenReturn(Optional.of(archived));
+
+        assertEquals(archived, orderService.getOrderById(5L));
     }
 
     @Test
     void getOrderRejectsUnknownId() {
-        when(orderRepository.findById(99L)).thenReturn(Optional.empty());
+        when(orderRepository.findViewById(99L)).thenReturn(Optional.empty());
+        when(orderArchiveRepository.findById(99L)).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, () -> orderService.getOrderById(99L));
     }
 
-    private static Order order(Long id) {
-        Order order = new Order(1L, 1001L);
-        order.setId(id);
-        return order;
+    private OrderService orderService(boolean messagingEnabled, boolean archiveEnabled) {
+        return new OrderService(
+                orderRepository,
+                orderArchiveRepository,
+                orderReadModel,
+                new OrderShards(false, List.of()),
+                orderGroupCommitter,
+                userDirectoryClient,
+                orderAnalytics,
+                eventPublisher,
+                messagingEnabled,
+                archiveEnabled);
+    }
+
+    private static OrderView view(Long id, OrderStatus status) {
+        return new OrderView(id, 1L, null, 1001L, status);
     }
 }
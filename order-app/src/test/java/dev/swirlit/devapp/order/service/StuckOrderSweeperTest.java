@@ -0,0 +1,98 @@
+package dev.swirlit.devapp.order.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import dev.swirlit.devapp.common.domain.OrderStatus;
+import dev.swirlit.devapp.common.event.OrderEvent;
+import dev.swirlit.devapp.common.messaging.EventPublisher;
+import dev.swirlit.devapp.common.util.Constants;
+import dev.swirlit.devapp.order.readmodel.OrderReadModel;
+import dev.swirlit.devapp.order.repository.PendingOrderRepository;
+import dev.swirlit.devapp.order.repository.PendingOrderRepository.PendingOrder;
+import dev.swirlit.devapp.order.shard.OrderShards;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.support.TransactionOperations;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StuckOrderSweeperTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-01T00:00:00Z");
+    private static final Instant CUTOFF = NOW.minus(Duration.ofMinutes(5));
+
+    @Mock
+    private PendingOrderRepository pendingOrderRepository;
+    @Mock
+    private EventPublisher eventPublisher;
+    @Mock
+    private OrderReadModel orderReadModel;
+    private SimpleMeterRegistry meterRegistry;
+    private ConcurrentMapCacheManager cacheManager;
+    private StuckOrderSweeper sweeper;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cacheManager = new ConcurrentMapCacheManager("orders");
+        sweeper = new StuckOrderSweeper(
+                pendingOrderRepository,
+                eventPublisher,
+                TransactionOperations.withoutTransaction(),
+                cacheManager,
+                orderReadModel,
+                new OrderShards(false, List.of()),
+                meterRegistry,
+                Clock.fixed(NOW, ZoneOffset.UTC),
+                Duration.ofMinutes(5),
+                3,
+                2,
+                10);
+    }
+
+    @Test
+    void republishesStuckOrdersAndExpiresExhaustedOnes() {
+        PendingOrder fresh = new PendingOrder(1L, 7L, 1001L, NOW.minusSeconds(900), 0);
+        PendingOrder exhausted = new PendingOrder(2L, 8L, 1002L, NOW.minusSeconds(800), 3);
+        PendingOrder last = new PendingOrder(3L, 9L, 1003L, NOW.minusSeconds(700), 1);
+        when(pendingOrderRepository.lockStuck(CUTOFF, null, 2)).thenReturn(List.of(fresh, exhausted));
+        when(pendingOrderRepository.lockStuck(CUTOFF, exhausted, 2)).thenReturn(List.of(last));
+        when(pendingOrderRepository.expire(List.of(2L), NOW)).thenReturn(1);
+        when(pendingOrderRepository.oldestPending()).thenReturn(Optional.of(NOW.minusSeconds(900)));
+        when(pendingOrderRepository.countStuck(CUTOFF)).thenReturn(2L);
+        when(eventPublisher.publish(eq(Constants.ORDER_TOPIC), any(), any())).thenReturn(new CompletableFuture<>());
+        cacheManager.getCache("orders").put(2L, "stale");
+
+        sweeper.sweep();
+
+        verify(pendingOrderRepository).markDispatched(List.of(1L), NOW);
+        verify(pendingOrderRepository).markDispatched(List.of(3L), NOW);
+        verify(eventPublisher).publish(Constants.ORDER_TOPIC, "1", new OrderEvent(1L, 7L, 1001L, null, OrderStatus.PENDING, NOW));
+        verify(eventPublisher, never()).publish(eq(Constants.ORDER_TOPIC), eq("2"), any());
+        assertNull(cacheManager.getCache("orders").get(2L));
+        verify(orderReadModel).updateStatus(2L, OrderStatus.EXPIRED, null);
+        assertEquals(2.0, meterRegistry.get("devapp.orders.swept").tag("outcome", "republished").counter().count());
+        assertEquals(1.0, meterRegistry.get("devapp.orders.swept").tag("outcome", "expired").counter().count());
+        assertEquals(900.0, meterRegistry.get("devapp.orders.pending.oldest.age").gauge().value());
+        assertEquals(2.0, meterRegistry.get("devapp.orders.pending.stuck").gauge().value());
+    }
+}
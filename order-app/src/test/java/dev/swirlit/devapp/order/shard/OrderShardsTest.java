@@ -0,0 +1,141 @@
+package dev.swirlit.devapp.order.shard;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import dev.swirlit.devapp.common.domain.OrderStatus;
+import dev.swirlit.devapp.order.dto.OrderView;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderShardsTest {
+
+    private final List<EmbeddedDatabase> databases = new ArrayList<>();
+    private final OrderShards orderShards = new OrderShards(true, List.of("shard-1", "shard-2"));
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        databases.add(database("db/schema.sql"));
+        databases.add(database(null));
+        databases.add(database(null));
+        ShardRoutingDataSource dataSource = new ShardRoutingDataSource(List.copyOf(databases));
+        dataSource.prepare(new ClassPathResource("db/schema.sql"));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        databases.forEach(EmbeddedDatabase::shutdown);
+    }
+
+    @Test
+    void spreadsUsersOverEveryShard() {
+        int[] perShard = new int[orderShards.count()];
+        for (long userId = 1; userId <= 3_000; userId++) {
+            perShard[orderShards.shardOfUser(userId)]++;
+        }
+
+        for (int users : perShard) {
+            assertTrue(users > 800, () -> "Uneven user distribution " + List.of(perShard[0], perShard[1], perShard[2]));
+        }
+    }
+
+    @Test
+    void orderIdsEncodeTheShardTheyWereWrittenTo() {
+        List<Long> ids = IntStream.rangeClosed(1, 30).mapToObj(this::insert).toList();
+
+        for (int index = 0; index < ids.size(); index++) {
+            long userId = index + 1;
+            long id = ids.get(index);
+            int shard = OrderShards.shardOfOrder(id);
+            assertEquals(orderShards.shardOfUser(userId), shard);
+            assertEquals(userId, new JdbcTemplate(databases.get(shard))
+                    .queryForObject("SELECT user_id FROM orders WHERE id = ?", Long.class, id));
+        }
+        assertTrue(orderShards.holdsOrder(OrderShards.firstOrderId(2)));
+        assertFalse(orderShards.holdsOrder(OrderShards.firstOrderId(3)));
+        assertFalse(orderShards.holdsOrder(0));
+    }
+
+    @Test
+    void scatterGathersListsNewestFirst() {
+        IntStream.rangeClosed(1, 12).forEach(this::insert);
+
+        List<OrderView> orders = orderShards.collectOrders(() -> jdbcTemplate.query(
+                "SELECT id, user_id, user_name, product_id, status FROM orders",
+                (resultSet, row) -> new OrderView(
+                        resultSet.getLong("id"),
+                        resultSet.getLong("user_id"),
+                        resultSet.getString("user_name"),
+                        resultSet.getLong("product_id"),
+                        OrderStatus.valueOf(resultSet.getString("status")))));
+
+        assertEquals(12, orders.size());
+        assertEquals(orders.stream().sorted(OrderShards.NEWEST_FIRST).toList(), orders);
+        assertEquals(List.of(0, 1, 2), orderShards.onEveryShard(OrderShards::currentShard));
+    }
+
+    @Test
+    void extraShardsOnlyGetTheOrdersTable() {
+        JdbcTemplate shard = new JdbcTemplate(databases.get(1));
+
+        assertEquals(1, shard.queryForObject(
+                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_NAME = 'ORDERS'", Integer.class));
+        assertEquals(0, shard.queryForObject(
+                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_NAME LIKE 'ORDERS_ARCHIVE%'", Integer.class));
+    }
+
+    @Test
+    void refusesShardingWhileTheFirstShardHoldsOrdersOfOtherShards() {
+        ShardRoutingDataSource dataSource = new ShardRoutingDataSource(List.copyOf(databases));
+        IntStream.rangeClosed(1, 12).forEach(this::insert);
+        dataSource.checkFirstShard(orderShards);
+
+        long strayUser = LongStream.rangeClosed(1, 100).filter(userId -> orderShards.shardOfUser(userId) != 0).findFirst().orElseThrow();
+        new JdbcTemplate(databases.getFirst()).update(
+                "INSERT INTO orders (user_id, product_id, status) VALUES (?, 1001, 'APPROVED')", strayUser);
+
+        assertThrows(IllegalStateException.class, () -> dataSource.checkFirstShard(orderShards));
+    }
+
+    private long insert(long userId) {
+        return orderShards.onShardOfUser(userId, () -> {
+            KeyHolder keys = new GeneratedKeyHolder();
+            jdbcTemplate.update(connection -> {
+                var statement = connection.prepareStatement(
+                        "INSERT INTO orders (user_id, product_id, status) VALUES (?, ?, 'PENDING')", new String[] {"id"});
+                statement.setLong(1, userId);
+                statement.setLong(2, 1000 + userId);
+                return statement;
+            }, keys);
+            return keys.getKey().longValue();
+        });
+    }
+
+    private static EmbeddedDatabase database(String script) {
+        EmbeddedDatabaseBuilder builder = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true);
+        if (script != null) {
+            builder.addScript(script);
+        }
+        return builder.build();
+    }
+}
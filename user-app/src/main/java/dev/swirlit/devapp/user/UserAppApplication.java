@@ -4,8 +4,10 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.persistence.autoconfigure.EntityScan;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @EnableCaching
+@EnableScheduling
 @SpringBootApplication(scanBasePackages = {"dev.swirlit.devapp.user", "dev.swirlit.devapp.common"})
 @EntityScan("dev.swirlit.devapp.user.domain")
 public class UserAppApplication {
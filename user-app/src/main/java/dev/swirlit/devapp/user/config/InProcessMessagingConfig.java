@@ -0,0 +1,38 @@
+package dev.swirlit.devapp.user.config;
+
+import java.time.Duration;
+
+import dev.swirlit.devapp.common.event.OrderEvent;
+import dev.swirlit.devapp.common.messaging.EventBusListener;
+import dev.swirlit.devapp.common.messaging.InProcessEventBus;
+import dev.swirlit.devapp.common.messaging.RetryPolicy;
+import dev.swirlit.devapp.common.util.Constants;
+import dev.swirlit.devapp.user.service.OrderListener;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "app.messaging.transport", havingValue = "in-process")
+public class InProcessMessagingConfig {
+
+    /** Same schedule and dead-letter handler as the retry topics of the Kafka listener. */
+    @Bean
+    EventBusListener<OrderEvent> orderBusListener(
+            InProcessEventBus inProcessEventBus,
+            OrderListener orderListener,
+            @Value("${app.messaging.retry.attempts:4}") int attempts,
+            @Value("${app.messaging.retry.delay:1000}") long delay,
+            @Value("${app.messaging.retry.multiplier:10}") double multiplier,
+            @Value("${app.messaging.retry.max-delay:60000}") long maxDelay) {
+        return new EventBusListener<>(
+                inProcessEventBus,
+                Constants.ORDER_TOPIC,
+                OrderEvent.class,
+                new RetryPolicy(attempts, Duration.ofMillis(delay), multiplier, Duration.ofMillis(maxDelay)),
+                orderListener::consume,
+                orderListener::deadLetter);
+    }
+}
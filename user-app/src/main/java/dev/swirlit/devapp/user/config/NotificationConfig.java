@@ -0,0 +1,19 @@
+package dev.swirlit.devapp.user.config;
+
+import dev.swirlit.devapp.user.notification.LoggingNotificationSender;
+import dev.swirlit.devapp.user.notification.NotificationSender;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/** Logs notifications unless another {@link NotificationSender} bean provides a real channel. */
+@Configuration(proxyBeanMethods = false)
+public class NotificationConfig {
+
+    @Bean
+    @ConditionalOnMissingBean
+    NotificationSender notificationSender() {
+        return new LoggingNotificationSender();
+    }
+}
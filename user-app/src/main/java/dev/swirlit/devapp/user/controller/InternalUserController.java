@@ -0,0 +1,36 @@
+package dev.swirlit.devapp.user.controller;
+
+import java.util.List;
+
+import dev.swirlit.devapp.common.rpc.UserLookupCodec;
+import dev.swirlit.devapp.user.service.UserService;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Service-to-service user lookup used by order-app's synchronous validation mode. Requests and
+ * responses use the compact binary framing of {@link UserLookupCodec} rather than JSON.
+ */
+@RestController
+public class InternalUserController {
+
+    private final UserService userService;
+
+    public InternalUserController(UserService userService) {
+        this.userService = userService;
+    }
+
+    @PostMapping(path = UserLookupCodec.PATH, consumes = UserLookupCodec.MEDIA_TYPE, produces = UserLookupCodec.MEDIA_TYPE)
+    public ResponseEntity<byte[]> lookup(@RequestBody byte[] body) {
+        List<Long> userIds;
+        try {
+            userIds = UserLookupCodec.decodeRequest(body);
+        } catch (IllegalArgumentException exception) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(UserLookupCodec.encodeResponse(userService.findUserNames(userIds)));
+    }
+}
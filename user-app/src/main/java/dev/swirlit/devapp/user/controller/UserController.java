@@ -3,8 +3,8 @@ package dev.swirlit.devapp.user.controller;
 import java.net.URI;
 import java.util.List;
 
-import dev.swirlit.devapp.user.domain.User;
 import dev.swirlit.devapp.user.dto.CreateUserRequest;
+import dev.swirlit.devapp.user.dto.UserView;
 import dev.swirlit.devapp.user.service.UserService;
 import jakarta.validation.Valid;
 
@@ -27,18 +27,18 @@ public class UserController {
     }
 
     @GetMapping
-    public List<User> getAllUsers() {
+    public List<UserView> getAllUsers() {
         return userService.getAllUsers();
     }
 
     @GetMapping("/{id}")
-    public User getUserById(@PathVariable Long id) {
+    public UserView getUserById(@PathVariable Long id) {
         return userService.getUser(id);
     }
 
     @PostMapping
-    public ResponseEntity<User> createUser(@Valid @RequestBody CreateUserRequest request) {
-        User created = userService.createUser(request);
-        return ResponseEntity.created(URI.create("/api/users/" + created.getId())).body(created);
+    public ResponseEntity<UserView> createUser(@Valid @RequestBody CreateUserRequest request) {
+        UserView created = UserView.from(userService.createUser(request));
+        return ResponseEntity.created(URI.create("/api/users/" + created.id())).body(created);
     }
 }
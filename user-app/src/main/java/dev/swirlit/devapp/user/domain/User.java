@@ -1,10 +1,9 @@
 package dev.swirlit.devapp.user.domain;
 
 import dev.swirlit.devapp.common.domain.BaseEntity;
+import dev.swirlit.devapp.common.id.SnowflakeId;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 
@@ -13,7 +12,7 @@ import jakarta.persistence.Table;
 public class User extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
 
     @Column(nullable = false, length = 120)
@@ -0,0 +1,14 @@
+package dev.swirlit.devapp.user.dto;
+
+import dev.swirlit.devapp.user.domain.User;
+
+public record UserView(
+        Long id,
+        String name,
+        String username,
+        String email) {
+
+    public static UserView from(User user) {
+        return new UserView(user.getId(), user.getName(), user.getUsername(), user.getEmail());
+    }
+}
@@ -0,0 +1,20 @@
+package dev.swirlit.devapp.user.notification;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/** Default channel of the demo, which writes each notification to the log. */
+public class LoggingNotificationSender implements NotificationSender {
+
+    private static final Logger log = LoggerFactory.getLogger(LoggingNotificationSender.class);
+
+    @Override
+    public void send(List<Notification> batch) {
+        for (Notification notification : batch) {
+            log.info("Demo notification user={} orders={}", notification.user().username(),
+                    notification.orders().stream().map(order -> order.orderId() + ":" + order.productId()).toList());
+        }
+    }
+}
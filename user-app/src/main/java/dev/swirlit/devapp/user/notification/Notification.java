@@ -0,0 +1,10 @@
+package dev.swirlit.devapp.user.notification;
+
+import java.util.List;
+
+import dev.swirlit.devapp.common.event.OrderEvent;
+import dev.swirlit.devapp.user.dto.UserView;
+
+/** One notification for a user, covering every order decided for them since the last dispatch. */
+public record Notification(UserView user, List<OrderEvent> orders) {
+}
@@ -0,0 +1,14 @@
+package dev.swirlit.devapp.user.notification;
+
+import java.util.List;
+
+/**
+ * Delivery channel of the {@link dev.swirlit.devapp.user.service.NotificationService}, such as email or a webhook. It is called
+ * from the dispatcher thread only, with batches holding at most one notification per user.
+ */
+@FunctionalInterface
+public interface NotificationSender {
+
+    /** Delivers the batch; throwing fails every notification of the batch. */
+    void send(List<Notification> batch) throws Exception;
+}
@@ -1,8 +1,23 @@
 package dev.swirlit.devapp.user.repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import dev.swirlit.devapp.user.domain.User;
+import dev.swirlit.devapp.user.dto.UserView;
 
 public interface UserRepository extends JpaRepository<User, Long> {
+
+    List<UserView> findAllBy(Sort sort);
+
+    List<UserView> findAllBy(Pageable pageable);
+
+    Optional<UserView> findViewById(Long id);
+
+    List<UserView> findAllByIdIn(Collection<Long> ids);
 }
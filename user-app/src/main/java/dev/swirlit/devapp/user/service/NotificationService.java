@@ -1,18 +1,188 @@
 package dev.swirlit.devapp.user.service;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
 import dev.swirlit.devapp.common.event.OrderEvent;
-import dev.swirlit.devapp.user.domain.User;
+import dev.swirlit.devapp.user.dto.UserView;
+import dev.swirlit.devapp.user.notification.Notification;
+import dev.swirlit.devapp.user.notification.NotificationSender;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
 import org.springframework.stereotype.Service;
 
+/**
+ * Sends order notifications off the order validation path. {@link #notifyUser} only queues the
+ * order, coalescing it with the other orders of the same user still waiting, and a dispatcher
+ * thread hands the queued notifications to the {@link NotificationSender} in batches every
+ * {@code app.notifications.linger}. The queue is bounded in orders; once full, further orders are
+ * not notified rather than slowing the caller down. Queued notifications are sent on shutdown,
+ * which happens after the order listeners have stopped.
+ */
 @Service
-public class NotificationService {
+public class NotificationService implements SmartLifecycle {
 
     private static final Logger log = LoggerFactory.getLogger(NotificationService.class);
 
-    public void notifyUser(User user, OrderEvent order) {
-        log.info("Demo notification user={} order={} product={}", user.getUsername(), order.orderId(), order.productId());
+    private final NotificationSender notificationSender;
+    private final int capacity;
+    private final int batchSize;
+    private final Duration linger;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<Long, Pending> pending = new LinkedHashMap<>();
+    private int queuedOrders;
+    private final Counter queued;
+    private final Counter coalesced;
+    private final Counter rejected;
+    private final Counter sent;
+    private final Counter failed;
+    private final Timer sendTimer;
+    private ScheduledExecutorService dispatcher;
+
+    public NotificationService(
+            NotificationSender notificationSender,
+            MeterRegistry meterRegistry,
+            @Value("${app.notifications.capacity:10000}") int capacity,
+            @Value("${app.notifications.batch-size:100}") int batchSize,
+            @Value("${app.notifications.linger:PT1S}") Duration linger) {
+        this.notificationSender = notificationSender;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.linger = linger;
+        this.queued = notifications(meterRegistry, "queued");
+        this.coalesced = notifications(meterRegistry, "coalesced");
+        this.rejected = notifications(meterRegistry, "rejected");
+        this.sent = notifications(meterRegistry, "sent");
+        this.failed = notifications(meterRegistry, "failed");
+        this.sendTimer = Timer.builder("devapp.notifications.send")
+                .description("Time to hand a batch of notifications to the sender")
+                .register(meterRegistry);
+        Gauge.builder("devapp.notifications.queue.depth", this, NotificationService::depth)
+                .description("Orders waiting to be notified")
+                .register(meterRegistry);
+    }
+
+    public void notifyUser(UserView user, OrderEvent order) {
+        lock.lock();
+        try {
+            if (queuedOrders >= capacity) {
+                rejected.increment();
+                log.debug("Notification queue is full, not notifying user {} of order {}", user.id(), order.orderId());
+                return;
+            }
+            Pending notification = pending.get(user.id());
+            if (notification == null) {
+                notification = new Pending();
+                pending.put(user.id(), notification);
+                queued.increment();
+            } else {
+                coalesced.increment();
+            }
+            notification.user = user;
+            notification.orders.add(order);
+            queuedOrders++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Sends every queued notification in batches; called from the dispatcher thread only. */
+    void dispatch() {
+        List<Notification> batch;
+        while (!(batch = nextBatch()).isEmpty()) {
+            try {
+                List<Notification> notifications = batch;
+                sendTimer.recordCallable(() -> {
+                    notificationSender.send(notifications);
+                    return null;
+                });
+                sent.increment(batch.size());
+            } catch (Exception exception) {
+                failed.increment(batch.size());
+                log.warn("Could not send {} notifications", batch.size(), exception);
+            }
+        }
+    }
+
+    int depth() {
+        lock.lock();
+        try {
+            return queuedOrders;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void start() {
+        dispatcher = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("notification-dispatcher").daemon().factory());
+        dispatcher.scheduleWithFixedDelay(this::dispatch, linger.toNanos(), linger.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void stop() {
+        dispatcher.shutdown();
+        try {
+            dispatcher.awaitTermination(linger.toMillis() + 5_000, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+        dispatch();
+        dispatcher = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return dispatcher != null;
+    }
+
+    /** Stops after the order listeners, which stop in the default phase, so their notifications are sent. */
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    private List<Notification> nextBatch() {
+        lock.lock();
+        try {
+            List<Notification> batch = new ArrayList<>(Math.min(batchSize, pending.size()));
+            for (Iterator<Pending> notifications = pending.values().iterator(); batch.size() < batchSize && notifications.hasNext(); ) {
+                Pending notification = notifications.next();
+                notifications.remove();
+                batch.add(new Notification(notification.user, List.copyOf(notification.orders)));
+                queuedOrders -= notification.orders.size();
+            }
+            return batch;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static Counter notifications(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("devapp.notifications")
+                .description("Order notifications handled by the dispatcher")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /** The latest view of the user and their orders waiting to be notified. */
+    private static final class Pending {
+
+        private UserView user;
+        private final List<OrderEvent> orders = new ArrayList<>(1);
     }
 }
@@ -2,14 +2,22 @@ package dev.swirlit.devapp.user.service;
 
 import dev.swirlit.devapp.common.domain.OrderStatus;
 import dev.swirlit.devapp.common.event.OrderEvent;
+import dev.swirlit.devapp.common.messaging.EventPublisher;
+import dev.swirlit.devapp.common.messaging.TransientFailures;
 import dev.swirlit.devapp.common.util.Constants;
-import dev.swirlit.devapp.user.domain.User;
+import dev.swirlit.devapp.user.dto.UserView;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.persistence.EntityNotFoundException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.kafka.annotation.BackOff;
+import org.springframework.kafka.annotation.DltHandler;
 import org.springframework.kafka.annotation.KafkaListener;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.annotation.RetryableTopic;
+import org.springframework.kafka.retrytopic.TopicSuffixingStrategy;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -19,31 +27,59 @@ public class OrderListener {
 
     private final UserService userService;
     private final NotificationService notificationService;
-    private final KafkaTemplate<Object, Object> kafkaTemplate;
+    private final EventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
 
     public OrderListener(
             UserService userService,
             NotificationService notificationService,
-            KafkaTemplate<Object, Object> kafkaTemplate) {
+            EventPublisher eventPublisher,
+            MeterRegistry meterRegistry) {
         this.userService = userService;
         this.notificationService = notificationService;
-        this.kafkaTemplate = kafkaTemplate;
+        this.eventPublisher = eventPublisher;
+        this.meterRegistry = meterRegistry;
     }
 
+    @RetryableTopic(
+            attempts = "${app.messaging.retry.attempts:4}",
+            backOff = @BackOff(
+                    delayString = "${app.messaging.retry.delay:1000}",
+                    multiplierString = "${app.messaging.retry.multiplier:10}",
+                    maxDelayString = "${app.messaging.retry.max-delay:60000}"),
+            topicSuffixingStrategy = TopicSuffixingStrategy.SUFFIX_WITH_INDEX_VALUE,
+            autoCreateTopics = "${app.messaging.enabled:false}")
     @KafkaListener(topics = Constants.ORDER_TOPIC, groupId = "${spring.kafka.consumer.group-id}")
-    public void consume(OrderEvent event) {
+    public void consume(OrderEvent event, @Header(KafkaHeaders.RECEIVED_TOPIC) String topic) {
         OrderEvent result;
         try {
-            User user = userService.getUser(event.userId());
+            UserView user = userService.getUser(event.userId());
             notificationService.notifyUser(user, event);
-            result = event.withResult(user.getName(), OrderStatus.APPROVED);
+            result = event.withResult(user.name(), OrderStatus.APPROVED);
         } catch (EntityNotFoundException exception) {
             log.warn("Rejecting order {} because user {} does not exist", event.orderId(), event.userId());
             result = event.withResult(null, OrderStatus.REJECTED);
         } catch (RuntimeException exception) {
+            if (TransientFailures.isTransient(exception)) {
+                log.warn("Retrying order {} from {} after transient failure: {}", event.orderId(), topic, exception.getMessage());
+                count(topic, "retried");
+                throw exception;
+            }
             log.error("Rejecting order {} after processing failure", event.orderId(), exception);
             result = event.withResult(null, OrderStatus.REJECTED);
         }
-        kafkaTemplate.send(Constants.ORDER_RESULT_TOPIC, event.orderId().toString(), result);
+        count(topic, result.status().name().toLowerCase());
+        eventPublisher.publish(Constants.ORDER_RESULT_TOPIC, event.orderId().toString(), result);
+    }
+
+    @DltHandler
+    public void deadLetter(OrderEvent event, @Header(KafkaHeaders.RECEIVED_TOPIC) String topic) {
+        log.error("Rejecting order {} after exhausting retries", event.orderId());
+        count(topic, "dead_lettered");
+        eventPublisher.publish(Constants.ORDER_RESULT_TOPIC, event.orderId().toString(), event.withResult(null, OrderStatus.REJECTED));
+    }
+
+    private void count(String topic, String outcome) {
+        meterRegistry.counter("devapp.orders.consumed", "topic", topic, "outcome", outcome).increment();
     }
 }
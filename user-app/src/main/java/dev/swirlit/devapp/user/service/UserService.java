@@ -1,9 +1,13 @@
 package dev.swirlit.devapp.user.service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import dev.swirlit.devapp.user.domain.User;
 import dev.swirlit.devapp.user.dto.CreateUserRequest;
+import dev.swirlit.devapp.user.dto.UserView;
 import dev.swirlit.devapp.user.repository.UserRepository;
 import jakarta.persistence.EntityNotFoundException;
 
@@ -23,17 +27,26 @@ public class UserService {
     }
 
     @Transactional(readOnly = true)
-    public List<User> getAllUsers() {
-        return userRepository.findAll(Sort.by(Sort.Direction.ASC, "name"));
+    public List<UserView> getAllUsers() {
+        return userRepository.findAllBy(Sort.by(Sort.Direction.ASC, "name"));
     }
 
     @Transactional(readOnly = true)
     @Cacheable(cacheNames = "users", key = "#userId")
-    public User getUser(Long userId) {
-        return userRepository.findById(userId)
+    public UserView getUser(Long userId) {
+        return userRepository.findViewById(userId)
                 .orElseThrow(() -> new EntityNotFoundException("User %d was not found".formatted(userId)));
     }
 
+    @Transactional(readOnly = true)
+    public Map<Long, String> findUserNames(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return Map.of();
+        }
+        return userRepository.findAllByIdIn(userIds).stream()
+                .collect(Collectors.toMap(UserView::id, UserView::name));
+    }
+
     @Transactional
     @CacheEvict(cacheNames = "users", allEntries = true)
     public User createUser(CreateUserRequest request) {
@@ -0,0 +1,93 @@
+package dev.swirlit.devapp.user.warmup;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import dev.swirlit.devapp.common.rpc.UserLookupCodec;
+import dev.swirlit.devapp.common.warmup.RejectedRequestReplay;
+import dev.swirlit.devapp.common.warmup.WarmupTask;
+import dev.swirlit.devapp.user.controller.InternalUserController;
+import dev.swirlit.devapp.user.controller.UserController;
+import dev.swirlit.devapp.user.dto.CreateUserRequest;
+import dev.swirlit.devapp.user.dto.UserView;
+import dev.swirlit.devapp.user.repository.UserRepository;
+import dev.swirlit.devapp.user.service.UserService;
+import jakarta.validation.Validator;
+import tools.jackson.databind.json.JsonMapper;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+/**
+ * Primes the {@code users} cache with the newest users and replays read, lookup, JSON, validation
+ * and rejection paths without writing anything. user-app keeps no per-user access statistics, so
+ * recency stands in for popularity.
+ */
+@Component
+@ConditionalOnProperty(name = "app.warmup.enabled", havingValue = "true")
+public class UserWarmupTask implements WarmupTask {
+
+    private static final String CREATE_USER_BODY = """
+            {"name":"Warm Up","username":"warmup","email":"warmup@example.test"}""";
+    private static final CreateUserRequest INVALID_USER = new CreateUserRequest("", "Not Valid", "bad");
+    private static final MethodParameter CREATE_USER =
+            RejectedRequestReplay.requestBody(UserController.class, "createUser", CreateUserRequest.class);
+
+    private final UserRepository userRepository;
+    private final UserService userService;
+    private final UserController userController;
+    private final InternalUserController internalUserController;
+    private final RejectedRequestReplay rejectedRequestReplay;
+    private final Validator validator;
+    private final JsonMapper jsonMapper;
+    private final int primeSize;
+    private volatile List<Long> userIds = List.of();
+
+    public UserWarmupTask(
+            UserRepository userRepository,
+            UserService userService,
+            UserController userController,
+            InternalUserController internalUserController,
+            RejectedRequestReplay rejectedRequestReplay,
+            Validator validator,
+            JsonMapper jsonMapper,
+            @Value("${app.warmup.prime-size:500}") int primeSize) {
+        this.userRepository = userRepository;
+        this.userService = userService;
+        this.userController = userController;
+        this.internalUserController = internalUserController;
+        this.rejectedRequestReplay = rejectedRequestReplay;
+        this.validator = validator;
+        this.jsonMapper = jsonMapper;
+        this.primeSize = primeSize;
+    }
+
+    @Override
+    public String name() {
+        return "users";
+    }
+
+    @Override
+    public int prime() {
+        List<UserView> users = userRepository.findAllBy(PageRequest.of(0, primeSize, Sort.by(Sort.Direction.DESC, "id")));
+        users.forEach(user -> userService.getUser(user.id()));
+        userIds = users.stream().map(UserView::id).toList();
+        return users.size();
+    }
+
+    @Override
+    public void exercise() {
+        List<Long> ids = userIds;
+        if (!ids.isEmpty()) {
+            Long userId = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+            jsonMapper.writeValueAsBytes(userController.getUserById(userId));
+            internalUserController.lookup(UserLookupCodec.encodeRequest(List.of(userId)));
+        }
+        validator.validate(jsonMapper.readValue(CREATE_USER_BODY, CreateUserRequest.class));
+        jsonMapper.writeValueAsBytes(rejectedRequestReplay.reject(CREATE_USER, INVALID_USER));
+    }
+}
@@ -0,0 +1,3 @@
+UPDATE app_users SET version = 0 WHERE version IS NULL;
+ALTER TABLE app_users ALTER COLUMN version SET DEFAULT 0;
+ALTER TABLE app_users ALTER COLUMN version SET NOT NULL;
@@ -3,6 +3,7 @@ CREATE TABLE IF NOT EXISTS app_users (
     name VARCHAR(120) NOT NULL,
     username VARCHAR(80) NOT NULL UNIQUE,
     email VARCHAR(180) NOT NULL UNIQUE,
+    version BIGINT NOT NULL DEFAULT 0,
     created_by VARCHAR(255),
     created_date TIMESTAMP WITH TIME ZONE,
     last_modified_by VARCHAR(255),
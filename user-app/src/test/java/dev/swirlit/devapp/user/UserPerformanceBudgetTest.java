@@ -0,0 +1,75 @@
+package dev.swirlit.devapp.user;
+
+import java.time.Instant;
+
+import dev.swirlit.devapp.common.budget.PerformanceBudget;
+import dev.swirlit.devapp.common.domain.OrderStatus;
+import dev.swirlit.devapp.common.event.OrderEvent;
+import dev.swirlit.devapp.common.messaging.EventPublisher;
+import dev.swirlit.devapp.common.sql.SqlTelemetry;
+import dev.swirlit.devapp.common.util.Constants;
+import dev.swirlit.devapp.user.service.OrderListener;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Allocation and SQL budgets of the hot user paths. Raise a budget only together with the
+ * change that needs it.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class UserPerformanceBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SqlTelemetry sqlTelemetry;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private OrderListener orderListener;
+
+    @MockitoBean
+    private EventPublisher eventPublisher;
+
+    @Test
+    void getUser() {
+        PerformanceBudget.of("GET /api/users/{id}", 320_000, 1).assertWithin(
+                sqlTelemetry,
+                meterRegistry,
+                () -> {
+                    cacheManager.getCache("users").clear();
+                    return null;
+                },
+                ignored -> mockMvc.perform(get("/api/users/1")).andExpect(status().isOk()));
+    }
+
+    @Test
+    void orderListenerConsume() {
+        OrderEvent event = new OrderEvent(7L, 1L, 1001L, null, OrderStatus.PENDING, Instant.now());
+        PerformanceBudget.of("OrderListener.consume", 68_000, 1).assertWithin(
+                sqlTelemetry,
+                meterRegistry,
+                () -> {
+                    cacheManager.getCache("users").clear();
+                    return null;
+                },
+                ignored -> orderListener.consume(event, Constants.ORDER_TOPIC));
+    }
+}
@@ -1,6 +1,8 @@
 package dev.swirlit.devapp.user.config;
 
-import dev.swirlit.devapp.user.domain.User;
+import dev.swirlit.devapp.common.cache.CacheMetrics;
+import dev.swirlit.devapp.user.dto.UserView;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import tools.jackson.databind.json.JsonMapper;
 
@@ -9,16 +11,17 @@ import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 
 class CacheConfigTest {
 
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @Test
     void cacheValuesRetainTheirUserType() {
-        User user = new User("Grace Hopper", "grace", "grace@example.test");
-        user.setId(17L);
+        UserView user = new UserView(17L, "Grace Hopper", "grace", "grace@example.test");
 
-        var serialization = CacheConfig.cacheConfiguration(JsonMapper.builder().findAndAddModules().build())
+        var serialization = CacheConfig.cacheConfiguration(JsonMapper.builder().findAndAddModules().build(), new CacheMetrics(meterRegistry))
                 .getValueSerializationPair();
 
-        User restored = assertInstanceOf(User.class, serialization.read(serialization.write(user)));
-        assertEquals(17L, restored.getId());
-        assertEquals("grace", restored.getUsername());
+        UserView restored = assertInstanceOf(UserView.class, serialization.read(serialization.write(user)));
+        assertEquals(user, restored);
+        assertEquals(1, meterRegistry.get("devapp.cache.value.size").tag("cache", "users").summary().count());
     }
 }
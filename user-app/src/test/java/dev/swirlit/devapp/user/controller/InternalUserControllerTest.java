@@ -0,0 +1,64 @@
+package dev.swirlit.devapp.user.controller;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+import dev.swirlit.devapp.common.exception.GlobalExceptionHandler;
+import dev.swirlit.devapp.common.rpc.UserLookupCodec;
+import dev.swirlit.devapp.user.service.UserService;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(InternalUserController.class)
+@AutoConfigureMockMvc(addFilters = false)
+@Import(GlobalExceptionHandler.class)
+@TestPropertySource(properties = "app.security.enabled=false")
+class InternalUserControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private UserService userService;
+
+    @MockitoBean
+    private CacheManager cacheManager;
+
+    @Test
+    void lookupReturnsNamesOfExistingUsers() throws Exception {
+        when(userService.findUserNames(List.of(1L, 9L))).thenReturn(Map.of(1L, "Ada Lovelace"));
+
+        byte[] response = mockMvc.perform(post(UserLookupCodec.PATH)
+                        .contentType(UserLookupCodec.MEDIA_TYPE)
+                        .accept(UserLookupCodec.MEDIA_TYPE)
+                        .content(UserLookupCodec.encodeRequest(List.of(1L, 9L))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertEquals(Map.of(1L, "Ada Lovelace"), UserLookupCodec.decodeResponse(response));
+    }
+
+    @Test
+    void lookupRejectsOversizedBatches() throws Exception {
+        List<Long> userIds = LongStream.rangeClosed(1, UserLookupCodec.MAX_BATCH + 1).boxed().toList();
+
+        mockMvc.perform(post(UserLookupCodec.PATH)
+                        .contentType(UserLookupCodec.MEDIA_TYPE)
+                        .content(UserLookupCodec.encodeRequest(userIds)))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -5,6 +5,7 @@ import java.util.List;
 import dev.swirlit.devapp.common.exception.GlobalExceptionHandler;
 import dev.swirlit.devapp.user.domain.User;
 import dev.swirlit.devapp.user.dto.CreateUserRequest;
+import dev.swirlit.devapp.user.dto.UserView;
 import dev.swirlit.devapp.user.service.UserService;
 
 import org.junit.jupiter.api.Test;
@@ -43,8 +44,8 @@ class UserControllerTest {
 
     @Test
     void getAllUsersReturnsProfiles() throws Exception {
-        User ada = user(1L, "Ada Lovelace", "ada", "ada@example.test");
-        User grace = user(2L, "Grace Hopper", "grace", "grace@example.test");
+        UserView ada = new UserView(1L, "Ada Lovelace", "ada", "ada@example.test");
+        UserView grace = new UserView(2L, "Grace Hopper", "grace", "grace@example.test");
         when(userService.getAllUsers()).thenReturn(List.of(ada, grace));
 
         mockMvc.perform(get("/api/users"))
@@ -56,7 +57,7 @@ class UserControllerTest {
 
     @Test
     void getUserReturnsProfile() throws Exception {
-        when(userService.getUser(1L)).thenReturn(user(1L, "Ada Lovelace", "ada", "ada@example.test"));
+        when(userService.getUser(1L)).thenReturn(new UserView(1L, "Ada Lovelace", "ada", "ada@example.test"));
 
         mockMvc.perform(get("/api/users/1"))
                 .andExpect(status().isOk())
@@ -0,0 +1,27 @@
+package dev.swirlit.devapp.user.notification;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/** Stand-in channel for tests that keeps every batch it is given. */
+public class RecordingNotificationSender implements NotificationSender {
+
+    private final List<List<Notification>> batches = new CopyOnWriteArrayList<>();
+    private volatile RuntimeException failure;
+
+    @Override
+    public void send(List<Notification> batch) {
+        if (failure != null) {
+            throw failure;
+        }
+        batches.add(batch);
+    }
+
+    public List<List<Notification>> batches() {
+        return batches;
+    }
+
+    public void failWith(RuntimeException failure) {
+        this.failure = failure;
+    }
+}
@@ -0,0 +1,95 @@
+package dev.swirlit.devapp.user.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import dev.swirlit.devapp.common.domain.OrderStatus;
+import dev.swirlit.devapp.common.event.OrderEvent;
+import dev.swirlit.devapp.user.dto.UserView;
+import dev.swirlit.devapp.user.notification.Notification;
+import dev.swirlit.devapp.user.notification.RecordingNotificationSender;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class NotificationServiceTest {
+
+    private static final UserView ADA = new UserView(1L, "Ada Lovelace", "ada", "ada@example.test");
+    private static final UserView GRACE = new UserView(2L, "Grace Hopper", "grace", "grace@example.test");
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RecordingNotificationSender sender = new RecordingNotificationSender();
+
+    @Test
+    void coalescesTheOrdersOfAUserIntoOneNotification() {
+        NotificationService notificationService = notificationService(10, 1, Duration.ofHours(1));
+
+        notificationService.notifyUser(ADA, order(10L, 1L));
+        notificationService.notifyUser(GRACE, order(11L, 2L));
+        notificationService.notifyUser(ADA, order(12L, 1L));
+        notificationService.dispatch();
+
+        assertEquals(List.of(
+                List.of(new Notification(ADA, List.of(order(10L, 1L), order(12L, 1L)))),
+                List.of(new Notification(GRACE, List.of(order(11L, 2L))))), sender.batches());
+        assertEquals(2.0, count("queued"));
+        assertEquals(1.0, count("coalesced"));
+        assertEquals(2.0, count("sent"));
+        assertEquals(0, notificationService.depth());
+    }
+
+    @Test
+    void dropsOrdersOnceTheQueueIsFull() {
+        NotificationService notificationService = notificationService(2, 100, Duration.ofHours(1));
+
+        for (long orderId = 10; orderId < 13; orderId++) {
+            notificationService.notifyUser(ADA, order(orderId, 1L));
+        }
+
+        assertEquals(2, notificationService.depth());
+        assertEquals(1.0, count("rejected"));
+        assertEquals(2.0, meterRegistry.get("devapp.notifications.queue.depth").gauge().value());
+    }
+
+    @Test
+    void countsFailedBatchesWithoutRetryingThem() {
+        NotificationService notificationService = notificationService(10, 100, Duration.ofHours(1));
+        sender.failWith(new IllegalStateException("smtp unavailable"));
+
+        notificationService.notifyUser(ADA, order(10L, 1L));
+        notificationService.notifyUser(GRACE, order(11L, 2L));
+        notificationService.dispatch();
+
+        assertEquals(2.0, count("failed"));
+        assertEquals(0, notificationService.depth());
+    }
+
+    @Test
+    void sendsQueuedNotificationsOnStop() {
+        NotificationService notificationService = notificationService(10, 100, Duration.ofHours(1));
+        notificationService.start();
+
+        notificationService.notifyUser(ADA, order(10L, 1L));
+        notificationService.stop();
+
+        assertEquals(1, sender.batches().size());
+        assertFalse(notificationService.isRunning());
+        assertEquals(1, meterRegistry.get("devapp.notifications.send").timer().count());
+    }
+
+    private NotificationService notificationService(int capacity, int batchSize, Duration linger) {
+        return new NotificationService(sender, meterRegistry, capacity, batchSize, linger);
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.get("devapp.notifications").tag("outcome", outcome).counter().count();
+    }
+
+    private static OrderEvent order(Long orderId, Long userId) {
+        return new OrderEvent(orderId, userId, 1001L, null, OrderStatus.APPROVED, Instant.EPOCH);
+    }
+}
@@ -4,20 +4,25 @@ import java.time.Instant;
 
 import dev.swirlit.devapp.common.domain.OrderStatus;
 import dev.swirlit.devapp.common.event.OrderEvent;
+import dev.swirlit.devapp.common.messaging.EventPublisher;
 import dev.swirlit.devapp.common.util.Constants;
-import dev.swirlit.devapp.user.domain.User;
+import dev.swirlit.devapp.user.dto.UserView;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.persistence.EntityNotFoundException;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.dao.QueryTimeoutException;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -29,17 +34,23 @@ class OrderListenerTest {
     @Mock
     private NotificationService notificationService;
     @Mock
-    private KafkaTemplate<Object, Object> kafkaTemplate;
-    @InjectMocks
+    private EventPublisher eventPublisher;
+    private SimpleMeterRegistry meterRegistry;
     private OrderListener orderListener;
 
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        orderListener = new OrderListener(userService, notificationService, eventPublisher, meterRegistry);
+    }
+
     @Test
     void consumeApprovesKnownUser() {
-        User user = new User("Ada Lovelace", "ada", "ada@example.test");
+        UserView user = new UserView(1L, "Ada Lovelace", "ada", "ada@example.test");
         when(userService.getUser(1L)).thenReturn(user);
         OrderEvent input = event(10L, 1L);
 
-        orderListener.consume(input);
+        orderListener.consume(input, Constants.ORDER_TOPIC);
 
         verify(notificationService).notifyUser(user, input);
         assertPublishedStatus(10L, OrderStatus.APPROVED, "Ada Lovelace");
@@ -49,7 +60,7 @@ class OrderListenerTest {
     void consumeRejectsMissingUser() {
         when(userService.getUser(2L)).thenThrow(new EntityNotFoundException("missing"));
 
-        orderListener.consume(event(11L, 2L));
+        orderListener.consume(event(11L, 2L), Constants.ORDER_TOPIC);
 
         assertPublishedStatus(11L, OrderStatus.REJECTED, null);
     }
@@ -58,14 +69,33 @@ class OrderListenerTest {
     void consumeRejectsProcessingFailure() {
         when(userService.getUser(3L)).thenThrow(new IllegalStateException("boom"));
 
-        orderListener.consume(event(12L, 3L));
+        orderListener.consume(event(12L, 3L), Constants.ORDER_TOPIC);
 
         assertPublishedStatus(12L, OrderStatus.REJECTED, null);
     }
 
+    @Test
+    void consumeRethrowsTransientFailureForTheRetryTopics() {
+        when(userService.getUser(4L)).thenThrow(new QueryTimeoutException("redis timeout"));
+
+        assertThrows(QueryTimeoutException.class, () -> orderListener.consume(event(13L, 4L), "order_topic-retry-0"));
+
+        verify(eventPublisher, never()).publish(any(), any(), any());
+        assertEquals(1.0, meterRegistry.get("devapp.orders.consumed")
+                .tags("topic", "order_topic-retry-0", "outcome", "retried").counter().count());
+    }
+
+    @Test
+    void deadLetterRejectsTheOrder() {
+        orderListener.deadLetter(event(14L, 5L), "order_topic-dlt");
+
+        assertPublishedStatus(14L, OrderStatus.REJECTED, null);
+        assertEquals(1.0, meterRegistry.get("devapp.orders.consumed").tag("outcome", "dead_lettered").counter().count());
+    }
+
     private void assertPublishedStatus(Long orderId, OrderStatus status, String userName) {
         ArgumentCaptor<OrderEvent> captor = ArgumentCaptor.forClass(OrderEvent.class);
-        verify(kafkaTemplate).send(eq(Constants.ORDER_RESULT_TOPIC), eq(orderId.toString()), captor.capture());
+        verify(eventPublisher).publish(eq(Constants.ORDER_RESULT_TOPIC), eq(orderId.toString()), captor.capture());
         assertEquals(status, captor.getValue().status());
         assertEquals(userName, captor.getValue().userName());
     }
@@ -1,10 +1,12 @@
 package dev.swirlit.devapp.user.service;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import dev.swirlit.devapp.user.domain.User;
 import dev.swirlit.devapp.user.dto.CreateUserRequest;
+import dev.swirlit.devapp.user.dto.UserView;
 import dev.swirlit.devapp.user.repository.UserRepository;
 import jakarta.persistence.EntityNotFoundException;
 
@@ -35,20 +37,29 @@ class UserServiceTest {
 
     @Test
     void getAllUsersSortsByName() {
-        User user = new User("Ada", "ada", "ada@example.test");
-        when(userRepository.findAll(any(Sort.class))).thenReturn(List.of(user));
+        UserView user = new UserView(1L, "Ada", "ada", "ada@example.test");
+        when(userRepository.findAllBy(Sort.by(Sort.Direction.ASC, "name"))).thenReturn(List.of(user));
 
         assertEquals(List.of(user), userService.getAllUsers());
     }
 
     @Test
     void getUserReturnsProfile() {
-        User user = new User("Ada", "ada", "ada@example.test");
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        UserView user = new UserView(1L, "Ada", "ada", "ada@example.test");
+        when(userRepository.findViewById(1L)).thenReturn(Optional.of(user));
 
         assertEquals(user, userService.getUser(1L));
     }
 
+    @Test
+    void findUserNamesReturnsOnlyExistingUsers() {
+        when(userRepository.findAllByIdIn(List.of(1L, 9L)))
+                .thenReturn(List.of(new UserView(1L, "Ada", "ada", "ada@example.test")));
+
+        assertEquals(Map.of(1L, "Ada"), userService.findUserNames(List.of(1L, 9L)));
+        assertEquals(Map.of(), userService.findUserNames(List.of()));
+    }
+
     @Test
     void createUserNormalizesInput() {
         when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
@@ -63,7 +74,7 @@ class UserServiceTest {
 
     @Test
     void getUserRejectsUnknownId() {
-        when(userRepository.findById(99L)).thenReturn(Optional.empty());
+        when(userRepository.findViewById(99L)).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, () -> userService.getUser(99L));
     }